@@ -27,6 +27,7 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.eclipsesource.json.JsonObject;
 import com.eclipsesource.json.performancetest.caliper.CaliperRunner;
 import com.google.caliper.Param;
 import com.google.caliper.SimpleBenchmark;
@@ -42,6 +43,7 @@ public class ListVsHashLookupBenchmark extends SimpleBenchmark {
   private ExampleArrayListWithHash hashedList64;
   private ExampleArrayListWithHash hashedList128;
   private Map<String, Integer> hashMap;
+  private JsonObject jsonObject;
 
   @Override
   protected void setUp() throws IOException {
@@ -51,6 +53,7 @@ public class ListVsHashLookupBenchmark extends SimpleBenchmark {
     hashedList64 = new ExampleArrayListWithHash(64);
     hashedList128 = new ExampleArrayListWithHash(128);
     hashMap = new HashMap<>();
+    jsonObject = new JsonObject();
     for (int index = 0; index < size; index++) {
       names[index] = Integer.toHexString(index);
       arrayList.add(names[index]);
@@ -58,6 +61,7 @@ public class ListVsHashLookupBenchmark extends SimpleBenchmark {
       hashedList64.add(names[index]);
       hashedList128.add(names[index]);
       hashMap.put(names[index], Integer.valueOf(index));
+      jsonObject.add(names[index], index);
     }
   }
 
@@ -106,6 +110,15 @@ public class ListVsHashLookupBenchmark extends SimpleBenchmark {
     }
   }
 
+  public void timeFillJsonObject(int reps) {
+    for (int r = 0; r < reps; r++) {
+      jsonObject = new JsonObject();
+      for (int index = 0; index < size; index++) {
+        jsonObject.add(names[index], index);
+      }
+    }
+  }
+
   public void timeLookupArrayList(int reps) {
     for (int r = 0; r < reps; r++) {
       for (int index = 0; index < size; index++) {
@@ -146,6 +159,22 @@ public class ListVsHashLookupBenchmark extends SimpleBenchmark {
     }
   }
 
+  public void timeLookupJsonObject(int reps) {
+    for (int r = 0; r < reps; r++) {
+      for (int index = 0; index < size; index++) {
+        checkIndex(index, jsonObject.get(names[index]).asInt());
+      }
+    }
+  }
+
+  public void timeRemoveAndAddJsonObject(int reps) {
+    for (int r = 0; r < reps; r++) {
+      String name = names[r % size];
+      jsonObject.remove(name);
+      jsonObject.add(name, r % size);
+    }
+  }
+
   void checkIndex(int expected, int actual) {
     if (expected != actual) {
       throw new RuntimeException();
@@ -154,7 +183,7 @@ public class ListVsHashLookupBenchmark extends SimpleBenchmark {
 
   public static void main(String[] args) throws IOException {
     CaliperRunner runner = new CaliperRunner(ListVsHashLookupBenchmark.class);
-    runner.addParameterDefault("size", "4", "16", "64", "256");
+    runner.addParameterDefault("size", "4", "16", "64", "256", "4096", "65536");
     runner.exec(args);
   }
 
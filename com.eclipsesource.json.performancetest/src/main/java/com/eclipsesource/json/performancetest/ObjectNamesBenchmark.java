@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json.performancetest;
+
+import java.io.IOException;
+
+import com.eclipsesource.json.Json;
+import com.eclipsesource.json.JsonValue;
+import com.eclipsesource.json.performancetest.caliper.CaliperRunner;
+import com.google.caliper.Param;
+import com.google.caliper.SimpleBenchmark;
+
+
+/*
+ * Parses arrays of objects whose names either repeat from object to object, like records, or
+ * never repeat, like maps keyed by ids. Objects with repeating names share their names while
+ * parsing, the benchmark shows what this costs when the names never repeat.
+ */
+public class ObjectNamesBenchmark extends SimpleBenchmark {
+
+  @Param int size;
+  @Param String names;
+
+  private String json;
+
+  @Override
+  protected void setUp() throws IOException {
+    StringBuilder builder = new StringBuilder("[");
+    for (int index = 0; index < size; index++) {
+      builder.append(index == 0 ? "{" : ",{");
+      for (int member = 0; member < 8; member++) {
+        String name = "repeating".equals(names) ? "name" + member : "id" + (index * 8 + member);
+        builder.append(member == 0 ? "\"" : ",\"").append(name).append("\":").append(index);
+      }
+      builder.append('}');
+    }
+    json = builder.append(']').toString();
+  }
+
+  public void timeParse(int reps) {
+    for (int r = 0; r < reps; r++) {
+      JsonValue value = Json.parse(json);
+      checkResult(value);
+    }
+  }
+
+  void checkResult(JsonValue value) {
+    if (value == null) {
+      throw new NullPointerException();
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    CaliperRunner runner = new CaliperRunner(ObjectNamesBenchmark.class);
+    runner.addParameterDefault("size", "100", "10000");
+    runner.addParameterDefault("names", "repeating", "unique");
+    runner.exec(args);
+  }
+
+}
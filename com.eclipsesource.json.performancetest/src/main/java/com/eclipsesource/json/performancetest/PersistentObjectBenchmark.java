@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json.performancetest;
+
+import java.io.IOException;
+
+import com.eclipsesource.json.JsonObject;
+import com.eclipsesource.json.PersistentJsonObject;
+import com.eclipsesource.json.performancetest.caliper.CaliperRunner;
+import com.google.caliper.Param;
+import com.google.caliper.SimpleBenchmark;
+
+
+public class PersistentObjectBenchmark extends SimpleBenchmark {
+
+  @Param int size;
+
+  private String[] names;
+  private JsonObject jsonObject;
+  private PersistentJsonObject persistentObject;
+
+  @Override
+  protected void setUp() throws IOException {
+    names = new String[size];
+    jsonObject = new JsonObject();
+    for (int index = 0; index < size; index++) {
+      names[index] = Integer.toHexString(index);
+      jsonObject.add(names[index], index);
+    }
+    persistentObject = PersistentJsonObject.of(jsonObject);
+  }
+
+  public void timeCopyAndSetJsonObject(int reps) {
+    for (int r = 0; r < reps; r++) {
+      JsonObject copy = new JsonObject(jsonObject);
+      copy.set(names[r % size], -r);
+      checkSize(copy.size());
+    }
+  }
+
+  public void timeWithPersistentObject(int reps) {
+    for (int r = 0; r < reps; r++) {
+      PersistentJsonObject copy = persistentObject.with(names[r % size], -r);
+      checkSize(copy.size());
+    }
+  }
+
+  public void timeWithoutAndWithPersistentObject(int reps) {
+    for (int r = 0; r < reps; r++) {
+      String name = names[r % size];
+      PersistentJsonObject copy = persistentObject.without(name).with(name, -r);
+      checkSize(copy.size());
+    }
+  }
+
+  public void timeLookupPersistentObject(int reps) {
+    for (int r = 0; r < reps; r++) {
+      for (int index = 0; index < size; index++) {
+        if (persistentObject.get(names[index]).asInt() != index) {
+          throw new RuntimeException();
+        }
+      }
+    }
+  }
+
+  void checkSize(int actual) {
+    if (actual != size) {
+      throw new RuntimeException();
+    }
+  }
+
+  public static void main(String[] args) throws IOException {
+    CaliperRunner runner = new CaliperRunner(PersistentObjectBenchmark.class);
+    runner.addParameterDefault("size", "16", "256", "4096", "50000");
+    runner.exec(args);
+  }
+
+}
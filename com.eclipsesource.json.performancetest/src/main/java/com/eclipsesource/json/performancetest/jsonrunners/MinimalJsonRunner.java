@@ -22,6 +22,7 @@
 package com.eclipsesource.json.performancetest.jsonrunners;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.Writer;
 
@@ -36,11 +37,21 @@ public class MinimalJsonRunner extends JsonRunner {
     return Json.parse(string);
   }
 
+  @Override
+  public Object readFromByteArray(byte[] bytes) {
+    return Json.parse(bytes);
+  }
+
   @Override
   public Object readFromReader(Reader reader) throws IOException {
     return Json.parse(reader);
   }
 
+  @Override
+  public Object readFromInputStream(InputStream in) throws IOException {
+    return Json.parse(in);
+  }
+
   @Override
   public String writeToString(Object model) throws IOException {
     return model.toString();
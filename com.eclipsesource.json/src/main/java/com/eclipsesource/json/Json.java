@@ -21,7 +21,10 @@
  ******************************************************************************/
 package com.eclipsesource.json;
 
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 
 
@@ -72,6 +75,8 @@ public final class Json {
    */
   public static final JsonValue FALSE = new JsonLiteral("false");
 
+  private static final ParserConfig QUIET_CONFIG = ParserConfig.DEFAULT.withStackTraces(false);
+
   /**
    * Returns a JsonValue instance that represents the given <code>int</code> value.
    *
@@ -163,14 +168,7 @@ public final class Json {
    * @return a new JSON array that contains the given values
    */
   public static JsonArray array(int... values) {
-    if (values == null) {
-      throw new NullPointerException("values is null");
-    }
-    JsonArray array = new JsonArray();
-    for (int value : values) {
-      array.add(value);
-    }
-    return array;
+    return new JsonArray().addAll(values);
   }
 
   /**
@@ -182,14 +180,7 @@ public final class Json {
    * @return a new JSON array that contains the given values
    */
   public static JsonArray array(long... values) {
-    if (values == null) {
-      throw new NullPointerException("values is null");
-    }
-    JsonArray array = new JsonArray();
-    for (long value : values) {
-      array.add(value);
-    }
-    return array;
+    return new JsonArray().addAll(values);
   }
 
   /**
@@ -220,14 +211,7 @@ public final class Json {
    * @return a new JSON array that contains the given values
    */
   public static JsonArray array(double... values) {
-    if (values == null) {
-      throw new NullPointerException("values is null");
-    }
-    JsonArray array = new JsonArray();
-    for (double value : values) {
-      array.add(value);
-    }
-    return array;
+    return new JsonArray().addAll(values);
   }
 
   /**
@@ -280,6 +264,10 @@ public final class Json {
   /**
    * Parses the given input string as JSON. The input must contain a valid JSON value, optionally
    * padded with whitespace.
+   * <p>
+   * This method creates a new parser for every call. To reuse parsers and their buffers for many
+   * inputs, see {@link ParserPool}.
+   * </p>
    *
    * @param string
    *          the input string, must be valid JSON
@@ -296,6 +284,78 @@ public final class Json {
     return handler.getValue();
   }
 
+  /**
+   * Parses the given input string as JSON, using the given parser configuration. The input must
+   * contain a valid JSON value, optionally padded with whitespace.
+   *
+   * @param string
+   *          the input string, must be valid JSON
+   * @param config
+   *          the parser configuration to use
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(String string, ParserConfig config) {
+    if (string == null) {
+      throw new NullPointerException("string is null");
+    }
+    if (config == null) {
+      throw new NullPointerException("config is null");
+    }
+    DefaultHandler handler = createHandler(config);
+    new JsonParser(handler, config).parse(string);
+    return handler.getValue();
+  }
+
+  /**
+   * Parses the given input string as JSON, reading only the values selected by the given
+   * projection. All other object members are skipped without creating any objects for them. The
+   * input must contain a valid JSON value, optionally padded with whitespace.
+   *
+   * @param string
+   *          the input string, must be valid JSON
+   * @param projection
+   *          the projection that selects the values to read
+   * @return a value that contains only the selected parts of the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(String string, Projection projection) {
+    if (string == null) {
+      throw new NullPointerException("string is null");
+    }
+    if (projection == null) {
+      throw new NullPointerException("projection is null");
+    }
+    DefaultHandler handler = projection.createHandler();
+    new JsonParser(handler).parse(string);
+    return handler.getValue();
+  }
+
+  /**
+   * Parses the given character sequence as JSON. The input must contain a valid JSON value,
+   * optionally padded with whitespace.
+   * <p>
+   * A <code>CharBuffer</code> that is backed by an accessible array is parsed in place, without
+   * copying its contents.
+   * </p>
+   *
+   * @param chars
+   *          the input characters, must be valid JSON
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(CharSequence chars) {
+    if (chars == null) {
+      throw new NullPointerException("chars is null");
+    }
+    DefaultHandler handler = new DefaultHandler();
+    new JsonParser(handler).parse(chars);
+    return handler.getValue();
+  }
+
   /**
    * Reads the entire input from the given reader and parses it as JSON. The input must contain a
    * valid JSON value, optionally padded with whitespace.
@@ -321,6 +381,221 @@ public final class Json {
     return handler.getValue();
   }
 
+  /**
+   * Reads the entire input from the given reader and parses it as JSON, using the given parser
+   * configuration. The input must contain a valid JSON value, optionally padded with whitespace.
+   *
+   * @param reader
+   *          the reader to read the JSON value from
+   * @param config
+   *          the parser configuration to use
+   * @return a value that represents the parsed JSON
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(Reader reader, ParserConfig config) throws IOException {
+    if (reader == null) {
+      throw new NullPointerException("reader is null");
+    }
+    if (config == null) {
+      throw new NullPointerException("config is null");
+    }
+    DefaultHandler handler = createHandler(config);
+    new JsonParser(handler, config).parse(reader);
+    return handler.getValue();
+  }
+
+  /**
+   * Reads the entire input from the given reader and parses it as JSON, reading only the values
+   * selected by the given projection. All other object members are skipped without creating any
+   * objects for them. The input must contain a valid JSON value, optionally padded with whitespace.
+   *
+   * @param reader
+   *          the reader to read the JSON value from
+   * @param projection
+   *          the projection that selects the values to read
+   * @return a value that contains only the selected parts of the parsed JSON
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(Reader reader, Projection projection) throws IOException {
+    if (reader == null) {
+      throw new NullPointerException("reader is null");
+    }
+    if (projection == null) {
+      throw new NullPointerException("projection is null");
+    }
+    DefaultHandler handler = projection.createHandler();
+    new JsonParser(handler).parse(reader);
+    return handler.getValue();
+  }
+
+  /**
+   * Parses the given UTF-8 encoded bytes as JSON. The input must contain a valid JSON value,
+   * optionally padded with whitespace.
+   * <p>
+   * This method decodes the bytes directly while parsing, there's no need to convert the input
+   * into a string first.
+   * </p>
+   *
+   * @param bytes
+   *          the UTF-8 encoded input, must be valid JSON
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    DefaultHandler handler = new DefaultHandler();
+    new JsonParser(handler).parse(bytes);
+    return handler.getValue();
+  }
+
+  /**
+   * Reads the entire input from the given stream and parses it as UTF-8 encoded JSON. The input
+   * must contain a valid JSON value, optionally padded with whitespace.
+   * <p>
+   * Bytes are read in chunks and decoded directly while parsing. Hence, wrapping the stream in an
+   * additional <code>BufferedInputStream</code> or <code>InputStreamReader</code> is not needed.
+   * The stream is not closed.
+   * </p>
+   *
+   * @param input
+   *          the stream to read the JSON value from
+   * @return a value that represents the parsed JSON
+   * @throws IOException
+   *           if an I/O error occurs in the stream
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(InputStream input) throws IOException {
+    if (input == null) {
+      throw new NullPointerException("input is null");
+    }
+    DefaultHandler handler = new DefaultHandler();
+    new JsonParser(handler).parse(input);
+    return handler.getValue();
+  }
+
+  /**
+   * Reads the entire contents of the given file and parses it as UTF-8 encoded JSON. The input
+   * must contain a valid JSON value, optionally padded with whitespace.
+   * <p>
+   * The file is mapped into memory while parsing, hence this method is well suited for large
+   * files, including files that exceed 2 GB.
+   * </p>
+   *
+   * @param file
+   *          the file to read the JSON value from
+   * @return a value that represents the parsed JSON
+   * @throws IOException
+   *           if an I/O error occurs while reading the file
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonValue parse(File file) throws IOException {
+    if (file == null) {
+      throw new NullPointerException("file is null");
+    }
+    DefaultHandler handler = new DefaultHandler();
+    FileInputStream input = new FileInputStream(file);
+    try {
+      new JsonParser(handler).parse(input.getChannel());
+    } finally {
+      input.close();
+    }
+    return handler.getValue();
+  }
+
+  /**
+   * Parses the given input string as JSON without throwing an exception if the input is not valid
+   * JSON. Instead, the error and its location are reported in the result. This is considerably
+   * cheaper than catching a {@link ParseException} when invalid input is common.
+   *
+   * @param string
+   *          the input string
+   * @return the result that contains either the parsed value or the error
+   */
+  public static ParseResult tryParse(String string) {
+    if (string == null) {
+      throw new NullPointerException("string is null");
+    }
+    DefaultHandler handler = new DefaultHandler();
+    try {
+      new JsonParser(handler, QUIET_CONFIG).parse(string);
+      return ParseResult.success(handler.getValue());
+    } catch (ParseException exception) {
+      return ParseResult.failure(exception);
+    }
+  }
+
+  /**
+   * Parses the given UTF-8 encoded bytes as JSON without throwing an exception if the input is not
+   * valid JSON. Instead, the error and its location are reported in the result.
+   *
+   * @param bytes
+   *          the UTF-8 encoded input
+   * @return the result that contains either the parsed value or the error
+   */
+  public static ParseResult tryParse(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    DefaultHandler handler = new DefaultHandler();
+    try {
+      new JsonParser(handler, QUIET_CONFIG).parse(bytes);
+      return ParseResult.success(handler.getValue());
+    } catch (ParseException exception) {
+      return ParseResult.failure(exception);
+    }
+  }
+
+  /**
+   * Checks whether the given input string is valid JSON. The input is only scanned for
+   * well-formedness, no values are created.
+   *
+   * @param string
+   *          the input string
+   * @return <code>true</code> if the input is valid JSON
+   */
+  public static boolean isValid(String string) {
+    if (string == null) {
+      throw new NullPointerException("string is null");
+    }
+    try {
+      JsonParser.createValidator(QUIET_CONFIG).parse(string);
+      return true;
+    } catch (ParseException exception) {
+      return false;
+    }
+  }
+
+  /**
+   * Checks whether the given UTF-8 encoded bytes are valid JSON. The input is only scanned for
+   * well-formedness, no values are created.
+   *
+   * @param bytes
+   *          the UTF-8 encoded input
+   * @return <code>true</code> if the input is valid JSON
+   */
+  public static boolean isValid(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    try {
+      JsonParser.createValidator(QUIET_CONFIG).parse(bytes);
+      return true;
+    } catch (ParseException exception) {
+      return false;
+    }
+  }
+
   private static String cutOffPointZero(String string) {
     if (string.endsWith(".0")) {
       return string.substring(0, string.length() - 2);
@@ -328,9 +603,24 @@ public final class Json {
     return string;
   }
 
+  static DefaultHandler createHandler(ParserConfig config) {
+    DefaultHandler handler = config.getLazyValues() ? new LazyHandler() : new DefaultHandler();
+    int valueCacheSize = config.getValueCacheSize();
+    if (valueCacheSize > 0) {
+      handler.valueCache = new ValueCache(valueCacheSize);
+    }
+    return handler;
+  }
+
   static class DefaultHandler extends JsonHandler<JsonArray, JsonObject> {
 
+    // null while the last value is a number that is kept in longValue or doubleValue
     protected JsonValue value;
+    private Shape shapes = new Shape();
+    private long longValue;
+    private double doubleValue;
+    private boolean isDouble;
+    ValueCache valueCache;
 
     @Override
     public JsonArray startArray() {
@@ -339,7 +629,11 @@ public final class Json {
 
     @Override
     public JsonObject startObject() {
-      return new JsonObject();
+      if (shapes != null && shapes.isExhausted()) {
+        // stop sharing shapes when the objects of the input rarely repeat their names
+        shapes = shapes.isUseful() ? new Shape() : null;
+      }
+      return shapes != null ? JsonObject.compact(shapes) : new JsonObject();
     }
 
     @Override
@@ -357,6 +651,38 @@ public final class Json {
       value = new JsonString(string);
     }
 
+    @Override
+    public void endString(char[] chars, int offset, int length, boolean escaped) {
+      if (isCached(length)) {
+        value = valueCache.getString(chars, offset, length);
+      } else {
+        super.endString(chars, offset, length, escaped);
+      }
+    }
+
+    @Override
+    public void endNumber(long number) {
+      if (valueCache != null) {
+        value = valueCache.getNumber(number);
+      } else {
+        // arrays can store the plain number without creating a value
+        value = null;
+        longValue = number;
+        isDouble = false;
+      }
+    }
+
+    @Override
+    public void endNumber(double number) {
+      if (parser != null && parser.numberIsPlain) {
+        value = null;
+        doubleValue = number;
+        isDouble = true;
+      } else {
+        super.endNumber(number);
+      }
+    }
+
     @Override
     public void endNumber(String string) {
       value = new JsonNumber(string);
@@ -369,23 +695,81 @@ public final class Json {
 
     @Override
     public void endObject(JsonObject object) {
+      object.endMembers();
       value = object;
     }
 
     @Override
     public void endArrayValue(JsonArray array) {
-      array.add(value);
+      if (value == null) {
+        if (isDouble) {
+          array.add(doubleValue);
+        } else {
+          array.add(longValue);
+        }
+      } else {
+        array.add(value);
+      }
     }
 
     @Override
     public void endObjectValue(JsonObject object, String name) {
-      object.add(name, value);
+      object.addMember(name, getValue());
     }
 
     JsonValue getValue() {
+      if (value == null) {
+        return isDouble ? Json.value(doubleValue) : Json.value(longValue);
+      }
       return value;
     }
 
+    boolean isCached(int stringLength) {
+      return valueCache != null && stringLength <= ValueCache.MAX_STRING_LENGTH;
+    }
+
+  }
+
+  /*
+   * Creates strings and numbers that refer to the input instead of copying it, as long as the input
+   * is held in memory. Strings with escape sequences and values that go through the value cache are
+   * created right away.
+   */
+  static class LazyHandler extends DefaultHandler {
+
+    @Override
+    public void endString(char[] chars, int offset, int length, boolean escaped) {
+      if (!escaped && chars == parser.getInput() && !isCached(length)) {
+        value = new JsonString(chars, offset, length);
+      } else {
+        super.endString(chars, offset, length, escaped);
+      }
+    }
+
+    @Override
+    public void endNumber(long number) {
+      if (valueCache != null || !endLazyNumber()) {
+        super.endNumber(number);
+      }
+    }
+
+    @Override
+    public void endNumber(double number) {
+      if (!endLazyNumber()) {
+        super.endNumber(number);
+      }
+    }
+
+    private boolean endLazyNumber() {
+      char[] input = parser.getInput();
+      if (input == null) {
+        return false;
+      }
+      int start = parser.getNumberStart();
+      value = new JsonNumber(input, start, parser.getNumberEnd() - start);
+      return true;
+    }
+
   }
 
 }
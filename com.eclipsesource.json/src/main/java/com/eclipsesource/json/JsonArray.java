@@ -23,7 +23,6 @@ package com.eclipsesource.json;
 
 import java.io.IOException;
 import java.io.Reader;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
@@ -63,12 +62,15 @@ import java.util.List;
 public class JsonArray extends JsonValue implements Iterable<JsonValue> {
 
   private final List<JsonValue> values;
+  // the same list as values, or null for unmodifiable arrays
+  private final ValueList valueList;
 
   /**
    * Creates a new empty JsonArray.
    */
   public JsonArray() {
-    values = new ArrayList<JsonValue>();
+    valueList = new ValueList();
+    values = valueList;
   }
 
   /**
@@ -86,9 +88,11 @@ public class JsonArray extends JsonValue implements Iterable<JsonValue> {
       throw new NullPointerException("array is null");
     }
     if (unmodifiable) {
+      valueList = null;
       values = Collections.unmodifiableList(array.values);
     } else {
-      values = new ArrayList<JsonValue>(array.values);
+      valueList = new ValueList(array.values);
+      values = valueList;
     }
   }
 
@@ -158,7 +162,11 @@ public class JsonArray extends JsonValue implements Iterable<JsonValue> {
    * @return the array itself, to enable method chaining
    */
   public JsonArray add(int value) {
-    values.add(Json.value(value));
+    if (valueList != null) {
+      valueList.addInt(value);
+    } else {
+      values.add(Json.value(value));
+    }
     return this;
   }
 
@@ -171,7 +179,11 @@ public class JsonArray extends JsonValue implements Iterable<JsonValue> {
    * @return the array itself, to enable method chaining
    */
   public JsonArray add(long value) {
-    values.add(Json.value(value));
+    if (valueList != null) {
+      valueList.addLong(value);
+    } else {
+      values.add(Json.value(value));
+    }
     return this;
   }
 
@@ -197,7 +209,11 @@ public class JsonArray extends JsonValue implements Iterable<JsonValue> {
    * @return the array itself, to enable method chaining
    */
   public JsonArray add(double value) {
-    values.add(Json.value(value));
+    if (valueList != null) {
+      valueList.addDouble(value);
+    } else {
+      values.add(Json.value(value));
+    }
     return this;
   }
 
@@ -241,6 +257,88 @@ public class JsonArray extends JsonValue implements Iterable<JsonValue> {
     return this;
   }
 
+  /**
+   * Appends the JSON representations of all of the given <code>int</code> values to the end of
+   * this array. As long as an array contains only numbers of the same kind, these numbers are
+   * stored in a primitive array internally.
+   *
+   * @param values
+   *          the values to add to the array
+   * @return the array itself, to enable method chaining
+   */
+  public JsonArray addAll(int[] values) {
+    if (values == null) {
+      throw new NullPointerException("values is null");
+    }
+    if (valueList != null) {
+      valueList.addInts(values);
+    } else {
+      for (int value : values) {
+        this.values.add(Json.value(value));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Appends the JSON representations of all of the given <code>long</code> values to the end of
+   * this array. As long as an array contains only numbers of the same kind, these numbers are
+   * stored in a primitive array internally.
+   *
+   * @param values
+   *          the values to add to the array
+   * @return the array itself, to enable method chaining
+   */
+  public JsonArray addAll(long[] values) {
+    if (values == null) {
+      throw new NullPointerException("values is null");
+    }
+    if (valueList != null) {
+      valueList.addLongs(values);
+    } else {
+      for (long value : values) {
+        this.values.add(Json.value(value));
+      }
+    }
+    return this;
+  }
+
+  /**
+   * Appends the JSON representations of all of the given <code>double</code> values to the end of
+   * this array. As long as an array contains only numbers of the same kind, these numbers are
+   * stored in a primitive array internally.
+   *
+   * @param values
+   *          the values to add to the array
+   * @return the array itself, to enable method chaining
+   * @throws IllegalArgumentException
+   *           if one of the values is infinite or NaN, in which case no value is added
+   */
+  public JsonArray addAll(double[] values) {
+    if (values == null) {
+      throw new NullPointerException("values is null");
+    }
+    if (valueList != null) {
+      valueList.addDoubles(values);
+    } else {
+      for (double value : values) {
+        this.values.add(Json.value(value));
+      }
+    }
+    return this;
+  }
+
+  /*
+   * Appends all elements of the given array, keeping numbers in primitive storage.
+   */
+  void addElements(JsonArray array) {
+    if (valueList != null && array.valueList != null) {
+      valueList.addAll(array.valueList);
+    } else {
+      values.addAll(array.values);
+    }
+  }
+
   /**
    * Replaces the element at the specified position in this array with the JSON representation of
    * the specified <code>int</code> value.
@@ -255,7 +353,11 @@ public class JsonArray extends JsonValue implements Iterable<JsonValue> {
    *           <code>index &gt;= size</code>
    */
   public JsonArray set(int index, int value) {
-    values.set(index, Json.value(value));
+    if (valueList != null) {
+      valueList.setInt(index, value);
+    } else {
+      values.set(index, Json.value(value));
+    }
     return this;
   }
 
@@ -273,7 +375,11 @@ public class JsonArray extends JsonValue implements Iterable<JsonValue> {
    *           <code>index &gt;= size</code>
    */
   public JsonArray set(int index, long value) {
-    values.set(index, Json.value(value));
+    if (valueList != null) {
+      valueList.setLong(index, value);
+    } else {
+      values.set(index, Json.value(value));
+    }
     return this;
   }
 
@@ -309,7 +415,11 @@ public class JsonArray extends JsonValue implements Iterable<JsonValue> {
    *           <code>index &gt;= size</code>
    */
   public JsonArray set(int index, double value) {
-    values.set(index, Json.value(value));
+    if (valueList != null) {
+      valueList.setDouble(index, value);
+    } else {
+      values.set(index, Json.value(value));
+    }
     return this;
   }
 
@@ -427,6 +537,69 @@ public class JsonArray extends JsonValue implements Iterable<JsonValue> {
     return Collections.unmodifiableList(values);
   }
 
+  /**
+   * Returns the elements of this array as an array of <code>int</code> values. For arrays that
+   * store their numbers in a primitive array, this is a plain copy.
+   *
+   * @return an array that contains the values of all elements of this array
+   * @throws UnsupportedOperationException
+   *           if one of the elements is not a number
+   * @throws NumberFormatException
+   *           if one of the elements cannot be represented as a <code>int</code> value
+   */
+  public int[] toIntArray() {
+    if (valueList != null) {
+      return valueList.toIntArray();
+    }
+    int[] array = new int[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i).asInt();
+    }
+    return array;
+  }
+
+  /**
+   * Returns the elements of this array as an array of <code>long</code> values. For arrays that
+   * store their numbers in a primitive array, this is a plain copy.
+   *
+   * @return an array that contains the values of all elements of this array
+   * @throws UnsupportedOperationException
+   *           if one of the elements is not a number
+   * @throws NumberFormatException
+   *           if one of the elements cannot be represented as a <code>long</code> value
+   */
+  public long[] toLongArray() {
+    if (valueList != null) {
+      return valueList.toLongArray();
+    }
+    long[] array = new long[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i).asLong();
+    }
+    return array;
+  }
+
+  /**
+   * Returns the elements of this array as an array of <code>double</code> values. For arrays that
+   * store their numbers in a primitive array, this is a plain copy.
+   *
+   * @return an array that contains the values of all elements of this array
+   * @throws UnsupportedOperationException
+   *           if one of the elements is not a number
+   * @throws NumberFormatException
+   *           if one of the elements cannot be represented as a <code>double</code> value
+   */
+  public double[] toDoubleArray() {
+    if (valueList != null) {
+      return valueList.toDoubleArray();
+    }
+    double[] array = new double[values.size()];
+    for (int i = 0; i < array.length; i++) {
+      array[i] = values.get(i).asDouble();
+    }
+    return array;
+  }
+
   /**
    * Returns an iterator over the values of this array in document order. The returned iterator
    * cannot be used to modify this array.
@@ -454,12 +627,16 @@ public class JsonArray extends JsonValue implements Iterable<JsonValue> {
   @Override
   void write(JsonWriter writer) throws IOException {
     writer.writeArrayOpen();
-    Iterator<JsonValue> iterator = iterator();
-    if (iterator.hasNext()) {
-      iterator.next().write(writer);
-      while (iterator.hasNext()) {
-        writer.writeArraySeparator();
+    if (valueList != null) {
+      valueList.write(writer);
+    } else {
+      Iterator<JsonValue> iterator = iterator();
+      if (iterator.hasNext()) {
         iterator.next().write(writer);
+        while (iterator.hasNext()) {
+          writer.writeArraySeparator();
+          iterator.next().write(writer);
+        }
       }
     }
     writer.writeArrayClose();
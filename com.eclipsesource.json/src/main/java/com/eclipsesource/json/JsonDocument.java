@@ -0,0 +1,817 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.eclipsesource.json.JsonObject.HashIndexTable;
+
+
+/**
+ * A read-only JSON document in a compact, flat representation. Instead of creating an object for
+ * every JSON value, the parser records the entire document on a <em>tape</em>, a single
+ * <code>long</code> array with one entry per value and member name. The contents of strings and
+ * numbers are kept in pools, member names are stored only once per document. Compared to a tree of
+ * {@link JsonValue}s, this representation requires only a fraction of the heap and puts much less
+ * pressure on the garbage collector.
+ * <p>
+ * The contents of a document are accessed through {@link Node}s, lightweight views on a position of
+ * the tape that offer the accessors known from <code>JsonValue</code>:
+ * </p>
+ *
+ * <pre>
+ * JsonDocument document = JsonDocument.parse(string);
+ * String name = document.getRoot().asObject().get("items").asArray().get(0).asString();
+ * </pre>
+ * <p>
+ * If a modifiable representation is needed for a part of the document, it can be converted using
+ * {@link Node#toJsonValue()}.
+ * </p>
+ */
+public final class JsonDocument {
+
+  /*
+   * Every entry of the tape holds the type in the upper eight bits and a payload in the lower bits.
+   * Strings and names refer to their pool index. Integers are stored in the payload itself, if they
+   * fit into its 56 bits. Decimal numbers that are written the same way as they appear in the input
+   * are stored as the raw bits of their double value in the pool of doubles. All other numbers keep
+   * their original text in the pool of number strings. An array or object occupies a start entry,
+   * that refers to the index of the matching end entry, followed by its contents. The end entry
+   * holds the number of elements. Object members are stored as a name entry followed by the value.
+   */
+  private static final int TYPE_SHIFT = 56;
+  private static final long PAYLOAD_MASK = (1L << TYPE_SHIFT) - 1;
+  private static final int NULL = 1;
+  private static final int TRUE = 2;
+  private static final int FALSE = 3;
+  private static final int NUMBER = 4;
+  private static final int LONG = 5;
+  private static final int DOUBLE = 6;
+  private static final int STRING = 7;
+  private static final int NAME = 8;
+  private static final int ARRAY = 9;
+  private static final int OBJECT = 10;
+  private static final int END = 11;
+  // objects with fewer members are searched without an index
+  private static final int MIN_INDEXED_SIZE = 16;
+
+  private final long[] tape;
+  private final String[] strings;
+  private final long[] doubles;
+  private final String[] numbers;
+
+  private JsonDocument(long[] tape, String[] strings, long[] doubles, String[] numbers) {
+    this.tape = tape;
+    this.strings = strings;
+    this.doubles = doubles;
+    this.numbers = numbers;
+  }
+
+  /**
+   * Parses the given input string into a document. The input must contain a valid JSON value,
+   * optionally padded with whitespace.
+   *
+   * @param string
+   *          the input string, must be valid JSON
+   * @return the parsed document
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonDocument parse(String string) {
+    if (string == null) {
+      throw new NullPointerException("string is null");
+    }
+    TapeHandler handler = new TapeHandler();
+    new JsonParser(handler).parse(string);
+    return handler.getDocument();
+  }
+
+  /**
+   * Parses the given UTF-8 encoded bytes into a document. The input must contain a valid JSON
+   * value, optionally padded with whitespace.
+   *
+   * @param bytes
+   *          the UTF-8 encoded input, must be valid JSON
+   * @return the parsed document
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonDocument parse(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    TapeHandler handler = new TapeHandler();
+    new JsonParser(handler).parse(bytes);
+    return handler.getDocument();
+  }
+
+  /**
+   * Reads the entire input from the given reader and parses it into a document. The input must
+   * contain a valid JSON value, optionally padded with whitespace.
+   *
+   * @param reader
+   *          the reader to read the input from
+   * @return the parsed document
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public static JsonDocument parse(Reader reader) throws IOException {
+    if (reader == null) {
+      throw new NullPointerException("reader is null");
+    }
+    TapeHandler handler = new TapeHandler();
+    new JsonParser(handler).parse(reader);
+    return handler.getDocument();
+  }
+
+  /**
+   * Returns the top-level value of this document.
+   *
+   * @return the root node
+   */
+  public Node getRoot() {
+    return new Node(this, 0);
+  }
+
+  int getType(int position) {
+    return (int)(tape[position] >>> TYPE_SHIFT);
+  }
+
+  int getPayload(int position) {
+    return (int)(tape[position] & PAYLOAD_MASK);
+  }
+
+  long getLong(int position) {
+    // extend the sign of the payload
+    return tape[position] << (64 - TYPE_SHIFT) >> (64 - TYPE_SHIFT);
+  }
+
+  double getDouble(int position) {
+    return Double.longBitsToDouble(doubles[getPayload(position)]);
+  }
+
+  int skip(int position) {
+    int type = getType(position);
+    return type == ARRAY || type == OBJECT ? getPayload(position) + 1 : position + 1;
+  }
+
+  JsonValue toJsonValue(int position) {
+    switch (getType(position)) {
+      case NULL:
+        return Json.NULL;
+      case TRUE:
+        return Json.TRUE;
+      case FALSE:
+        return Json.FALSE;
+      case NUMBER:
+        return new JsonNumber(numbers[getPayload(position)]);
+      case LONG:
+        return Json.value(getLong(position));
+      case DOUBLE:
+        return Json.value(getDouble(position));
+      case STRING:
+        return new JsonString(strings[getPayload(position)]);
+      case ARRAY: {
+        JsonArray array = new JsonArray();
+        int end = getPayload(position);
+        for (int pos = position + 1; pos < end; pos = skip(pos)) {
+          array.add(toJsonValue(pos));
+        }
+        return array;
+      }
+      default: {
+        JsonObject object = new JsonObject();
+        int end = getPayload(position);
+        for (int pos = position + 1; pos < end; pos = skip(pos + 1)) {
+          object.add(strings[getPayload(pos)], toJsonValue(pos + 1));
+        }
+        return object;
+      }
+    }
+  }
+
+  /**
+   * A lightweight view on a single value of a {@link JsonDocument}. Nodes are cheap to create and
+   * hold no data besides a reference to the document and a position on its tape. They offer the
+   * same accessors as {@link JsonValue}. Since the document is read-only, there are no methods to
+   * modify a node.
+   * <p>
+   * Accessing the elements of an array by ascending index is efficient, as a node remembers the
+   * position of the element accessed last. Nodes can be shared between threads.
+   * </p>
+   */
+  public static final class Node {
+
+    private final JsonDocument document;
+    private final int position;
+    // a single immutable pair, so that threads sharing a node cannot see a torn cache entry
+    private Cursor cursor;
+    private MemberIndex index;
+
+    Node(JsonDocument document, int position) {
+      this.document = document;
+      this.position = position;
+    }
+
+    /**
+     * Detects whether this node represents a JSON object.
+     *
+     * @return <code>true</code> if this node represents a JSON object
+     */
+    public boolean isObject() {
+      return type() == OBJECT;
+    }
+
+    /**
+     * Detects whether this node represents a JSON array.
+     *
+     * @return <code>true</code> if this node represents a JSON array
+     */
+    public boolean isArray() {
+      return type() == ARRAY;
+    }
+
+    /**
+     * Detects whether this node represents a JSON number.
+     *
+     * @return <code>true</code> if this node represents a JSON number
+     */
+    public boolean isNumber() {
+      int type = type();
+      return type == NUMBER || type == LONG || type == DOUBLE;
+    }
+
+    /**
+     * Detects whether this node represents a JSON string.
+     *
+     * @return <code>true</code> if this node represents a JSON string
+     */
+    public boolean isString() {
+      return type() == STRING;
+    }
+
+    /**
+     * Detects whether this node represents a boolean value.
+     *
+     * @return <code>true</code> if this node represents either the JSON literal <code>true</code>
+     *         or <code>false</code>
+     */
+    public boolean isBoolean() {
+      return type() == TRUE || type() == FALSE;
+    }
+
+    /**
+     * Detects whether this node represents the JSON literal <code>true</code>.
+     *
+     * @return <code>true</code> if this node represents the JSON literal <code>true</code>
+     */
+    public boolean isTrue() {
+      return type() == TRUE;
+    }
+
+    /**
+     * Detects whether this node represents the JSON literal <code>false</code>.
+     *
+     * @return <code>true</code> if this node represents the JSON literal <code>false</code>
+     */
+    public boolean isFalse() {
+      return type() == FALSE;
+    }
+
+    /**
+     * Detects whether this node represents the JSON literal <code>null</code>.
+     *
+     * @return <code>true</code> if this node represents the JSON literal <code>null</code>
+     */
+    public boolean isNull() {
+      return type() == NULL;
+    }
+
+    /**
+     * Returns this node after checking that it represents a JSON object.
+     *
+     * @return this node
+     * @throws UnsupportedOperationException
+     *           if this node is not a JSON object
+     */
+    public Node asObject() {
+      if (type() != OBJECT) {
+        throw new UnsupportedOperationException("Not an object: " + toString());
+      }
+      return this;
+    }
+
+    /**
+     * Returns this node after checking that it represents a JSON array.
+     *
+     * @return this node
+     * @throws UnsupportedOperationException
+     *           if this node is not a JSON array
+     */
+    public Node asArray() {
+      if (type() != ARRAY) {
+        throw new UnsupportedOperationException("Not an array: " + toString());
+      }
+      return this;
+    }
+
+    /**
+     * Returns the number of elements of this array or the number of members of this object.
+     *
+     * @return the number of elements or members
+     * @throws UnsupportedOperationException
+     *           if this node is neither a JSON array nor a JSON object
+     */
+    public int size() {
+      if (type() != ARRAY && type() != OBJECT) {
+        throw new UnsupportedOperationException("Not an array or object: " + toString());
+      }
+      return document.getPayload(document.getPayload(position));
+    }
+
+    /**
+     * Returns the element of this array at the given index.
+     *
+     * @param index
+     *          the index of the element to return
+     * @return the element at the given index
+     * @throws UnsupportedOperationException
+     *           if this node is not a JSON array
+     * @throws IndexOutOfBoundsException
+     *           if the index is out of range, i.e. <code>index &lt; 0</code> or
+     *           <code>index &gt;= size</code>
+     */
+    public Node get(int index) {
+      int size = asArray().size();
+      if (index < 0 || index >= size) {
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+      }
+      int current = 0;
+      int pos = position + 1;
+      Cursor cached = cursor;
+      if (cached != null && cached.index <= index) {
+        current = cached.index;
+        pos = cached.position;
+      }
+      while (current < index) {
+        pos = document.skip(pos);
+        current++;
+      }
+      cursor = new Cursor(index, pos);
+      return new Node(document, pos);
+    }
+
+    /**
+     * Returns the value of the member with the specified name in this object. If this object
+     * contains multiple members with the given name, the last one is returned.
+     * <p>
+     * Small objects are searched member by member. For larger objects, the node builds an index of
+     * the member names on the first lookup, hence repeated lookups should use the same node.
+     * </p>
+     *
+     * @param name
+     *          the name of the member whose value is to be returned
+     * @return the value of the last member with the specified name, or <code>null</code> if this
+     *         object does not contain a member with that name
+     * @throws UnsupportedOperationException
+     *           if this node is not a JSON object
+     */
+    public Node get(String name) {
+      if (name == null) {
+        throw new NullPointerException("name is null");
+      }
+      int size = asObject().size();
+      int found = -1;
+      if (size >= MIN_INDEXED_SIZE) {
+        MemberIndex cached = index;
+        if (cached == null) {
+          cached = new MemberIndex(document, position, size);
+          index = cached;
+        }
+        found = cached.get(name);
+      } else {
+        int end = document.getPayload(position);
+        for (int pos = position + 1; pos < end; pos = document.skip(pos + 1)) {
+          if (name.equals(document.strings[document.getPayload(pos)])) {
+            found = pos + 1;
+          }
+        }
+      }
+      return found == -1 ? null : new Node(document, found);
+    }
+
+    /**
+     * Returns a list of the names of the members of this object, in document order.
+     *
+     * @return a list of the member names
+     * @throws UnsupportedOperationException
+     *           if this node is not a JSON object
+     */
+    public List<String> names() {
+      asObject();
+      List<String> names = new ArrayList<String>();
+      int end = document.getPayload(position);
+      for (int pos = position + 1; pos < end; pos = document.skip(pos + 1)) {
+        names.add(document.strings[document.getPayload(pos)]);
+      }
+      return names;
+    }
+
+    /**
+     * Returns this JSON value as a String, assuming that this value represents a JSON string.
+     *
+     * @return the string represented by this node
+     * @throws UnsupportedOperationException
+     *           if this node is not a JSON string
+     */
+    public String asString() {
+      if (type() != STRING) {
+        throw new UnsupportedOperationException("Not a string: " + toString());
+      }
+      return document.strings[document.getPayload(position)];
+    }
+
+    /**
+     * Returns this JSON value as an <code>int</code> value, assuming that this value represents a
+     * JSON number that can be interpreted as Java <code>int</code>.
+     *
+     * @return this node as <code>int</code>
+     * @throws UnsupportedOperationException
+     *           if this node is not a JSON number
+     * @throws NumberFormatException
+     *           if this JSON number can not be interpreted as <code>int</code> value
+     */
+    public int asInt() {
+      if (type() == LONG) {
+        long value = document.getLong(position);
+        if ((int)value == value) {
+          return (int)value;
+        }
+      }
+      return Integer.parseInt(number(), 10);
+    }
+
+    /**
+     * Returns this JSON value as a <code>long</code> value, assuming that this value represents a
+     * JSON number that can be interpreted as Java <code>long</code>.
+     *
+     * @return this node as <code>long</code>
+     * @throws UnsupportedOperationException
+     *           if this node is not a JSON number
+     * @throws NumberFormatException
+     *           if this JSON number can not be interpreted as <code>long</code> value
+     */
+    public long asLong() {
+      if (type() == LONG) {
+        return document.getLong(position);
+      }
+      return Long.parseLong(number(), 10);
+    }
+
+    /**
+     * Returns this JSON value as a <code>float</code> value, assuming that this value represents a
+     * JSON number.
+     *
+     * @return this node as <code>float</code>
+     * @throws UnsupportedOperationException
+     *           if this node is not a JSON number
+     */
+    public float asFloat() {
+      if (type() == LONG) {
+        return document.getLong(position);
+      }
+      return Float.parseFloat(number());
+    }
+
+    /**
+     * Returns this JSON value as a <code>double</code> value, assuming that this value represents
+     * a JSON number.
+     *
+     * @return this node as <code>double</code>
+     * @throws UnsupportedOperationException
+     *           if this node is not a JSON number
+     */
+    public double asDouble() {
+      if (type() == LONG) {
+        return document.getLong(position);
+      }
+      if (type() == DOUBLE) {
+        return document.getDouble(position);
+      }
+      return Double.parseDouble(number());
+    }
+
+    /**
+     * Returns this JSON value as a <code>boolean</code> value, assuming that this value is either
+     * <code>true</code> or <code>false</code>.
+     *
+     * @return this node as <code>boolean</code>
+     * @throws UnsupportedOperationException
+     *           if this node is neither <code>true</code> or <code>false</code>
+     */
+    public boolean asBoolean() {
+      if (type() != TRUE && type() != FALSE) {
+        throw new UnsupportedOperationException("Not a boolean: " + toString());
+      }
+      return type() == TRUE;
+    }
+
+    /**
+     * Converts this node and all its contents into a tree of {@link JsonValue}s.
+     *
+     * @return a new JSON value that represents this node
+     */
+    public JsonValue toJsonValue() {
+      return document.toJsonValue(position);
+    }
+
+    /**
+     * Returns the JSON string for this node in its minimal form, without any additional
+     * whitespace.
+     *
+     * @return a JSON string that represents this node
+     */
+    @Override
+    public String toString() {
+      return toJsonValue().toString();
+    }
+
+    @Override
+    public int hashCode() {
+      return 31 * document.hashCode() + position;
+    }
+
+    /**
+     * Indicates whether a given object is a node that represents the same position of the same
+     * document.
+     *
+     * @param object
+     *          the reference object with which to compare
+     * @return <code>true</code> if this node refers to the same value as the given object
+     */
+    @Override
+    public boolean equals(Object object) {
+      if (this == object) {
+        return true;
+      }
+      if (object == null || getClass() != object.getClass()) {
+        return false;
+      }
+      Node other = (Node)object;
+      return document == other.document && position == other.position;
+    }
+
+    private int type() {
+      return document.getType(position);
+    }
+
+    private String number() {
+      switch (type()) {
+        case NUMBER:
+          return document.numbers[document.getPayload(position)];
+        case LONG:
+          return Long.toString(document.getLong(position));
+        case DOUBLE:
+          return Json.value(document.getDouble(position)).toString();
+        default:
+          throw new UnsupportedOperationException("Not a number: " + toString());
+      }
+    }
+
+  }
+
+  private static class TapeHandler extends JsonHandler<Object, Object> {
+
+    private long[] tape = new long[64];
+    private int size;
+    private String[] strings = new String[16];
+    private int stringCount;
+    private long[] doubles = new long[16];
+    private int doubleCount;
+    private String[] numbers = new String[16];
+    private int numberCount;
+    private final Map<String, Integer> names = new HashMap<String, Integer>();
+    private int[] starts = new int[16];
+    private int[] counts = new int[16];
+    private int depth;
+
+    @Override
+    public Object startArray() {
+      push(ARRAY);
+      return null;
+    }
+
+    @Override
+    public Object startObject() {
+      push(OBJECT);
+      return null;
+    }
+
+    @Override
+    public void endNull() {
+      append(NULL, 0);
+    }
+
+    @Override
+    public void endBoolean(boolean value) {
+      append(value ? TRUE : FALSE, 0);
+    }
+
+    @Override
+    public void endString(String string) {
+      append(STRING, addString(string));
+    }
+
+    @Override
+    public void endNumber(long value) {
+      if (value << (64 - TYPE_SHIFT) >> (64 - TYPE_SHIFT) == value) {
+        append(LONG, value);
+      } else {
+        super.endNumber(value);
+      }
+    }
+
+    @Override
+    public void endNumber(double value) {
+      if (parser != null && parser.numberIsPlain) {
+        // the value is written exactly as in the input
+        if (doubleCount == doubles.length) {
+          doubles = copyOf(doubles, doubleCount * 2);
+        }
+        doubles[doubleCount] = Double.doubleToRawLongBits(value);
+        append(DOUBLE, doubleCount++);
+      } else {
+        super.endNumber(value);
+      }
+    }
+
+    @Override
+    public void endNumber(String string) {
+      if (numberCount == numbers.length) {
+        numbers = grow(numbers);
+      }
+      numbers[numberCount] = string;
+      append(NUMBER, numberCount++);
+    }
+
+    @Override
+    public void endArray(Object array) {
+      pop(ARRAY);
+    }
+
+    @Override
+    public void endObject(Object object) {
+      pop(OBJECT);
+    }
+
+    @Override
+    public void endArrayValue(Object array) {
+      counts[depth - 1]++;
+    }
+
+    @Override
+    public void endObjectName(Object object, String name) {
+      Integer index = names.get(name);
+      if (index == null) {
+        index = Integer.valueOf(addString(name));
+        names.put(name, index);
+      }
+      append(NAME, index.intValue());
+    }
+
+    @Override
+    public void endObjectValue(Object object, String name) {
+      counts[depth - 1]++;
+    }
+
+    JsonDocument getDocument() {
+      // trim the pools, the document keeps them for its entire lifetime
+      return new JsonDocument(copyOf(tape, size),
+                              copyOf(strings, stringCount),
+                              copyOf(doubles, doubleCount),
+                              copyOf(numbers, numberCount));
+    }
+
+    private void push(int type) {
+      if (depth == starts.length) {
+        starts = grow(starts);
+        counts = grow(counts);
+      }
+      starts[depth] = size;
+      counts[depth++] = 0;
+      append(type, 0);
+    }
+
+    private void pop(int type) {
+      int start = starts[--depth];
+      tape[start] = (long)type << TYPE_SHIFT | size;
+      append(END, counts[depth]);
+    }
+
+    private void append(int type, long payload) {
+      if (size == tape.length) {
+        tape = copyOf(tape, size * 2);
+      }
+      tape[size++] = (long)type << TYPE_SHIFT | payload & PAYLOAD_MASK;
+    }
+
+    private int addString(String string) {
+      if (stringCount == strings.length) {
+        strings = grow(strings);
+      }
+      strings[stringCount] = string;
+      return stringCount++;
+    }
+
+    private static String[] grow(String[] array) {
+      return copyOf(array, array.length * 2);
+    }
+
+    private static int[] grow(int[] array) {
+      int[] newArray = new int[array.length * 2];
+      System.arraycopy(array, 0, newArray, 0, array.length);
+      return newArray;
+    }
+
+  }
+
+  /*
+   * Maps the member names of an object to the tape positions of their values. Immutable once
+   * created, so that threads sharing a node see either no index or a complete one.
+   */
+  private static final class MemberIndex {
+
+    private final HashIndexTable table;
+    private final int[] positions;
+
+    MemberIndex(JsonDocument document, int position, int size) {
+      List<String> names = new ArrayList<String>(size);
+      positions = new int[size];
+      table = new HashIndexTable(names);
+      int end = document.getPayload(position);
+      for (int pos = position + 1; pos < end; pos = document.skip(pos + 1)) {
+        String name = document.strings[document.getPayload(pos)];
+        positions[names.size()] = pos + 1;
+        names.add(name);
+        table.add(name, names.size() - 1);
+      }
+    }
+
+    int get(String name) {
+      int index = table.get(name);
+      return index == -1 ? -1 : positions[index];
+    }
+
+  }
+
+  private static final class Cursor {
+
+    final int index;
+    final int position;
+
+    Cursor(int index, int position) {
+      this.index = index;
+      this.position = position;
+    }
+
+  }
+
+  private static long[] copyOf(long[] array, int length) {
+    long[] copy = new long[length];
+    System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+    return copy;
+  }
+
+  private static String[] copyOf(String[] array, int length) {
+    String[] copy = new String[length];
+    System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+    return copy;
+  }
+
+}
@@ -23,8 +23,9 @@ package com.eclipsesource.json;
 
 
 /**
- * A handler for parser events. Instances of this class can be given to a {@link JsonParser}. The
- * parser will then call the methods of the given handler while reading the input.
+ * A handler for parser events. Instances of this class can be given to a {@link JsonParser} or a
+ * {@link JsonPushParser}. The parser will then call the methods of the given handler while reading
+ * the input.
  * <p>
  * The default implementations of these methods do nothing. Subclasses may override only those
  * methods they are interested in. They can use <code>getLocation()</code> to access the current
@@ -51,10 +52,13 @@ package com.eclipsesource.json;
  * @param <O>
  *          The type of handlers used for JSON objects
  * @see JsonParser
+ * @see JsonPushParser
  */
 public abstract class JsonHandler<A, O> {
 
   JsonParser parser;
+  JsonPushParser pushParser;
+  private StringBuilder chunkBuffer;
 
   /**
    * Returns the current parser location.
@@ -62,7 +66,14 @@ public abstract class JsonHandler<A, O> {
    * @return the current parser location
    */
   protected Location getLocation() {
-    return parser.getLocation();
+    return pushParser != null ? pushParser.getLocation() : parser.getLocation();
+  }
+
+  private String getNumberText(String fallback) {
+    if (pushParser != null) {
+      return pushParser.getNumberText();
+    }
+    return parser != null ? parser.getNumberText() : fallback;
   }
 
   /**
@@ -113,6 +124,71 @@ public abstract class JsonHandler<A, O> {
   public void endString(String string) {
   }
 
+  /**
+   * Indicates the end of a string in the JSON input, providing the characters of the string as a
+   * range of a char array instead of a string. This method will be called after reading the
+   * closing double quote character (<code>'&quot;'</code>). The array is owned by the parser and
+   * must not be modified. Its contents are only valid until this method returns. Handlers that only
+   * inspect or copy strings can override this method to avoid creating a string for every value.
+   * <p>
+   * The default implementation creates a string from the given characters and calls
+   * {@link #endString(String)}.
+   * </p>
+   *
+   * @param chars
+   *          an array that contains the parsed string, escape sequences already replaced
+   * @param offset
+   *          the index of the first character of the string
+   * @param length
+   *          the number of characters in the string
+   * @param escaped
+   *          <code>true</code> if the string contained escape sequences in the input
+   */
+  public void endString(char[] chars, int offset, int length, boolean escaped) {
+    endString(new String(chars, offset, length));
+  }
+
+  /**
+   * Indicates that the current string will be reported in chunks. This method is only called when
+   * string chunks are enabled in the {@link ParserConfig} and the string is longer than the chunk
+   * size. It will be called after {@link #startString()} and is followed by one or more calls to
+   * {@link #stringChunk(char[], int, int)} and a final call to {@link #endStringChunks()}, which
+   * replaces the call to <code>endString</code>.
+   * <p>
+   * The default implementations of the chunk events reassemble the string and report it to
+   * {@link #endString(String)}. Handlers that stream strings elsewhere must override all three
+   * methods.
+   * </p>
+   */
+  public void startStringChunks() {
+    chunkBuffer = new StringBuilder();
+  }
+
+  /**
+   * Provides the next chunk of the current string. The array is owned by the parser and must not be
+   * modified. Its contents are only valid until this method returns.
+   *
+   * @param chars
+   *          an array that contains the chunk, escape sequences already replaced
+   * @param offset
+   *          the index of the first character of the chunk
+   * @param length
+   *          the number of characters in the chunk
+   */
+  public void stringChunk(char[] chars, int offset, int length) {
+    chunkBuffer.append(chars, offset, length);
+  }
+
+  /**
+   * Indicates the end of a string that has been reported in chunks. This method will be called
+   * after reading the closing double quote character (<code>'&quot;'</code>).
+   */
+  public void endStringChunks() {
+    String string = chunkBuffer.toString();
+    chunkBuffer = null;
+    endString(string);
+  }
+
   /**
    * Indicates the beginning of a number in the JSON input. This method will be called when reading
    * the first character of the number.
@@ -122,7 +198,10 @@ public abstract class JsonHandler<A, O> {
 
   /**
    * Indicates the end of a number in the JSON input. This method will be called after reading the
-   * last character of the number.
+   * last character of the number, unless the parser has already converted the number and reports
+   * it to {@link #endNumber(long)} or {@link #endNumber(double)}. The default implementations of
+   * these methods delegate to this method, hence handlers that do not override them will receive
+   * all numbers here.
    *
    * @param string
    *          the parsed number string
@@ -130,6 +209,42 @@ public abstract class JsonHandler<A, O> {
   public void endNumber(String string) {
   }
 
+  /**
+   * Indicates the end of an integer number in the JSON input. This method will be called after
+   * reading the last character of the number, for integers of up to 18 digits. The parser converts
+   * these numbers while scanning, without creating a string. Handlers that consume numeric values
+   * can override this method to avoid parsing the number string again.
+   * <p>
+   * The default implementation obtains the original number string from the parser and calls
+   * {@link #endNumber(String)}.
+   * </p>
+   *
+   * @param value
+   *          the value of the parsed number
+   */
+  public void endNumber(long value) {
+    endNumber(getNumberText(Long.toString(value)));
+  }
+
+  /**
+   * Indicates the end of a decimal number in the JSON input. This method will be called after
+   * reading the last character of the number, for numbers with a fraction or an exponent that the
+   * parser could convert exactly while scanning, i.e. numbers of up to 15 significant digits with a
+   * moderate exponent. All other numbers are reported to {@link #endNumber(String)}. Note that the
+   * original number string cannot be reconstructed from the value, e.g. <code>1.50</code> and
+   * <code>15e-1</code> both yield the value <code>1.5</code>.
+   * <p>
+   * The default implementation obtains the original number string from the parser and calls
+   * {@link #endNumber(String)}.
+   * </p>
+   *
+   * @param value
+   *          the value of the parsed number
+   */
+  public void endNumber(double value) {
+    endNumber(getNumberText(Double.toString(value)));
+  }
+
   /**
    * Indicates the beginning of an array in the JSON input. This method will be called when reading
    * the opening square bracket character (<code>'['</code>).
@@ -234,8 +349,69 @@ public abstract class JsonHandler<A, O> {
   }
 
   /**
-   * Indicates the beginning of the name of an object member in the JSON input. This method will be
-   * called when reading the opening quote character ('&quot;') of the member name.
+   * Indicates the end of an object member name in the JSON input, providing the characters of the
+   * name as a range of a char array instead of a string. This method will be called after reading
+   * the closing quote character (<code>'"'</code>) of the member name. The array is owned by the
+   * parser and must not be modified. Its contents are only valid until this method returns.
+   * <p>
+   * The name returned by this method is passed to all subsequent events for this member, such as
+   * {@link #endObjectValue(Object, String) endObjectValue()}. Handlers that only look for a few
+   * names can override this method to compare the characters with the names they know, and return
+   * a constant, or <code>null</code> for names they are not interested in.
+   * </p>
+   * <p>
+   * The default implementation creates a string from the given characters, using the key cache of
+   * the parser if enabled, calls {@link #endObjectName(Object, String)}, and returns the string.
+   * </p>
+   *
+   * @param object
+   *          the object handler returned from {@link #startObject()}, or null if not provided
+   * @param chars
+   *          an array that contains the parsed name, escape sequences already replaced
+   * @param offset
+   *          the index of the first character of the name
+   * @param length
+   *          the number of characters in the name
+   * @param escaped
+   *          <code>true</code> if the name contained escape sequences in the input
+   * @return the name to pass to subsequent events for this member
+   */
+  public String endObjectName(O object, char[] chars, int offset, int length, boolean escaped) {
+    String name = parser != null ? parser.createName(chars, offset, length)
+                                 : new String(chars, offset, length);
+    endObjectName(object, name);
+    return name;
+  }
+
+  /**
+   * Indicates whether the value of an object member should be skipped. This method will be called
+   * when reading the first character of the member value, before
+   * {@link #startObjectValue(Object, String) startObjectValue()}.
+   * <p>
+   * If this method returns <code>true</code>, the value is skipped by a fast scan that only keeps
+   * track of brackets and quotes. Strings in the skipped value are not captured, numbers are not
+   * converted, and no further events are reported for the value, neither
+   * <code>startObjectValue()</code> nor <code>endObjectValue()</code>. Since the skipped value is
+   * not validated in detail, syntax errors inside of it may go undetected.
+   * </p>
+   * <p>
+   * The default implementation returns <code>false</code>.
+   * </p>
+   *
+   * @param object
+   *          the object handler returned from {@link #startObject()}, or <code>null</code> if not
+   *          provided
+   * @param name
+   *          the member name
+   * @return <code>true</code> to skip the member value
+   */
+  public boolean skipObjectValue(O object, String name) {
+    return false;
+  }
+
+  /**
+   * Indicates the beginning of an object member value in the JSON input. This method will be called
+   * when reading the first character of the member value.
    *
    * @param object
    *          the object handler returned from {@link #startObject()}, or <code>null</code> if not
@@ -0,0 +1,327 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.eclipsesource.json.Json.DefaultHandler;
+
+
+/**
+ * Reads newline-delimited JSON (JSON Lines, NDJSON), i.e. a sequence of JSON values, each on a
+ * separate line. Blank lines are ignored.
+ * <p>
+ * The UTF-8 encoded input is read in large blocks that are split at line boundaries. The records
+ * of each block are parsed on the given executor, while the calling thread keeps reading. Parsed
+ * records are passed to a {@link RecordHandler} on the calling thread, either in their original
+ * order or in the order in which blocks complete. The number of blocks that are read ahead is
+ * limited, so memory consumption remains bounded regardless of the size of the input.
+ * </p>
+ * <p>
+ * Example:
+ * </p>
+ *
+ * <pre>
+ * ExecutorService executor = Executors.newFixedThreadPool(threads);
+ * new JsonLinesReader(executor).read(input, new RecordHandler() {
+ *   public void handle(JsonValue record) {
+ *     ...
+ *   }
+ * });
+ * </pre>
+ * <p>
+ * A JsonLinesReader can be shared between threads. It does not shut down the executor.
+ * </p>
+ *
+ * @see JsonLinesWriter
+ */
+public class JsonLinesReader {
+
+  private static final int DEFAULT_BLOCK_SIZE = 1024 * 1024;
+  private static final int DEFAULT_MAX_PENDING_BLOCKS = 16;
+
+  private final ExecutorService executor;
+  private final boolean ordered;
+  private final int blockSize;
+  private final int maxPendingBlocks;
+
+  /**
+   * Receives the records of a JSON Lines input.
+   */
+  public interface RecordHandler {
+
+    /**
+     * Handles a single record. This method is called on the thread that called
+     * {@link JsonLinesReader#read(InputStream, RecordHandler) read()}.
+     *
+     * @param record
+     *          the parsed record
+     */
+    void handle(JsonValue record);
+
+  }
+
+  /**
+   * Creates a new JsonLinesReader that parses on the given executor and delivers all records in
+   * their original order.
+   *
+   * @param executor
+   *          the executor to run the parser tasks
+   */
+  public JsonLinesReader(ExecutorService executor) {
+    this(executor, true, DEFAULT_BLOCK_SIZE, DEFAULT_MAX_PENDING_BLOCKS);
+  }
+
+  /**
+   * Creates a new JsonLinesReader with the given settings.
+   *
+   * @param executor
+   *          the executor to run the parser tasks
+   * @param ordered
+   *          <code>true</code> to deliver records in their original order, <code>false</code> to
+   *          deliver the records of each block as soon as the block is parsed
+   * @param blockSize
+   *          the number of bytes to read per block, blocks are extended if a single line does not
+   *          fit
+   * @param maxPendingBlocks
+   *          the maximum number of blocks that are read ahead of the delivered records
+   */
+  public JsonLinesReader(ExecutorService executor,
+                         boolean ordered,
+                         int blockSize,
+                         int maxPendingBlocks)
+  {
+    if (executor == null) {
+      throw new NullPointerException("executor is null");
+    }
+    if (blockSize <= 0) {
+      throw new IllegalArgumentException("blockSize is zero or negative");
+    }
+    if (maxPendingBlocks <= 0) {
+      throw new IllegalArgumentException("maxPendingBlocks is zero or negative");
+    }
+    this.executor = executor;
+    this.ordered = ordered;
+    this.blockSize = blockSize;
+    this.maxPendingBlocks = maxPendingBlocks;
+  }
+
+  /**
+   * Reads all records from the given UTF-8 encoded input stream and passes them to the given
+   * handler. The stream is not closed.
+   * <p>
+   * If a record is not valid JSON, a {@link ParseException} is thrown once all preceding blocks
+   * have been delivered. Its location refers to the line in the entire input, while the offset is
+   * relative to the beginning of the record. If records are not delivered in order, records that
+   * follow the invalid one may already have been delivered.
+   * </p>
+   *
+   * @param input
+   *          the stream to read from
+   * @param handler
+   *          the handler to receive the records
+   * @throws IOException
+   *           if an I/O error occurs in the stream
+   * @throws ParseException
+   *           if a record is not valid JSON
+   */
+  public void read(InputStream input, RecordHandler handler) throws IOException {
+    if (input == null) {
+      throw new NullPointerException("input is null");
+    }
+    if (handler == null) {
+      throw new NullPointerException("handler is null");
+    }
+    LinkedList<Future<Block>> pending = new LinkedList<Future<Block>>();
+    CompletionService<Block> completion = new ExecutorCompletionService<Block>(executor);
+    try {
+      byte[] bytes = new byte[blockSize];
+      int fill = 0;
+      long line = 1;
+      boolean end = false;
+      while (!end) {
+        int count = input.read(bytes, fill, bytes.length - fill);
+        if (count != -1) {
+          fill += count;
+          if (fill < bytes.length) {
+            continue;
+          }
+        } else {
+          end = true;
+        }
+        int split = end ? fill : lastIndexOf(bytes, '\n', fill) + 1;
+        if (split == 0) {
+          // a single line that exceeds the block size
+          byte[] newBytes = new byte[bytes.length * 2];
+          System.arraycopy(bytes, 0, newBytes, 0, fill);
+          bytes = newBytes;
+          continue;
+        }
+        if (pending.size() == maxPendingBlocks) {
+          deliver(take(pending, completion), handler);
+        }
+        Block block = new Block(bytes, split, line);
+        pending.add(ordered ? executor.submit(block) : completion.submit(block));
+        line += block.countLines();
+        byte[] newBytes = new byte[Math.max(blockSize, fill - split)];
+        System.arraycopy(bytes, split, newBytes, 0, fill - split);
+        bytes = newBytes;
+        fill -= split;
+      }
+      while (!pending.isEmpty()) {
+        deliver(take(pending, completion), handler);
+      }
+    } finally {
+      for (Future<Block> future : pending) {
+        future.cancel(false);
+      }
+    }
+  }
+
+  private Block take(LinkedList<Future<Block>> pending, CompletionService<Block> completion) {
+    try {
+      if (ordered) {
+        return pending.removeFirst().get();
+      }
+      Future<Block> future = completion.take();
+      pending.remove(future);
+      return future.get();
+    } catch (InterruptedException exception) {
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(exception);
+    } catch (ExecutionException exception) {
+      Throwable cause = exception.getCause();
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException)cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error)cause;
+      }
+      throw new RuntimeException(cause);
+    }
+  }
+
+  private static void deliver(Block block, RecordHandler handler) {
+    for (int i = 0; i < block.count; i++) {
+      handler.handle(block.values[i]);
+    }
+    if (block.error != null) {
+      throw block.error;
+    }
+  }
+
+  private static int lastIndexOf(byte[] bytes, char ch, int end) {
+    for (int i = end - 1; i >= 0; i--) {
+      if (bytes[i] == ch) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  private static class Block implements Callable<Block> {
+
+    private final byte[] bytes;
+    private final int length;
+    private final long firstLine;
+    JsonValue[] values = new JsonValue[16];
+    int count;
+    ParseException error;
+
+    Block(byte[] bytes, int length, long firstLine) {
+      this.bytes = bytes;
+      this.length = length;
+      this.firstLine = firstLine;
+    }
+
+    int countLines() {
+      int lines = 0;
+      for (int i = 0; i < length; i++) {
+        if (bytes[i] == '\n') {
+          lines++;
+        }
+      }
+      return lines;
+    }
+
+    public Block call() {
+      DefaultHandler handler = new DefaultHandler();
+      JsonParser parser = new JsonParser(handler);
+      long line = firstLine;
+      int start = 0;
+      while (start < length) {
+        int end = start;
+        while (end < length && bytes[end] != '\n') {
+          end++;
+        }
+        if (!isBlank(start, end)) {
+          try {
+            parser.parse(bytes, start, end - start);
+          } catch (ParseException exception) {
+            error = relocate(exception, line);
+            break;
+          }
+          add(handler.getValue());
+        }
+        start = end + 1;
+        line++;
+      }
+      return this;
+    }
+
+    private static ParseException relocate(ParseException exception, long line) {
+      Location location = exception.getLocation();
+      int lineNumber = (int)Math.min(line + location.line - 1, Integer.MAX_VALUE);
+      Location newLocation = new Location(location.offset, lineNumber, location.column);
+      return new ParseException(exception.getReason(), newLocation);
+    }
+
+    private boolean isBlank(int start, int end) {
+      for (int i = start; i < end; i++) {
+        byte b = bytes[i];
+        if (b != ' ' && b != '\t' && b != '\r') {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    private void add(JsonValue value) {
+      if (count == values.length) {
+        JsonValue[] newValues = new JsonValue[count * 2];
+        System.arraycopy(values, 0, newValues, 0, count);
+        values = newValues;
+      }
+      values[count++] = value;
+    }
+
+  }
+
+}
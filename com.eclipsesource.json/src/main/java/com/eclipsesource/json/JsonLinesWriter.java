@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.Writer;
+
+
+/**
+ * Writes JSON values as newline-delimited JSON (JSON Lines, NDJSON), i.e. each value in minimal
+ * form on a separate line.
+ * <p>
+ * Output is collected in a large buffer and passed to the underlying writer in batches, hence
+ * there is no need to wrap the writer in a BufferedWriter. Call {@link #flush()} or
+ * {@link #close()} when done. This class is not thread-safe.
+ * </p>
+ *
+ * @see JsonLinesReader
+ */
+public class JsonLinesWriter {
+
+  private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
+  private final Writer writer;
+  private final WritingBuffer buffer;
+  private final JsonWriter jsonWriter;
+
+  /**
+   * Creates a new JsonLinesWriter that writes to the given writer.
+   *
+   * @param writer
+   *          the writer to write to
+   */
+  public JsonLinesWriter(Writer writer) {
+    this(writer, DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Creates a new JsonLinesWriter that writes to the given writer, using a buffer of the given
+   * size.
+   *
+   * @param writer
+   *          the writer to write to
+   * @param bufferSize
+   *          the number of characters to collect before writing to the underlying writer
+   */
+  public JsonLinesWriter(Writer writer, int bufferSize) {
+    if (writer == null) {
+      throw new NullPointerException("writer is null");
+    }
+    if (bufferSize <= 0) {
+      throw new IllegalArgumentException("bufferSize is zero or negative");
+    }
+    this.writer = writer;
+    buffer = new WritingBuffer(writer, bufferSize);
+    jsonWriter = WriterConfig.MINIMAL.createWriter(buffer);
+  }
+
+  /**
+   * Writes the given value as a single line.
+   *
+   * @param value
+   *          the value to write
+   * @return the writer itself, to enable method chaining
+   * @throws IOException
+   *           if an I/O error occurs in the underlying writer
+   */
+  public JsonLinesWriter write(JsonValue value) throws IOException {
+    if (value == null) {
+      throw new NullPointerException("value is null");
+    }
+    value.write(jsonWriter);
+    buffer.write('\n');
+    return this;
+  }
+
+  /**
+   * Writes all the given values, each on a separate line.
+   *
+   * @param values
+   *          the values to write
+   * @return the writer itself, to enable method chaining
+   * @throws IOException
+   *           if an I/O error occurs in the underlying writer
+   */
+  public JsonLinesWriter writeAll(Iterable<? extends JsonValue> values) throws IOException {
+    if (values == null) {
+      throw new NullPointerException("values is null");
+    }
+    for (JsonValue value : values) {
+      write(value);
+    }
+    return this;
+  }
+
+  /**
+   * Writes all buffered output to the underlying writer and flushes it.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying writer
+   */
+  public void flush() throws IOException {
+    buffer.flush();
+    writer.flush();
+  }
+
+  /**
+   * Writes all buffered output to the underlying writer and closes it.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying writer
+   */
+  public void close() throws IOException {
+    buffer.flush();
+    writer.close();
+  }
+
+}
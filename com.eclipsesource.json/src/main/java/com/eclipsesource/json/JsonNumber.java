@@ -22,28 +22,57 @@
 package com.eclipsesource.json;
 
 import java.io.IOException;
+import java.io.ObjectOutputStream;
 
 
 @SuppressWarnings("serial") // use default serial UID
 class JsonNumber extends JsonValue {
 
-  private final String string;
+  // created lazily for values that refer to the parser input, which is kept so that a thread that
+  // does not see the string yet can always create it again
+  private String string;
+  private final transient char[] source;
+  private final transient int offset;
+  private final transient int length;
 
   JsonNumber(String string) {
     if (string == null) {
       throw new NullPointerException("string is null");
     }
     this.string = string;
+    source = null;
+    offset = 0;
+    length = 0;
+  }
+
+  /*
+   * Creates a number that refers to a range of the parser input. The string is only created when
+   * needed.
+   */
+  JsonNumber(char[] source, int offset, int length) {
+    this.source = source;
+    this.offset = offset;
+    this.length = length;
   }
 
   @Override
   public String toString() {
-    return string;
+    String result = string;
+    if (result == null) {
+      result = new String(source, offset, length);
+      string = result;
+    }
+    return result;
   }
 
   @Override
   void write(JsonWriter writer) throws IOException {
-    writer.writeNumber(string);
+    String result = string;
+    if (result == null) {
+      writer.writeNumber(source, offset, length);
+    } else {
+      writer.writeNumber(result);
+    }
   }
 
   @Override
@@ -53,27 +82,27 @@ class JsonNumber extends JsonValue {
 
   @Override
   public int asInt() {
-    return Integer.parseInt(string, 10);
+    return Integer.parseInt(toString(), 10);
   }
 
   @Override
   public long asLong() {
-    return Long.parseLong(string, 10);
+    return Long.parseLong(toString(), 10);
   }
 
   @Override
   public float asFloat() {
-    return Float.parseFloat(string);
+    return Float.parseFloat(toString());
   }
 
   @Override
   public double asDouble() {
-    return Double.parseDouble(string);
+    return Double.parseDouble(toString());
   }
 
   @Override
   public int hashCode() {
-    return string.hashCode();
+    return toString().hashCode();
   }
 
   @Override
@@ -88,7 +117,12 @@ class JsonNumber extends JsonValue {
       return false;
     }
     JsonNumber other = (JsonNumber)object;
-    return string.equals(other.string);
+    return toString().equals(other.toString());
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    toString();
+    out.defaultWriteObject();
   }
 
 }
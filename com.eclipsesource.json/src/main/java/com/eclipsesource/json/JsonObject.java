@@ -23,11 +23,15 @@ package com.eclipsesource.json;
 
 import java.io.IOException;
 import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
 import java.io.Reader;
+import java.io.Serializable;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
+import java.util.RandomAccess;
 
 import com.eclipsesource.json.JsonObject.Member;
 
@@ -72,9 +76,12 @@ import com.eclipsesource.json.JsonObject.Member;
 @SuppressWarnings("serial") // use default serial UID
 public class JsonObject extends JsonValue implements Iterable<Member> {
 
-  private final List<String> names;
+  // names and table are shared with the shape of a compact object and replaced on structural
+  // changes
+  private List<String> names;
   private final List<JsonValue> values;
   private transient HashIndexTable table;
+  private transient Shape shape;
 
   /**
    * Creates a new empty JsonObject.
@@ -82,9 +89,10 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
   public JsonObject() {
     names = new ArrayList<String>();
     values = new ArrayList<JsonValue>();
-    table = new HashIndexTable();
+    table = new HashIndexTable(names);
   }
 
+
   /**
    * Creates a new JsonObject, initialized with the contents of the specified JSON object.
    *
@@ -100,14 +108,27 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
       throw new NullPointerException("object is null");
     }
     if (unmodifiable) {
-      names = Collections.unmodifiableList(object.names);
       values = Collections.unmodifiableList(object.values);
+      if (object.shape == null && object.table != null) {
+        names = Collections.unmodifiableList(object.names);
+        // share the index so that the view reflects later modifications of the original object
+        table = object.table;
+      } else {
+        // the names and the index of a compact object are replaced on structural changes, hence
+        // the view reads them through the object, marked by the missing index
+        names = new LiveNames(object);
+      }
+    } else if (object.shape != null) {
+      shape = object.shape;
+      names = object.names;
+      table = object.table;
+      values = new ArrayList<JsonValue>(object.values);
     } else {
       names = new ArrayList<String>(object.names);
       values = new ArrayList<JsonValue>(object.values);
+      table = new HashIndexTable(names);
+      updateHashIndex();
     }
-    table = new HashIndexTable();
-    updateHashIndex();
   }
 
   /**
@@ -331,8 +352,9 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
     if (value == null) {
       throw new NullPointerException("value is null");
     }
-    table.add(name, names.size());
+    unshare();
     names.add(name);
+    table.add(name, names.size() - 1);
     values.add(value);
     return this;
   }
@@ -496,8 +518,9 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
     if (index != -1) {
       values.set(index, value);
     } else {
-      table.add(name, names.size());
+      unshare();
       names.add(name);
+      table.add(name, names.size() - 1);
       values.add(value);
     }
     return this;
@@ -518,9 +541,10 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
     }
     int index = indexOf(name);
     if (index != -1) {
-      table.remove(index);
+      unshare();
       names.remove(index);
       values.remove(index);
+      table.remove(name, index);
     }
     return this;
   }
@@ -535,7 +559,7 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
    * @return whether or not the member is present
    */
   public boolean contains(String name) {
-    return names.contains(name);
+    return indexOf(name) != -1;
   }
 
   /**
@@ -713,6 +737,10 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
    * @return a list of the names in this object
    */
   public List<String> names() {
+    if (shape != null) {
+      // the list of a compact object is replaced on structural changes, hence read it through
+      return new LiveNames(this);
+    }
     return Collections.unmodifiableList(names);
   }
 
@@ -797,19 +825,90 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
   }
 
   int indexOf(String name) {
-    int index = table.get(name);
-    if (index != -1 && name.equals(names.get(index))) {
-      return index;
+    if (table == null) {
+      return ((LiveNames)names).object.indexOf(name);
+    }
+    return table.get(name);
+  }
+
+  /*
+   * Returns the shape of this object, or null if it does not share its names.
+   */
+  Shape getShape() {
+    return shape;
+  }
+
+  /*
+   * Creates an empty compact object with the given root shape. Members must be added with
+   * addMember() to keep the object compact.
+   */
+  static JsonObject compact(Shape root) {
+    return new JsonObject(root);
+  }
+
+  private JsonObject(Shape root) {
+    shape = root;
+    names = root.getNames();
+    table = root.getTable();
+    values = new ArrayList<JsonValue>();
+  }
+
+  /*
+   * Appends a member while parsing. As long as the object is compact, it only moves on to the next
+   * shape, hence endMembers() must be called after the last member. Otherwise, the member is added
+   * like in add().
+   */
+  void addMember(String name, JsonValue value) {
+    if (shape != null) {
+      Shape next = shape.extend(name);
+      if (next != null) {
+        shape = next;
+        values.add(value);
+        return;
+      }
+      endMembers();
     }
-    return names.lastIndexOf(name);
+    add(name, value);
+  }
+
+  /*
+   * Takes the names and the index from the current shape once all members have been added.
+   */
+  void endMembers() {
+    if (shape != null) {
+      names = shape.getNames();
+      table = shape.getTable();
+    }
+  }
+
+  /*
+   * Switches a compact object to a mutable layout with names and an index of its own.
+   */
+  private void unshare() {
+    if (shape != null) {
+      shape = null;
+      names = new ArrayList<String>(names);
+      table = new HashIndexTable(names);
+      updateHashIndex();
+    }
+  }
+
+  private void writeObject(ObjectOutputStream outputStream) throws IOException {
+    ObjectOutputStream.PutField fields = outputStream.putFields();
+    // the names of a compact object belong to its shape, which is not serialized
+    fields.put("names", shape != null ? new ArrayList<String>(names) : names);
+    fields.put("values", values);
+    outputStream.writeFields();
   }
 
   private synchronized void readObject(ObjectInputStream inputStream)
       throws IOException, ClassNotFoundException
   {
     inputStream.defaultReadObject();
-    table = new HashIndexTable();
-    updateHashIndex();
+    if (!(names instanceof LiveNames)) {
+      table = new HashIndexTable(names);
+      updateHashIndex();
+    }
   }
 
   private void updateHashIndex() {
@@ -819,6 +918,32 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
     }
   }
 
+  /*
+   * The names of an object, read through the object each time.
+   */
+  @SuppressWarnings("serial") // use default serial UID
+  private static class LiveNames extends AbstractList<String>
+      implements RandomAccess, Serializable
+  {
+
+    final JsonObject object;
+
+    LiveNames(JsonObject object) {
+      this.object = object;
+    }
+
+    @Override
+    public String get(int index) {
+      return object.names.get(index);
+    }
+
+    @Override
+    public int size() {
+      return object.names.size();
+    }
+
+  }
+
   /**
    * Represents a member of a JSON object, a pair of a name and a value.
    */
@@ -888,45 +1013,140 @@ public class JsonObject extends JsonValue implements Iterable<Member> {
 
   }
 
+  /*
+   * An index from member names to the position of their last occurrence. The index uses open
+   * addressing with linear probing over an int array that holds pairs of a hash code and a
+   * position. Positions are stored incremented by one, so that zero marks an empty slot. The table
+   * grows with the object and removes entries without leaving tombstones. Names are compared
+   * against the names list of the object, which must reflect all additions and removals in the
+   * same order.
+   */
   static class HashIndexTable {
 
-    private final byte[] hashTable = new byte[32]; // must be a power of two
+    private static final int MIN_CAPACITY = 8; // must be a power of two
 
-    HashIndexTable() {
-    }
+    private final List<String> names;
+    private int[] slots;
+    private int size;
+    private boolean duplicates;
 
-    HashIndexTable(HashIndexTable original) {
-      System.arraycopy(original.hashTable, 0, hashTable, 0, hashTable.length);
+    HashIndexTable(List<String> names) {
+      this.names = names;
     }
 
+    /*
+     * Maps the given name to the given position. Must be called with the position of a name that
+     * is added to the end of the names list, or with its last position in the list.
+     */
     void add(String name, int index) {
-      int slot = hashSlotFor(name);
-      if (index < 0xff) {
-        // increment by 1, 0 stands for empty
-        hashTable[slot] = (byte)(index + 1);
-      } else {
-        hashTable[slot] = 0;
+      if (slots == null) {
+        slots = new int[MIN_CAPACITY * 2];
+      } else if ((size + 1) * 4 > slots.length) {
+        // keep the load factor at or below one half
+        grow();
+      }
+      int hash = name.hashCode();
+      int mask = (slots.length >> 1) - 1;
+      int slot = mix(hash) & mask;
+      while (slots[2 * slot + 1] != 0) {
+        if (slots[2 * slot] == hash && name.equals(names.get(slots[2 * slot + 1] - 1))) {
+          // last duplicate wins
+          slots[2 * slot + 1] = index + 1;
+          duplicates = true;
+          return;
+        }
+        slot = slot + 1 & mask;
       }
+      slots[2 * slot] = hash;
+      slots[2 * slot + 1] = index + 1;
+      size++;
     }
 
-    void remove(int index) {
-      for (int i = 0; i < hashTable.length; i++) {
-        if ((hashTable[i] & 0xff) == index + 1) {
-          hashTable[i] = 0;
-        } else if ((hashTable[i] & 0xff) > index + 1) {
-          hashTable[i]--;
+    /*
+     * Removes the mapping for the given name at the given position and moves all subsequent
+     * positions down by one. Must be called after the name has been removed from the names list.
+     */
+    void remove(String name, int index) {
+      if (slots == null) {
+        return;
+      }
+      int mask = (slots.length >> 1) - 1;
+      int slot = mix(name.hashCode()) & mask;
+      while (slots[2 * slot + 1] != 0) {
+        if (slots[2 * slot + 1] == index + 1) {
+          deleteSlot(slot, mask);
+          break;
+        }
+        slot = slot + 1 & mask;
+      }
+      for (int i = 1; i < slots.length; i += 2) {
+        if (slots[i] > index + 1) {
+          slots[i]--;
+        }
+      }
+      if (duplicates) {
+        for (int i = index - 1; i >= 0; i--) {
+          if (name.equals(names.get(i))) {
+            add(name, i);
+            break;
+          }
         }
       }
     }
 
     int get(Object name) {
-      int slot = hashSlotFor(name);
-      // subtract 1, 0 stands for empty
-      return (hashTable[slot] & 0xff) - 1;
+      if (slots == null) {
+        return -1;
+      }
+      int hash = name.hashCode();
+      int mask = (slots.length >> 1) - 1;
+      int slot = mix(hash) & mask;
+      int entry;
+      while ((entry = slots[2 * slot + 1]) != 0) {
+        if (slots[2 * slot] == hash && name.equals(names.get(entry - 1))) {
+          return entry - 1;
+        }
+        slot = slot + 1 & mask;
+      }
+      return -1;
+    }
+
+    private void deleteSlot(int slot, int mask) {
+      // shift back subsequent entries of the cluster that would become unreachable
+      int gap = slot;
+      int next = slot + 1 & mask;
+      while (slots[2 * next + 1] != 0) {
+        int home = mix(slots[2 * next]) & mask;
+        if ((next - home & mask) >= (next - gap & mask)) {
+          slots[2 * gap] = slots[2 * next];
+          slots[2 * gap + 1] = slots[2 * next + 1];
+          gap = next;
+        }
+        next = next + 1 & mask;
+      }
+      slots[2 * gap] = 0;
+      slots[2 * gap + 1] = 0;
+      size--;
+    }
+
+    private void grow() {
+      int[] oldSlots = slots;
+      slots = new int[oldSlots.length * 2];
+      int mask = (slots.length >> 1) - 1;
+      for (int i = 0; i < oldSlots.length; i += 2) {
+        if (oldSlots[i + 1] != 0) {
+          int slot = mix(oldSlots[i]) & mask;
+          while (slots[2 * slot + 1] != 0) {
+            slot = slot + 1 & mask;
+          }
+          slots[2 * slot] = oldSlots[i];
+          slots[2 * slot + 1] = oldSlots[i + 1];
+        }
+      }
     }
 
-    private int hashSlotFor(Object element) {
-      return element.hashCode() & hashTable.length - 1;
+    private static int mix(int hash) {
+      return hash ^ hash >>> 16;
     }
 
   }
@@ -22,31 +22,57 @@
 package com.eclipsesource.json;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
-import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
 
 
 /**
  * A streaming parser for JSON text. The parser reports all events to a given handler.
+ * <p>
+ * A parser can be used for any number of subsequent inputs. Its internal buffers are kept and
+ * reused, hence reusing a parser avoids allocations for every input. A parser is not thread-safe,
+ * use a {@link ParserPool} to share parsers between threads.
+ * </p>
  */
 public class JsonParser {
 
-  private static final int MAX_NESTING_LEVEL = 1000;
+  static final int MAX_NESTING_LEVEL = 1000;
   private static final int MIN_BUFFER_SIZE = 10;
   private static final int DEFAULT_BUFFER_SIZE = 1024;
+  private static final int MAX_RETAINED_CAPTURE_SIZE = 64 * 1024;
+  static final double[] POWERS_OF_TEN = {1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9,
+                                                 1e10, 1e11, 1e12, 1e13, 1e14, 1e15, 1e16, 1e17,
+                                                 1e18, 1e19, 1e20, 1e21, 1e22};
 
   private final JsonHandler<Object, Object> handler;
+  private final KeyCache keyCache;
+  private final boolean stackTraces;
+  private final int stringChunkSize;
+  private boolean validating;
   private Reader reader;
   private char[] buffer;
-  private int bufferOffset;
+  private char[] readerBuffer;
+  private long bufferOffset;
   private int index;
   private int fill;
   private int line;
-  private int lineOffset;
-  private int current;
+  private long lineOffset;
+  int current;
   private StringBuilder captureBuffer;
+  private char[] sliceBuffer;
+  private char[] sliceChars;
+  private int sliceOffset;
+  private int sliceLength;
+  private boolean sliceEscaped;
   private int captureStart;
   private int nestingLevel;
+  long numberValue;
+  boolean numberIsLong;
+  double numberDouble;
+  boolean numberIsDouble;
+  boolean numberIsPlain;
 
   /*
    * |                      bufferOffset
@@ -64,13 +90,45 @@ public class JsonParser {
    * @param handler
    *          the handler to process parser events
    */
-  @SuppressWarnings("unchecked")
   public JsonParser(JsonHandler<?, ?> handler) {
+    this(handler, ParserConfig.DEFAULT);
+  }
+
+  /**
+   * Creates a new JsonParser with the given handler and configuration. The parser will report all
+   * parser events to this handler. Caches enabled in the configuration are kept for the lifetime of
+   * the parser, hence they also take effect when a parser is used for subsequent inputs.
+   *
+   * @param handler
+   *          the handler to process parser events
+   * @param config
+   *          the configuration to use
+   */
+  @SuppressWarnings("unchecked")
+  public JsonParser(JsonHandler<?, ?> handler, ParserConfig config) {
     if (handler == null) {
       throw new NullPointerException("handler is null");
     }
+    if (config == null) {
+      throw new NullPointerException("config is null");
+    }
     this.handler = (JsonHandler<Object, Object>)handler;
+    int keyCacheSize = config.getKeyCacheSize();
+    keyCache = keyCacheSize > 0 ? new KeyCache(keyCacheSize) : null;
+    stackTraces = config.getStackTraces();
+    stringChunkSize = config.getStringChunkSize();
     handler.parser = this;
+    handler.pushParser = null;
+  }
+
+  /*
+   * Creates a parser that only checks its input for well-formedness. Strings and numbers are
+   * scanned without being converted and no events are reported.
+   */
+  static JsonParser createValidator(ParserConfig config) {
+    JsonParser parser = new JsonParser(new JsonHandler<Object, Object>() {}, config);
+    parser.validating = true;
+    return parser;
   }
 
   /**
@@ -86,15 +144,191 @@ public class JsonParser {
     if (string == null) {
       throw new NullPointerException("string is null");
     }
-    int bufferSize = Math.max(MIN_BUFFER_SIZE, Math.min(DEFAULT_BUFFER_SIZE, string.length()));
+    char[] chars = string.toCharArray();
+    parse(chars, 0, chars.length);
+  }
+
+  /**
+   * Parses the given character sequence. The input must contain a valid JSON value, optionally
+   * padded with whitespace.
+   * <p>
+   * A {@link CharBuffer} that is backed by an accessible array is scanned in place, starting at its
+   * current position. The position of the buffer is not changed. Other character sequences are
+   * copied once before parsing.
+   * </p>
+   *
+   * @param chars
+   *          the input characters, must be valid JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void parse(CharSequence chars) {
+    if (chars == null) {
+      throw new NullPointerException("chars is null");
+    }
+    if (chars instanceof CharBuffer && ((CharBuffer)chars).hasArray()) {
+      CharBuffer charBuffer = (CharBuffer)chars;
+      int offset = charBuffer.arrayOffset() + charBuffer.position();
+      parse(charBuffer.array(), offset, charBuffer.remaining());
+    } else {
+      parse(chars.toString());
+    }
+  }
+
+  /**
+   * Parses the given character array. The input must contain a valid JSON value, optionally padded
+   * with whitespace.
+   * <p>
+   * The array is scanned in place, it is not copied. Hence, it must not be modified while parsing.
+   * </p>
+   *
+   * @param chars
+   *          the input characters, must be valid JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void parse(char[] chars) {
+    if (chars == null) {
+      throw new NullPointerException("chars is null");
+    }
+    parse(chars, 0, chars.length);
+  }
+
+  /**
+   * Parses the given range of a character array. The input must contain a valid JSON value,
+   * optionally padded with whitespace.
+   * <p>
+   * The array is scanned in place, it is not copied. Hence, it must not be modified while parsing.
+   * Locations reported by the parser are relative to the given offset.
+   * </p>
+   *
+   * @param chars
+   *          the array that contains the input characters
+   * @param offset
+   *          the index of the first character to parse
+   * @param length
+   *          the number of characters to parse
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void parse(char[] chars, int offset, int length) {
+    if (chars == null) {
+      throw new NullPointerException("chars is null");
+    }
+    if (offset < 0 || length < 0 || offset > chars.length - length) {
+      throw new IndexOutOfBoundsException("range out of bounds");
+    }
+    init(chars, offset, length);
     try {
-      parse(new StringReader(string), bufferSize);
+      parse();
     } catch (IOException exception) {
-      // StringReader does not throw IOException
+      // no reader involved, input is read from the array only
       throw new RuntimeException(exception);
     }
   }
 
+  /**
+   * Parses the given UTF-8 encoded bytes. The input must contain a valid JSON value, optionally
+   * padded with whitespace.
+   * <p>
+   * The bytes are decoded directly into the input buffer of the parser. This is considerably faster
+   * than decoding the input into a string or using an <code>InputStreamReader</code> first.
+   * Malformed UTF-8 sequences are replaced with the Unicode replacement character U+FFFD.
+   * Locations in parse errors refer to characters, not to bytes.
+   * </p>
+   *
+   * @param bytes
+   *          the UTF-8 encoded input, must be valid JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void parse(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    parse(bytes, 0, bytes.length);
+  }
+
+  /**
+   * Parses a range of the given UTF-8 encoded bytes. The input must contain a valid JSON value,
+   * optionally padded with whitespace. Locations in parse errors are relative to the beginning of
+   * the range and refer to characters, not to bytes.
+   *
+   * @param bytes
+   *          the array that contains the UTF-8 encoded input
+   * @param offset
+   *          the index of the first byte to parse
+   * @param length
+   *          the number of bytes to parse
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void parse(byte[] bytes, int offset, int length) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    if (offset < 0 || length < 0 || offset > bytes.length - length) {
+      throw new IndexOutOfBoundsException("range out of bounds");
+    }
+    int bufferSize = Math.max(MIN_BUFFER_SIZE, Math.min(DEFAULT_BUFFER_SIZE, length));
+    try {
+      parse(new Utf8Reader(bytes, offset, length), bufferSize);
+    } catch (IOException exception) {
+      // Utf8Reader does not throw IOException when reading from a byte array
+      throw new RuntimeException(exception);
+    }
+  }
+
+  /**
+   * Reads the entire input from the given stream and parses it as UTF-8 encoded JSON. The input
+   * must contain a valid JSON value, optionally padded with whitespace.
+   * <p>
+   * Bytes are read in chunks and decoded directly into the input buffer of the parser. Hence,
+   * neither wrapping the stream in a <code>BufferedInputStream</code> nor in an
+   * <code>InputStreamReader</code> is required. Malformed UTF-8 sequences are replaced with the
+   * Unicode replacement character U+FFFD. The given stream is not closed.
+   * </p>
+   *
+   * @param input
+   *          the stream to read the input from
+   * @throws IOException
+   *           if an I/O error occurs in the stream
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void parse(InputStream input) throws IOException {
+    if (input == null) {
+      throw new NullPointerException("input is null");
+    }
+    parse(new Utf8Reader(input, DEFAULT_BUFFER_SIZE), DEFAULT_BUFFER_SIZE);
+  }
+
+  /**
+   * Reads the given file channel from its current position to the end and parses the contents as
+   * UTF-8 encoded JSON. The input must contain a valid JSON value, optionally padded with
+   * whitespace.
+   * <p>
+   * The file is mapped into memory in windows of limited size that are decoded directly into the
+   * input buffer of the parser. This avoids copying the file contents through an intermediate
+   * stream and allows to parse files that exceed 2 GB. The position of the channel is not changed
+   * and the channel is not closed.
+   * </p>
+   *
+   * @param channel
+   *          the file channel to read the input from
+   * @throws IOException
+   *           if an I/O error occurs while mapping the file
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void parse(FileChannel channel) throws IOException {
+    if (channel == null) {
+      throw new NullPointerException("channel is null");
+    }
+    InputStream input = new MappedInputStream(channel, MappedInputStream.DEFAULT_WINDOW_SIZE);
+    parse(new Utf8Reader(input, DEFAULT_BUFFER_SIZE), DEFAULT_BUFFER_SIZE);
+  }
+
   /**
    * Reads the entire input from the given reader and parses it as JSON. The input must contain a
    * valid JSON value, optionally padded with whitespace.
@@ -138,16 +372,70 @@ public class JsonParser {
     if (buffersize <= 0) {
       throw new IllegalArgumentException("buffersize is zero or negative");
     }
+    init(reader, buffersize);
+    parse();
+  }
+
+  /**
+   * Releases all references to the last input, so that the parser can be kept for reuse. The
+   * internal buffers are retained and reused by subsequent calls to <code>parse</code>, except for
+   * unusually large ones. Calling this method is not required to parse another input, every
+   * <code>parse</code> method starts from a clean state.
+   */
+  public void reset() {
+    reader = null;
+    buffer = null;
+    bufferOffset = 0;
+    index = 0;
+    fill = 0;
+    captureStart = -1;
+    nestingLevel = 0;
+    if (captureBuffer != null) {
+      if (captureBuffer.capacity() > MAX_RETAINED_CAPTURE_SIZE) {
+        captureBuffer = null;
+      } else {
+        captureBuffer.setLength(0);
+      }
+    }
+    sliceChars = null;
+    if (sliceBuffer != null && sliceBuffer.length > MAX_RETAINED_CAPTURE_SIZE) {
+      sliceBuffer = null;
+    }
+  }
+
+  void init(char[] chars, int offset, int length) {
+    reader = null;
+    buffer = chars;
+    bufferOffset = -offset;
+    index = offset;
+    fill = offset + length;
+  }
+
+  void init(Reader reader, int buffersize) {
     this.reader = reader;
-    buffer = new char[buffersize];
+    if (readerBuffer == null || readerBuffer.length < buffersize) {
+      readerBuffer = new char[buffersize];
+    }
+    buffer = readerBuffer;
     bufferOffset = 0;
     index = 0;
     fill = 0;
+  }
+
+  void start() throws IOException {
     line = 1;
     lineOffset = 0;
     current = 0;
     captureStart = -1;
+    if (captureBuffer != null) {
+      captureBuffer.setLength(0);
+    }
+    nestingLevel = 0;
     read();
+  }
+
+  private void parse() throws IOException {
+    start();
     skipWhiteSpace();
     readValue();
     skipWhiteSpace();
@@ -235,16 +523,19 @@ public class JsonParser {
     do {
       skipWhiteSpace();
       handler.startObjectName(object);
-      String name = readName();
-      handler.endObjectName(object, name);
+      String name = readName(object);
       skipWhiteSpace();
       if (!readChar(':')) {
         throw expected("':'");
       }
       skipWhiteSpace();
-      handler.startObjectValue(object, name);
-      readValue();
-      handler.endObjectValue(object, name);
+      if (handler.skipObjectValue(object, name)) {
+        skipValue();
+      } else {
+        handler.startObjectValue(object, name);
+        readValue();
+        handler.endObjectValue(object, name);
+      }
       skipWhiteSpace();
     } while (readChar(','));
     if (!readChar('}')) {
@@ -254,14 +545,57 @@ public class JsonParser {
     handler.endObject(object);
   }
 
-  private String readName() throws IOException {
+  /*
+   * Skips a value by balancing brackets and quotes. Scalars are consumed up to the next delimiter.
+   */
+  private void skipValue() throws IOException {
+    if (current != '"' && current != '[' && current != '{') {
+      if (current != 'n' && current != 't' && current != 'f' && current != '-' && !isDigit()) {
+        throw expected("value");
+      }
+      while (!isEndOfText() && !isWhiteSpace() && current != ',' && current != ']'
+          && current != '}') {
+        read();
+      }
+      return;
+    }
+    int level = 0;
+    do {
+      if (current == '"') {
+        readCountingLines();
+        while (current != '"') {
+          if (current == '\\') {
+            readCountingLines();
+          }
+          if (isEndOfText()) {
+            throw error("Unexpected end of input");
+          }
+          readCountingLines();
+        }
+      } else if (current == '[' || current == '{') {
+        level++;
+      } else if (current == ']' || current == '}') {
+        level--;
+      } else if (isEndOfText()) {
+        throw error("Unexpected end of input");
+      }
+      readCountingLines();
+    } while (level > 0);
+  }
+
+  private String readName(Object object) throws IOException {
     if (current != '"') {
       throw expected("name");
     }
-    return readStringInternal();
+    if (validating) {
+      skipStringInternal();
+      return null;
+    }
+    readStringSlice(0);
+    return handler.endObjectName(object, sliceChars, sliceOffset, sliceLength, sliceEscaped);
   }
 
-  private void readNull() throws IOException {
+  void readNull() throws IOException {
     handler.startNull();
     read();
     readRequiredChar('u');
@@ -270,7 +604,7 @@ public class JsonParser {
     handler.endNull();
   }
 
-  private void readTrue() throws IOException {
+  void readTrue() throws IOException {
     handler.startBoolean();
     read();
     readRequiredChar('r');
@@ -279,7 +613,7 @@ public class JsonParser {
     handler.endBoolean(true);
   }
 
-  private void readFalse() throws IOException {
+  void readFalse() throws IOException {
     handler.startBoolean();
     read();
     readRequiredChar('a');
@@ -296,22 +630,30 @@ public class JsonParser {
   }
 
   private void readString() throws IOException {
+    if (validating) {
+      skipStringInternal();
+      return;
+    }
     handler.startString();
-    handler.endString(readStringInternal());
+    if (readStringSlice(stringChunkSize)) {
+      handler.endStringChunks();
+    } else {
+      handler.endString(sliceChars, sliceOffset, sliceLength, sliceEscaped);
+    }
   }
 
-  private String readStringInternal() throws IOException {
+  String readStringInternal() throws IOException {
     read();
     startCapture();
     while (current != '"') {
       if (current == '\\') {
         pauseCapture();
-        readEscape();
+        captureBuffer.append(readEscape());
         startCapture();
       } else if (current < 0x20) {
         throw expected("valid string character");
       } else {
-        read();
+        skipStringChars();
       }
     }
     String string = endCapture();
@@ -319,91 +661,294 @@ public class JsonParser {
     return string;
   }
 
-  private void readEscape() throws IOException {
+  /*
+   * Reads a string like readStringInternal() but leaves the result in the slice fields instead of
+   * creating a string. The slice refers to the input buffer unless the string contained escapes or
+   * spanned a buffer refill, in which case it refers to the slice buffer. If chunkSize is positive
+   * and the string turns out to be longer, its characters are reported to the handler in chunks
+   * instead and true is returned.
+   */
+  private boolean readStringSlice(int chunkSize) throws IOException {
+    read();
+    startCapture();
+    boolean escaped = false;
+    boolean chunked = false;
+    while (current != '"') {
+      if (current == '\\') {
+        pauseCapture();
+        captureBuffer.append(readEscape());
+        startCapture();
+        escaped = true;
+      } else if (current < 0x20) {
+        throw expected("valid string character");
+      } else {
+        skipStringChars();
+      }
+      if (chunkSize > 0 && captureBuffer.length() + index - 1 - captureStart > chunkSize) {
+        if (!chunked) {
+          handler.startStringChunks();
+          chunked = true;
+        }
+        writeChunks(chunkSize);
+      }
+    }
+    if (chunked) {
+      writeChunks(chunkSize);
+      captureStart = -1;
+      read();
+      return true;
+    }
+    int start = captureStart;
+    int end = index - 1;
+    captureStart = -1;
+    if (captureBuffer.length() > 0 || reader != null && index == fill) {
+      // the buffer is about to be refilled by the next read
+      captureBuffer.append(buffer, start, end - start);
+      sliceChars = copyCaptureBuffer();
+      sliceOffset = 0;
+      sliceLength = captureBuffer.length();
+      captureBuffer.setLength(0);
+    } else {
+      sliceChars = buffer;
+      sliceOffset = start;
+      sliceLength = end - start;
+    }
+    sliceEscaped = escaped;
     read();
+    return false;
+  }
+
+  /*
+   * Reports the characters captured so far to the handler in chunks of at most chunkSize and
+   * restarts the capture at the current character.
+   */
+  private void writeChunks(int chunkSize) {
+    int end = index - 1;
+    char[] chars;
+    int offset;
+    int length;
+    if (captureBuffer.length() > 0) {
+      captureBuffer.append(buffer, captureStart, end - captureStart);
+      chars = copyCaptureBuffer();
+      offset = 0;
+      length = captureBuffer.length();
+      captureBuffer.setLength(0);
+    } else {
+      chars = buffer;
+      offset = captureStart;
+      length = end - captureStart;
+    }
+    while (length > 0) {
+      int chunkLength = Math.min(length, chunkSize);
+      handler.stringChunk(chars, offset, chunkLength);
+      offset += chunkLength;
+      length -= chunkLength;
+    }
+    captureStart = end;
+  }
+
+  private char[] copyCaptureBuffer() {
+    int length = captureBuffer.length();
+    if (sliceBuffer == null || sliceBuffer.length < length) {
+      sliceBuffer = new char[Math.max(length, 64)];
+    }
+    captureBuffer.getChars(0, length, sliceBuffer, 0);
+    return sliceBuffer;
+  }
+
+  String createName(char[] chars, int offset, int length) {
+    if (keyCache != null) {
+      return keyCache.get(chars, offset, length);
+    }
+    return new String(chars, offset, length);
+  }
+
+  void skipStringInternal() throws IOException {
+    read();
+    while (current != '"') {
+      if (current == '\\') {
+        readEscape();
+      } else if (current < 0x20) {
+        throw expected("valid string character");
+      } else {
+        skipStringChars();
+      }
+    }
+    read();
+  }
+
+  /*
+   * Skips the current plain string character and all plain characters that follow in the buffer
+   * in a tight loop, without going through read() for every single character. Stops at the next
+   * quote, backslash, or control character. Since line breaks are control characters, there are no
+   * lines to count.
+   */
+  private void skipStringChars() throws IOException {
+    char[] buffer = this.buffer;
+    int end = fill;
+    int i = index;
+    char ch;
+    while (i < end && (ch = buffer[i]) != '"' && ch != '\\' && ch >= 0x20) {
+      i++;
+    }
+    index = i;
+    read();
+  }
+
+  private char readEscape() throws IOException {
+    read();
+    char ch;
     switch (current) {
       case '"':
       case '/':
       case '\\':
-        captureBuffer.append((char)current);
+        ch = (char)current;
         break;
       case 'b':
-        captureBuffer.append('\b');
+        ch = '\b';
         break;
       case 'f':
-        captureBuffer.append('\f');
+        ch = '\f';
         break;
       case 'n':
-        captureBuffer.append('\n');
+        ch = '\n';
         break;
       case 'r':
-        captureBuffer.append('\r');
+        ch = '\r';
         break;
       case 't':
-        captureBuffer.append('\t');
+        ch = '\t';
         break;
       case 'u':
-        char[] hexChars = new char[4];
+        int value = 0;
         for (int i = 0; i < 4; i++) {
           read();
           if (!isHexDigit()) {
             throw expected("hexadecimal digit");
           }
-          hexChars[i] = (char)current;
+          value = value << 4 | Character.digit(current, 16);
         }
-        captureBuffer.append((char)Integer.parseInt(new String(hexChars), 16));
+        ch = (char)value;
         break;
       default:
         throw expected("valid escape sequence");
     }
     read();
+    return ch;
   }
 
   private void readNumber() throws IOException {
+    if (validating) {
+      scanNumber();
+      return;
+    }
     handler.startNumber();
     startCapture();
-    readChar('-');
+    scanNumber();
+    if (numberIsLong) {
+      handler.endNumber(numberValue);
+    } else if (numberIsDouble) {
+      handler.endNumber(numberDouble);
+    } else {
+      handler.endNumber(endCapture());
+    }
+    if (captureStart != -1) {
+      discardCapture();
+    }
+  }
+
+  /*
+   * Returns the text of the number that is currently being reported to the handler.
+   */
+  String getNumberText() {
+    return endCapture();
+  }
+
+  /*
+   * Scans a number without capturing it. The significant digits are accumulated on the fly. An
+   * integer of up to 18 digits always fits into a long, in this case numberIsLong is set and
+   * numberValue holds the value. Otherwise, if the significand has at most 15 digits and the
+   * decimal exponent is within [-22, 22], both are exactly representable as double and a single
+   * multiplication or division yields the correctly rounded value. In this case, numberIsDouble is
+   * set and numberDouble holds the value. If the number is moreover written exactly as
+   * JsonWriter.writeNumber(double) would write this value, numberIsPlain is set.
+   */
+  void scanNumber() throws IOException {
+    boolean negative = readChar('-');
     int firstDigit = current;
     if (!readDigit()) {
       throw expected("digit");
     }
+    long value = firstDigit - '0';
+    int digits = 1;
     if (firstDigit != '0') {
-      while (readDigit()) {
+      while (isDigit()) {
+        value = value * 10 + current - '0';
+        digits++;
+        read();
       }
     }
-    readFraction();
-    readExponent();
-    handler.endNumber(endCapture());
-  }
-
-  private boolean readFraction() throws IOException {
-    if (!readChar('.')) {
-      return false;
+    int scale = 0;
+    if (readChar('.')) {
+      if (!isDigit()) {
+        throw expected("digit");
+      }
+      do {
+        value = value * 10 + current - '0';
+        digits++;
+        scale++;
+        read();
+      } while (isDigit());
     }
-    if (!readDigit()) {
-      throw expected("digit");
+    boolean hasExponent = false;
+    int exponent = 0;
+    if (readChar('e') || readChar('E')) {
+      hasExponent = true;
+      boolean negativeExponent = false;
+      if (!readChar('+')) {
+        negativeExponent = readChar('-');
+      }
+      if (!isDigit()) {
+        throw expected("digit");
+      }
+      do {
+        if (exponent < 10000) {
+          exponent = exponent * 10 + current - '0';
+        }
+        read();
+      } while (isDigit());
+      if (negativeExponent) {
+        exponent = -exponent;
+      }
     }
-    while (readDigit()) {
+    numberValue = negative ? -value : value;
+    numberIsLong = scale == 0 && !hasExponent && digits <= 18 && !(negative && value == 0);
+    numberIsDouble = !numberIsLong && isExactDouble(digits, exponent - scale);
+    if (numberIsDouble) {
+      double result = toDouble(value, exponent - scale);
+      numberDouble = negative ? -result : result;
     }
-    return true;
+    // no other decimal of at most 15 digits maps to the same double, hence the shortest text of
+    // the value is the input itself unless it has an exponent or trailing zeros
+    numberIsPlain = numberIsDouble
+                    && !hasExponent
+                    && scale > 0
+                    && value % 10 != 0
+                    && JsonWriter.isPlainRange(numberDouble);
   }
 
-  private boolean readExponent() throws IOException {
-    if (!readChar('e') && !readChar('E')) {
-      return false;
-    }
-    if (!readChar('+')) {
-      readChar('-');
-    }
-    if (!readDigit()) {
-      throw expected("digit");
-    }
-    while (readDigit()) {
+  static boolean isExactDouble(int digits, int exponent10) {
+    return digits <= 15 && exponent10 >= -22 && exponent10 <= 22;
+  }
+
+  static double toDouble(long significand, int exponent10) {
+    if (exponent10 < 0) {
+      return significand / POWERS_OF_TEN[-exponent10];
     }
-    return true;
+    return significand * POWERS_OF_TEN[exponent10];
   }
 
-  private boolean readChar(char ch) throws IOException {
+  boolean readChar(char ch) throws IOException {
     if (current != ch) {
       return false;
     }
@@ -419,14 +964,49 @@ public class JsonParser {
     return true;
   }
 
-  private void skipWhiteSpace() throws IOException {
+  void skipWhiteSpace() throws IOException {
     while (isWhiteSpace()) {
+      if (current == '\n') {
+        line++;
+        lineOffset = bufferOffset + index;
+      }
+      // skip the whitespace that follows in the buffer in a tight loop, e.g. indentation
+      char[] buffer = this.buffer;
+      int end = fill;
+      int i = index;
+      char ch;
+      while (i < end && ((ch = buffer[i]) == ' ' || ch == '\t' || ch == '\r' || ch == '\n')) {
+        i++;
+        if (ch == '\n') {
+          line++;
+          lineOffset = bufferOffset + i;
+        }
+      }
+      index = i;
       read();
     }
   }
 
-  private void read() throws IOException {
+  /*
+   * Line breaks are only valid in whitespace, hence lines are counted only where whitespace can be
+   * consumed. This keeps the bookkeeping out of read(), which is called for every character.
+   */
+  private void readCountingLines() throws IOException {
+    if (current == '\n') {
+      line++;
+      lineOffset = bufferOffset + index;
+    }
+    read();
+  }
+
+  void read() throws IOException {
     if (index == fill) {
+      if (reader == null) {
+        // in-memory input, the buffer holds the entire input and remains in place
+        current = -1;
+        index++;
+        return;
+      }
       if (captureStart != -1) {
         captureBuffer.append(buffer, captureStart, fill - captureStart);
         captureStart = 0;
@@ -440,14 +1020,10 @@ public class JsonParser {
         return;
       }
     }
-    if (current == '\n') {
-      line++;
-      lineOffset = bufferOffset + index;
-    }
     current = buffer[index++];
   }
 
-  private void startCapture() {
+  void startCapture() {
     if (captureBuffer == null) {
       captureBuffer = new StringBuilder();
     }
@@ -460,7 +1036,7 @@ public class JsonParser {
     captureStart = -1;
   }
 
-  private String endCapture() {
+  String endCapture() {
     int start = captureStart;
     int end = index - 1;
     captureStart = -1;
@@ -473,21 +1049,46 @@ public class JsonParser {
     return new String(buffer, start, end - start);
   }
 
+  void discardCapture() {
+    captureStart = -1;
+    captureBuffer.setLength(0);
+  }
+
+  /*
+   * Returns the input array if the entire input is held in memory and thus remains in place while
+   * parsing, otherwise null.
+   */
+  char[] getInput() {
+    return reader == null ? buffer : null;
+  }
+
+  /*
+   * Return the range of the current number in the buffer, valid in the endNumber() callbacks for
+   * primitive values.
+   */
+  int getNumberStart() {
+    return captureStart;
+  }
+
+  int getNumberEnd() {
+    return index - 1;
+  }
+
   Location getLocation() {
-    int offset = bufferOffset + index - 1;
-    int column = offset - lineOffset + 1;
-    return new Location(offset, line, column);
+    long offset = bufferOffset + index - 1;
+    int column = (int)(offset - lineOffset + 1);
+    return new Location((int)Math.min(offset, Integer.MAX_VALUE), line, column);
   }
 
-  private ParseException expected(String expected) {
+  ParseException expected(String expected) {
     if (isEndOfText()) {
       return error("Unexpected end of input");
     }
     return error("Expected " + expected);
   }
 
-  private ParseException error(String message) {
-    return new ParseException(message, getLocation());
+  ParseException error(String message) {
+    return new ParseException(message, getLocation(), stackTraces);
   }
 
   private boolean isWhiteSpace() {
@@ -504,7 +1105,7 @@ public class JsonParser {
         || current >= 'A' && current <= 'F';
   }
 
-  private boolean isEndOfText() {
+  boolean isEndOfText() {
     return current == -1;
   }
 
@@ -0,0 +1,853 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.nio.ByteBuffer;
+
+
+/**
+ * A non-blocking parser for JSON text that is pushed to the parser in chunks. Like the
+ * {@link JsonParser}, this parser reports all events to a given handler, and it reports the very
+ * same sequence of events with the same locations. However, this parser does not pull the input
+ * from a reader. Instead, input is handed over using the <code>feed()</code> methods whenever it
+ * becomes available, e.g. as it arrives from the network. Events are reported as soon as the
+ * corresponding input has been fed. The end of the input must be indicated by calling
+ * {@link #endOfInput()}.
+ * <p>
+ * The parser keeps its state on an explicit stack, it does not block and it does not recurse. A
+ * chunk can end anywhere in the input, even within a string, a number, or a multi-byte UTF-8
+ * sequence.
+ * </p>
+ * <pre>
+ * JsonPushParser parser = new JsonPushParser(handler);
+ * while (channel.read(buffer) != -1) {
+ *   buffer.flip();
+ *   parser.feed(buffer);
+ *   buffer.clear();
+ * }
+ * parser.endOfInput();
+ * </pre>
+ * <p>
+ * When the end of the input has been reached or when a {@link ParseException} has been thrown, the
+ * parser is reset and can be used to parse another input.
+ * </p>
+ * <p>
+ * This class is <strong>not thread-safe</strong>.
+ * </p>
+ *
+ * @see JsonParser
+ */
+public class JsonPushParser {
+
+  // syntactic states, expecting ...
+  private static final int VALUE = 0; // a value
+  private static final int ARRAY_FIRST = 1; // the first element or the end of an array
+  private static final int ARRAY_VALUE = 2; // an array element after ','
+  private static final int ARRAY_NEXT = 3; // ',' or the end of an array
+  private static final int OBJECT_FIRST = 4; // the first name or the end of an object
+  private static final int OBJECT_NAME = 5; // a member name after ','
+  private static final int OBJECT_COLON = 6; // ':' after a member name
+  private static final int OBJECT_VALUE = 7; // a member value after ':'
+  private static final int OBJECT_NEXT = 8; // ',' or the end of an object
+  private static final int DONE = 9; // nothing but whitespace
+  // lexical states, within ...
+  private static final int LITERAL = 10;
+  private static final int STRING = 11;
+  private static final int STRING_ESCAPE = 12;
+  private static final int STRING_UNICODE = 13;
+  private static final int NUMBER_MINUS = 14; // after '-'
+  private static final int NUMBER_ZERO = 15; // after a leading '0'
+  private static final int NUMBER_INT = 16;
+  private static final int NUMBER_POINT = 17; // after '.'
+  private static final int NUMBER_FRACTION = 18;
+  private static final int NUMBER_EXP_MARK = 19; // after 'e' or 'E'
+  private static final int NUMBER_EXP_SIGN = 20; // after '+' or '-' in the exponent
+  private static final int NUMBER_EXPONENT = 21;
+  // within a skipped value, see JsonHandler.skipObjectValue()
+  private static final int SKIP = 22; // within an array or object
+  private static final int SKIP_STRING = 23;
+  private static final int SKIP_ESCAPE = 24;
+  private static final int SKIP_SCALAR = 25;
+
+  private static final char REPLACEMENT_CHAR = '\ufffd';
+  private static final int DECODE_BUFFER_SIZE = 1024;
+
+  private final JsonHandler<Object, Object> handler;
+  private final boolean stackTraces;
+  private final StringBuilder capture = new StringBuilder();
+  private char[] sliceBuffer = new char[64];
+  private Object[] containers = new Object[16];
+  private String[] names = new String[16];
+  private boolean[] objects = new boolean[16];
+  private int depth;
+  private int state;
+  private String literal;
+  private int literalIndex;
+  private boolean name;
+  private boolean escaped;
+  private int unicodeValue;
+  private int unicodeDigits;
+  private int skipLevel;
+  private long numberValue;
+  private boolean numberIsLong;
+  private double numberDouble;
+  private boolean numberIsDouble;
+  private long offset;
+  private int line;
+  private long lineOffset;
+  private char[] decodeBuffer;
+  private int utf8Value;
+  private int utf8Remaining;
+  private int utf8Min;
+
+  /**
+   * Creates a new JsonPushParser with the given handler. The parser will report all parser events
+   * to this handler.
+   *
+   * @param handler
+   *          the handler to process parser events
+   */
+  public JsonPushParser(JsonHandler<?, ?> handler) {
+    this(handler, ParserConfig.DEFAULT);
+  }
+
+  /**
+   * Creates a new JsonPushParser with the given handler and configuration. The parser will report
+   * all parser events to this handler. Of the configuration, only the stack trace option applies to
+   * this parser.
+   *
+   * @param handler
+   *          the handler to process parser events
+   * @param config
+   *          the configuration to use
+   * @see ParserConfig#withStackTraces(boolean)
+   */
+  @SuppressWarnings("unchecked")
+  public JsonPushParser(JsonHandler<?, ?> handler, ParserConfig config) {
+    if (handler == null) {
+      throw new NullPointerException("handler is null");
+    }
+    if (config == null) {
+      throw new NullPointerException("config is null");
+    }
+    this.handler = (JsonHandler<Object, Object>)handler;
+    stackTraces = config.getStackTraces();
+    handler.parser = null;
+    handler.pushParser = this;
+    reset();
+  }
+
+  /**
+   * Feeds the remaining UTF-8 encoded bytes of the given buffer to the parser. All remaining bytes
+   * are consumed, i.e. the position of the buffer is moved to its limit. Incomplete UTF-8 sequences
+   * at the end of the buffer are retained until the next call. Malformed UTF-8 sequences are
+   * replaced with the Unicode replacement character U+FFFD.
+   *
+   * @param bytes
+   *          the buffer that contains the next chunk of input
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void feed(ByteBuffer bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    if (decodeBuffer == null) {
+      decodeBuffer = new char[DECODE_BUFFER_SIZE];
+    }
+    try {
+      while (bytes.hasRemaining()) {
+        int count = 0;
+        while (count < DECODE_BUFFER_SIZE - 2 && bytes.hasRemaining()) {
+          count = decode(bytes.get(), count);
+        }
+        consume(decodeBuffer, 0, count);
+      }
+    } catch (ParseException exception) {
+      reset();
+      throw exception;
+    }
+  }
+
+  /**
+   * Feeds the given range of characters to the parser. The characters are processed immediately,
+   * the array is not retained.
+   *
+   * @param chars
+   *          the array that contains the next chunk of input
+   * @param offset
+   *          the index of the first character to feed
+   * @param length
+   *          the number of characters to feed
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public void feed(char[] chars, int offset, int length) {
+    if (chars == null) {
+      throw new NullPointerException("chars is null");
+    }
+    if (offset < 0 || length < 0 || offset > chars.length - length) {
+      throw new IndexOutOfBoundsException("range out of bounds");
+    }
+    if (utf8Remaining > 0) {
+      throw new IllegalStateException("Incomplete UTF-8 sequence");
+    }
+    try {
+      consume(chars, offset, length);
+    } catch (ParseException exception) {
+      reset();
+      throw exception;
+    }
+  }
+
+  /**
+   * Indicates that the end of the input has been reached. Completes the current input and resets
+   * the parser, so that it can be used to parse another input.
+   *
+   * @throws ParseException
+   *           if the input fed so far is not a complete and valid JSON value
+   */
+  public void endOfInput() {
+    try {
+      if (utf8Remaining > 0) {
+        utf8Remaining = 0;
+        decodeBuffer[0] = REPLACEMENT_CHAR;
+        consume(decodeBuffer, 0, 1);
+      }
+      if (state == NUMBER_ZERO || state == NUMBER_INT || state == NUMBER_FRACTION
+          || state == NUMBER_EXPONENT)
+      {
+        endNumber();
+      }
+      if (state != DONE) {
+        throw error("Unexpected end of input");
+      }
+    } finally {
+      reset();
+    }
+  }
+
+  Location getLocation() {
+    int column = (int)(offset - lineOffset + 1);
+    return new Location((int)Math.min(offset, Integer.MAX_VALUE), line, column);
+  }
+
+  private void reset() {
+    for (int i = 0; i < depth; i++) {
+      containers[i] = null;
+      names[i] = null;
+    }
+    depth = 0;
+    state = VALUE;
+    capture.setLength(0);
+    offset = 0;
+    line = 1;
+    lineOffset = 0;
+    utf8Remaining = 0;
+  }
+
+  private int decode(byte b, int count) {
+    if (utf8Remaining > 0) {
+      if ((b & 0xc0) == 0x80) {
+        utf8Value = utf8Value << 6 | b & 0x3f;
+        if (--utf8Remaining == 0) {
+          return appendCodePoint(utf8Value, count);
+        }
+        return count;
+      }
+      // incomplete sequence, the current byte starts over
+      utf8Remaining = 0;
+      decodeBuffer[count++] = REPLACEMENT_CHAR;
+    }
+    if (b >= 0) {
+      decodeBuffer[count++] = (char)b;
+    } else if ((b & 0xe0) == 0xc0) {
+      startSequence(b & 0x1f, 1, 0x80);
+    } else if ((b & 0xf0) == 0xe0) {
+      startSequence(b & 0x0f, 2, 0x800);
+    } else if ((b & 0xf8) == 0xf0) {
+      startSequence(b & 0x07, 3, 0x10000);
+    } else {
+      decodeBuffer[count++] = REPLACEMENT_CHAR;
+    }
+    return count;
+  }
+
+  private void startSequence(int value, int remaining, int min) {
+    utf8Value = value;
+    utf8Remaining = remaining;
+    utf8Min = min;
+  }
+
+  private int appendCodePoint(int codePoint, int count) {
+    if (codePoint < utf8Min || codePoint > 0x10ffff || codePoint >= 0xd800 && codePoint <= 0xdfff) {
+      decodeBuffer[count++] = REPLACEMENT_CHAR;
+    } else if (codePoint >= 0x10000) {
+      codePoint -= 0x10000;
+      decodeBuffer[count++] = (char)(0xd800 | codePoint >> 10);
+      decodeBuffer[count++] = (char)(0xdc00 | codePoint & 0x3ff);
+    } else {
+      decodeBuffer[count++] = (char)codePoint;
+    }
+    return count;
+  }
+
+  private void consume(char[] chars, int start, int length) {
+    int end = start + length;
+    int index = start;
+    while (index < end) {
+      if (state == STRING) {
+        // bulk append of plain string characters
+        int runStart = index;
+        char ch;
+        while (index < end && (ch = chars[index]) != '"' && ch != '\\' && ch >= 0x20) {
+          index++;
+        }
+        capture.append(chars, runStart, index - runStart);
+        offset += index - runStart;
+        if (index == end) {
+          break;
+        }
+      }
+      char ch = chars[index++];
+      long position = offset;
+      consume(ch);
+      offset = position + 1;
+      if (ch == '\n') {
+        line++;
+        lineOffset = offset;
+      }
+    }
+  }
+
+  /*
+   * Processes a single character while the offset points to it. Events that are reported after
+   * consuming the character must advance the offset first.
+   */
+  private void consume(char ch) {
+    for (;;) {
+      switch (state) {
+        case VALUE:
+          if (!isWhiteSpace(ch)) {
+            startValue(ch);
+          }
+          return;
+        case ARRAY_FIRST:
+          if (isWhiteSpace(ch)) {
+            return;
+          }
+          if (ch == ']') {
+            endArray();
+            return;
+          }
+          handler.startArrayValue(containers[depth - 1]);
+          startValue(ch);
+          return;
+        case ARRAY_NEXT:
+          if (isWhiteSpace(ch)) {
+            return;
+          }
+          if (ch == ',') {
+            state = ARRAY_VALUE;
+            return;
+          }
+          if (ch == ']') {
+            endArray();
+            return;
+          }
+          throw error("Expected ',' or ']'");
+        case ARRAY_VALUE:
+          if (!isWhiteSpace(ch)) {
+            handler.startArrayValue(containers[depth - 1]);
+            startValue(ch);
+          }
+          return;
+        case OBJECT_FIRST:
+          if (isWhiteSpace(ch)) {
+            return;
+          }
+          if (ch == '}') {
+            endObject();
+            return;
+          }
+          startName(ch);
+          return;
+        case OBJECT_NAME:
+          if (!isWhiteSpace(ch)) {
+            startName(ch);
+          }
+          return;
+        case OBJECT_COLON:
+          if (isWhiteSpace(ch)) {
+            return;
+          }
+          if (ch != ':') {
+            throw error("Expected ':'");
+          }
+          state = OBJECT_VALUE;
+          return;
+        case OBJECT_VALUE:
+          if (isWhiteSpace(ch)) {
+            return;
+          }
+          if (handler.skipObjectValue(containers[depth - 1], names[depth - 1])) {
+            startSkip(ch);
+          } else {
+            handler.startObjectValue(containers[depth - 1], names[depth - 1]);
+            startValue(ch);
+          }
+          return;
+        case OBJECT_NEXT:
+          if (isWhiteSpace(ch)) {
+            return;
+          }
+          if (ch == ',') {
+            state = OBJECT_NAME;
+            return;
+          }
+          if (ch == '}') {
+            endObject();
+            return;
+          }
+          throw error("Expected ',' or '}'");
+        case DONE:
+          if (!isWhiteSpace(ch)) {
+            throw error("Unexpected character");
+          }
+          return;
+        case LITERAL:
+          if (ch != literal.charAt(literalIndex)) {
+            throw error("Expected '" + literal.charAt(literalIndex) + "'");
+          }
+          if (++literalIndex == literal.length()) {
+            offset++;
+            if (literal.charAt(0) == 'n') {
+              handler.endNull();
+            } else {
+              handler.endBoolean(literal.charAt(0) == 't');
+            }
+            endValue();
+          }
+          return;
+        case STRING:
+          if (ch == '"') {
+            offset++;
+            int length = capture.length();
+            if (sliceBuffer.length < length) {
+              sliceBuffer = new char[Math.max(length, sliceBuffer.length * 2)];
+            }
+            capture.getChars(0, length, sliceBuffer, 0);
+            capture.setLength(0);
+            if (name) {
+              Object object = containers[depth - 1];
+              names[depth - 1] = handler.endObjectName(object, sliceBuffer, 0, length, escaped);
+              state = OBJECT_COLON;
+            } else {
+              handler.endString(sliceBuffer, 0, length, escaped);
+              endValue();
+            }
+          } else if (ch == '\\') {
+            state = STRING_ESCAPE;
+            escaped = true;
+          } else if (ch < 0x20) {
+            throw error("Expected valid string character");
+          } else {
+            capture.append(ch);
+          }
+          return;
+        case STRING_ESCAPE:
+          readEscape(ch);
+          return;
+        case STRING_UNICODE:
+          if (!isHexDigit(ch)) {
+            throw error("Expected hexadecimal digit");
+          }
+          unicodeValue = unicodeValue << 4 | Character.digit(ch, 16);
+          if (++unicodeDigits == 4) {
+            capture.append((char)unicodeValue);
+            state = STRING;
+          }
+          return;
+        case NUMBER_MINUS:
+          if (ch == '0') {
+            state = NUMBER_ZERO;
+          } else if (isDigit(ch)) {
+            state = NUMBER_INT;
+          } else {
+            throw error("Expected digit");
+          }
+          capture.append(ch);
+          return;
+        case NUMBER_ZERO:
+        case NUMBER_INT:
+          if (isDigit(ch) && state == NUMBER_INT) {
+            capture.append(ch);
+            return;
+          }
+          if (ch == '.') {
+            state = NUMBER_POINT;
+            capture.append(ch);
+            return;
+          }
+          if (ch == 'e' || ch == 'E') {
+            state = NUMBER_EXP_MARK;
+            capture.append(ch);
+            return;
+          }
+          endNumber();
+          continue; // the current character belongs to the next token
+        case NUMBER_POINT:
+          if (!isDigit(ch)) {
+            throw error("Expected digit");
+          }
+          state = NUMBER_FRACTION;
+          capture.append(ch);
+          return;
+        case NUMBER_FRACTION:
+          if (isDigit(ch)) {
+            capture.append(ch);
+            return;
+          }
+          if (ch == 'e' || ch == 'E') {
+            state = NUMBER_EXP_MARK;
+            capture.append(ch);
+            return;
+          }
+          endNumber();
+          continue;
+        case NUMBER_EXP_MARK:
+          if (ch == '+' || ch == '-') {
+            state = NUMBER_EXP_SIGN;
+            capture.append(ch);
+            return;
+          }
+          readExponentDigit(ch);
+          return;
+        case NUMBER_EXP_SIGN:
+          readExponentDigit(ch);
+          return;
+        case NUMBER_EXPONENT:
+          if (isDigit(ch)) {
+            capture.append(ch);
+            return;
+          }
+          endNumber();
+          continue;
+        case SKIP:
+          if (ch == '"') {
+            state = SKIP_STRING;
+          } else if (ch == '[' || ch == '{') {
+            skipLevel++;
+          } else if ((ch == ']' || ch == '}') && --skipLevel == 0) {
+            state = OBJECT_NEXT;
+          }
+          return;
+        case SKIP_STRING:
+          if (ch == '\\') {
+            state = SKIP_ESCAPE;
+          } else if (ch == '"') {
+            state = skipLevel == 0 ? OBJECT_NEXT : SKIP;
+          }
+          return;
+        case SKIP_ESCAPE:
+          state = SKIP_STRING;
+          return;
+        case SKIP_SCALAR:
+          if (isWhiteSpace(ch) || ch == ',' || ch == ']' || ch == '}') {
+            state = OBJECT_NEXT;
+            continue;
+          }
+          return;
+        default:
+          throw new IllegalStateException("Unknown state: " + state);
+      }
+    }
+  }
+
+  private void startValue(char ch) {
+    switch (ch) {
+      case 'n':
+        handler.startNull();
+        startLiteral("null");
+        break;
+      case 't':
+        handler.startBoolean();
+        startLiteral("true");
+        break;
+      case 'f':
+        handler.startBoolean();
+        startLiteral("false");
+        break;
+      case '"':
+        handler.startString();
+        name = false;
+        escaped = false;
+        state = STRING;
+        break;
+      case '[':
+        Object array = handler.startArray();
+        offset++;
+        push(array, false);
+        state = ARRAY_FIRST;
+        break;
+      case '{':
+        Object object = handler.startObject();
+        offset++;
+        push(object, true);
+        state = OBJECT_FIRST;
+        break;
+      case '-':
+        handler.startNumber();
+        capture.append(ch);
+        state = NUMBER_MINUS;
+        break;
+      case '0':
+        handler.startNumber();
+        capture.append(ch);
+        state = NUMBER_ZERO;
+        break;
+      case '1':
+      case '2':
+      case '3':
+      case '4':
+      case '5':
+      case '6':
+      case '7':
+      case '8':
+      case '9':
+        handler.startNumber();
+        capture.append(ch);
+        state = NUMBER_INT;
+        break;
+      default:
+        throw error("Expected value");
+    }
+  }
+
+  private void startSkip(char ch) {
+    skipLevel = 0;
+    if (ch == '"') {
+      state = SKIP_STRING;
+    } else if (ch == '[' || ch == '{') {
+      skipLevel = 1;
+      state = SKIP;
+    } else if (ch == 'n' || ch == 't' || ch == 'f' || ch == '-' || isDigit(ch)) {
+      state = SKIP_SCALAR;
+    } else {
+      throw error("Expected value");
+    }
+  }
+
+  private void startLiteral(String literal) {
+    this.literal = literal;
+    literalIndex = 1;
+    state = LITERAL;
+  }
+
+  private void startName(char ch) {
+    handler.startObjectName(containers[depth - 1]);
+    if (ch != '"') {
+      throw error("Expected name");
+    }
+    name = true;
+    escaped = false;
+    state = STRING;
+  }
+
+  private void readEscape(char ch) {
+    state = STRING;
+    switch (ch) {
+      case '"':
+      case '/':
+      case '\\':
+        capture.append(ch);
+        break;
+      case 'b':
+        capture.append('\b');
+        break;
+      case 'f':
+        capture.append('\f');
+        break;
+      case 'n':
+        capture.append('\n');
+        break;
+      case 'r':
+        capture.append('\r');
+        break;
+      case 't':
+        capture.append('\t');
+        break;
+      case 'u':
+        unicodeValue = 0;
+        unicodeDigits = 0;
+        state = STRING_UNICODE;
+        break;
+      default:
+        throw error("Expected valid escape sequence");
+    }
+  }
+
+  private void readExponentDigit(char ch) {
+    if (!isDigit(ch)) {
+      throw error("Expected digit");
+    }
+    state = NUMBER_EXPONENT;
+    capture.append(ch);
+  }
+
+  private void endNumber() {
+    convertNumber();
+    if (numberIsLong) {
+      handler.endNumber(numberValue);
+    } else if (numberIsDouble) {
+      handler.endNumber(numberDouble);
+    } else {
+      handler.endNumber(capture.toString());
+    }
+    capture.setLength(0);
+    endValue();
+  }
+
+  String getNumberText() {
+    return capture.toString();
+  }
+
+  /*
+   * Converts the captured number in the same way as JsonParser.scanNumber(). The capture is known
+   * to contain a valid number.
+   */
+  private void convertNumber() {
+    int length = capture.length();
+    boolean negative = capture.charAt(0) == '-';
+    int index = negative ? 1 : 0;
+    long value = 0;
+    int digits = 0;
+    int scale = 0;
+    boolean fraction = false;
+    for (; index < length; index++) {
+      char ch = capture.charAt(index);
+      if (isDigit(ch)) {
+        value = value * 10 + ch - '0';
+        digits++;
+        if (fraction) {
+          scale++;
+        }
+      } else if (ch == '.') {
+        fraction = true;
+      } else {
+        break;
+      }
+    }
+    boolean hasExponent = index < length;
+    int exponent = 0;
+    if (hasExponent) {
+      char sign = capture.charAt(++index);
+      if (sign == '+' || sign == '-') {
+        index++;
+      }
+      for (; index < length; index++) {
+        if (exponent < 10000) {
+          exponent = exponent * 10 + capture.charAt(index) - '0';
+        }
+      }
+      if (sign == '-') {
+        exponent = -exponent;
+      }
+    }
+    numberValue = negative ? -value : value;
+    numberIsLong = !fraction && !hasExponent && digits <= 18 && !(negative && value == 0);
+    numberIsDouble = !numberIsLong && JsonParser.isExactDouble(digits, exponent - scale);
+    if (numberIsDouble) {
+      double result = JsonParser.toDouble(value, exponent - scale);
+      numberDouble = negative ? -result : result;
+    }
+  }
+
+  private void endArray() {
+    offset++;
+    handler.endArray(pop());
+    endValue();
+  }
+
+  private void endObject() {
+    offset++;
+    handler.endObject(pop());
+    endValue();
+  }
+
+  private void endValue() {
+    if (depth == 0) {
+      state = DONE;
+    } else if (objects[depth - 1]) {
+      handler.endObjectValue(containers[depth - 1], names[depth - 1]);
+      state = OBJECT_NEXT;
+    } else {
+      handler.endArrayValue(containers[depth - 1]);
+      state = ARRAY_NEXT;
+    }
+  }
+
+  private void push(Object container, boolean object) {
+    if (depth == containers.length) {
+      int length = depth * 2;
+      Object[] newContainers = new Object[length];
+      String[] newNames = new String[length];
+      boolean[] newObjects = new boolean[length];
+      System.arraycopy(containers, 0, newContainers, 0, depth);
+      System.arraycopy(names, 0, newNames, 0, depth);
+      System.arraycopy(objects, 0, newObjects, 0, depth);
+      containers = newContainers;
+      names = newNames;
+      objects = newObjects;
+    }
+    containers[depth] = container;
+    names[depth] = null;
+    objects[depth] = object;
+    if (++depth > JsonParser.MAX_NESTING_LEVEL) {
+      throw error("Nesting too deep");
+    }
+  }
+
+  private Object pop() {
+    Object container = containers[--depth];
+    containers[depth] = null;
+    names[depth] = null;
+    return container;
+  }
+
+  private ParseException error(String message) {
+    return new ParseException(message, getLocation(), stackTraces);
+  }
+
+  private static boolean isWhiteSpace(char ch) {
+    return ch == ' ' || ch == '\t' || ch == '\n' || ch == '\r';
+  }
+
+  private static boolean isDigit(char ch) {
+    return ch >= '0' && ch <= '9';
+  }
+
+  private static boolean isHexDigit(char ch) {
+    return ch >= '0' && ch <= '9' || ch >= 'a' && ch <= 'f' || ch >= 'A' && ch <= 'F';
+  }
+
+}
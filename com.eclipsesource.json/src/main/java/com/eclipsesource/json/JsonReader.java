@@ -0,0 +1,578 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+
+/**
+ * A pull parser for JSON text. In contrast to {@link JsonParser}, which pushes all events to a
+ * handler, a JsonReader lets the caller pull one token at a time. This is convenient for binding
+ * JSON to application objects, since the control flow of the application code can follow the
+ * structure of the expected input, and parts that are not of interest can be skipped.
+ * <p>
+ * The reader uses the same scanner as <code>JsonParser</code>. It does not create any objects per
+ * token, except for the strings returned by {@link #nextName()} and {@link #nextString()}. Numbers
+ * that fit into a <code>long</code> are converted while scanning.
+ * </p>
+ * <p>
+ * Example:
+ * </p>
+ *
+ * <pre>
+ * JsonReader reader = new JsonReader(input);
+ * reader.beginObject();
+ * while (reader.hasNext()) {
+ *   String name = reader.nextName();
+ *   if (name.equals("id")) {
+ *     id = reader.nextLong();
+ *   } else {
+ *     reader.skipValue();
+ *   }
+ * }
+ * reader.endObject();
+ * </pre>
+ * <p>
+ * This class is not thread-safe.
+ * </p>
+ */
+public class JsonReader {
+
+  /**
+   * The types of tokens returned by {@link JsonReader#peek()}.
+   */
+  public enum Token {
+    BEGIN_ARRAY, END_ARRAY, BEGIN_OBJECT, END_OBJECT, NAME, STRING, NUMBER, BOOLEAN, NULL,
+    END_DOCUMENT
+  }
+
+  private static final int EMPTY_DOCUMENT = 0;
+  private static final int NONEMPTY_DOCUMENT = 1;
+  private static final int EMPTY_ARRAY = 2;
+  private static final int NONEMPTY_ARRAY = 3;
+  private static final int EMPTY_OBJECT = 4;
+  private static final int DANGLING_NAME = 5;
+  private static final int NONEMPTY_OBJECT = 6;
+
+  private final JsonParser scanner;
+  private int[] stack = new int[16];
+  private int depth;
+  private Token peeked;
+
+  /**
+   * Creates a new JsonReader that reads from the given string.
+   *
+   * @param string
+   *          the input string
+   */
+  public JsonReader(String string) {
+    this();
+    if (string == null) {
+      throw new NullPointerException("string is null");
+    }
+    char[] chars = string.toCharArray();
+    scanner.init(chars, 0, chars.length);
+  }
+
+  /**
+   * Creates a new JsonReader that reads from the given reader. Characters are read in chunks into
+   * an input buffer. Hence, wrapping a reader in an additional <code>BufferedReader</code> likely
+   * won't improve reading performance. The reader is not closed by the JsonReader.
+   *
+   * @param reader
+   *          the reader to read the input from
+   */
+  public JsonReader(Reader reader) {
+    this();
+    if (reader == null) {
+      throw new NullPointerException("reader is null");
+    }
+    scanner.init(reader, 1024);
+  }
+
+  /**
+   * Creates a new JsonReader that reads UTF-8 encoded input from the given input stream. The bytes
+   * are decoded directly into the input buffer. The stream is not closed by the JsonReader.
+   *
+   * @param input
+   *          the UTF-8 encoded input stream
+   */
+  public JsonReader(InputStream input) {
+    this();
+    if (input == null) {
+      throw new NullPointerException("input is null");
+    }
+    scanner.init(new Utf8Reader(input, 1024), 1024);
+  }
+
+  private JsonReader() {
+    scanner = new JsonParser(new JsonHandler<Object, Object>() {});
+    stack[depth++] = EMPTY_DOCUMENT;
+  }
+
+  /**
+   * Returns the type of the next token without consuming it.
+   *
+   * @return the type of the next token
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public Token peek() throws IOException {
+    if (peeked != null) {
+      return peeked;
+    }
+    int scope = stack[depth - 1];
+    if (scope == EMPTY_DOCUMENT) {
+      scanner.start();
+      stack[depth - 1] = NONEMPTY_DOCUMENT;
+      return peeked = peekValue();
+    }
+    scanner.skipWhiteSpace();
+    switch (scope) {
+      case NONEMPTY_DOCUMENT:
+        if (!scanner.isEndOfText()) {
+          throw scanner.error("Unexpected character");
+        }
+        return peeked = Token.END_DOCUMENT;
+      case EMPTY_ARRAY:
+        if (scanner.current == ']') {
+          return peeked = Token.END_ARRAY;
+        }
+        stack[depth - 1] = NONEMPTY_ARRAY;
+        return peeked = peekValue();
+      case NONEMPTY_ARRAY:
+        if (scanner.current == ']') {
+          return peeked = Token.END_ARRAY;
+        }
+        if (!scanner.readChar(',')) {
+          throw scanner.expected("',' or ']'");
+        }
+        return peeked = peekValue();
+      case EMPTY_OBJECT:
+        if (scanner.current == '}') {
+          return peeked = Token.END_OBJECT;
+        }
+        return peeked = peekName();
+      case NONEMPTY_OBJECT:
+        if (scanner.current == '}') {
+          return peeked = Token.END_OBJECT;
+        }
+        if (!scanner.readChar(',')) {
+          throw scanner.expected("',' or '}'");
+        }
+        return peeked = peekName();
+      default: // DANGLING_NAME
+        if (!scanner.readChar(':')) {
+          throw scanner.expected("':'");
+        }
+        stack[depth - 1] = NONEMPTY_OBJECT;
+        return peeked = peekValue();
+    }
+  }
+
+  private Token peekName() throws IOException {
+    scanner.skipWhiteSpace();
+    if (scanner.current != '"') {
+      throw scanner.expected("name");
+    }
+    return Token.NAME;
+  }
+
+  private Token peekValue() throws IOException {
+    scanner.skipWhiteSpace();
+    switch (scanner.current) {
+      case 'n':
+        return Token.NULL;
+      case 't':
+      case 'f':
+        return Token.BOOLEAN;
+      case '"':
+        return Token.STRING;
+      case '[':
+        return Token.BEGIN_ARRAY;
+      case '{':
+        return Token.BEGIN_OBJECT;
+      case '-':
+      case '0':
+      case '1':
+      case '2':
+      case '3':
+      case '4':
+      case '5':
+      case '6':
+      case '7':
+      case '8':
+      case '9':
+        return Token.NUMBER;
+      default:
+        throw scanner.expected("value");
+    }
+  }
+
+  /**
+   * Returns whether the current array or object has another element.
+   *
+   * @return <code>true</code> if the next token is neither the end of an array, nor the end of an
+   *         object, nor the end of the input
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public boolean hasNext() throws IOException {
+    Token token = peek();
+    return token != Token.END_ARRAY && token != Token.END_OBJECT && token != Token.END_DOCUMENT;
+  }
+
+  /**
+   * Consumes the next token, regardless of its type, and returns its type. Names, strings, and
+   * numbers are consumed without converting them. Of an array or an object, only the opening or
+   * closing bracket is consumed. At the end of the input, this method has no effect.
+   *
+   * @return the type of the consumed token
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public Token next() throws IOException {
+    Token token = peek();
+    switch (token) {
+      case BEGIN_ARRAY:
+        beginArray();
+        break;
+      case END_ARRAY:
+        endArray();
+        break;
+      case BEGIN_OBJECT:
+        beginObject();
+        break;
+      case END_OBJECT:
+        endObject();
+        break;
+      case NAME:
+        scanner.skipStringInternal();
+        stack[depth - 1] = DANGLING_NAME;
+        peeked = null;
+        break;
+      case STRING:
+        scanner.skipStringInternal();
+        peeked = null;
+        break;
+      case NUMBER:
+        scanner.scanNumber();
+        peeked = null;
+        break;
+      case BOOLEAN:
+        nextBoolean();
+        break;
+      case NULL:
+        nextNull();
+        break;
+      default: // END_DOCUMENT
+        break;
+    }
+    return token;
+  }
+
+  /**
+   * Consumes the beginning of an array.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not the beginning of an array
+   */
+  public void beginArray() throws IOException {
+    expect(Token.BEGIN_ARRAY);
+    scanner.read();
+    push(EMPTY_ARRAY);
+  }
+
+  /**
+   * Consumes the end of an array.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not the end of an array
+   */
+  public void endArray() throws IOException {
+    expect(Token.END_ARRAY);
+    scanner.read();
+    depth--;
+  }
+
+  /**
+   * Consumes the beginning of an object.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not the beginning of an object
+   */
+  public void beginObject() throws IOException {
+    expect(Token.BEGIN_OBJECT);
+    scanner.read();
+    push(EMPTY_OBJECT);
+  }
+
+  /**
+   * Consumes the end of an object.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not the end of an object
+   */
+  public void endObject() throws IOException {
+    expect(Token.END_OBJECT);
+    scanner.read();
+    depth--;
+  }
+
+  /**
+   * Consumes the next token, which must be the name of an object member, and returns it.
+   *
+   * @return the name of the member
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not a member name
+   */
+  public String nextName() throws IOException {
+    expect(Token.NAME);
+    String name = scanner.readStringInternal();
+    stack[depth - 1] = DANGLING_NAME;
+    return name;
+  }
+
+  /**
+   * Consumes the next token, which must be a string, and returns its value.
+   *
+   * @return the string value
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not a string
+   */
+  public String nextString() throws IOException {
+    expect(Token.STRING);
+    return scanner.readStringInternal();
+  }
+
+  /**
+   * Consumes the next token, which must be a number, and returns its value as a <code>long</code>.
+   * Integers that fit into a <code>long</code> are converted while scanning, without creating a
+   * string.
+   *
+   * @return the number value
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not a number
+   * @throws NumberFormatException
+   *           if the number cannot be represented as a <code>long</code>
+   */
+  public long nextLong() throws IOException {
+    expect(Token.NUMBER);
+    scanner.startCapture();
+    scanner.scanNumber();
+    if (scanner.numberIsLong) {
+      scanner.discardCapture();
+      return scanner.numberValue;
+    }
+    return Long.parseLong(scanner.endCapture(), 10);
+  }
+
+  /**
+   * Consumes the next token, which must be a number, and returns its value as an <code>int</code>.
+   *
+   * @return the number value
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not a number
+   * @throws NumberFormatException
+   *           if the number cannot be represented as an <code>int</code>
+   */
+  public int nextInt() throws IOException {
+    expect(Token.NUMBER);
+    scanner.startCapture();
+    scanner.scanNumber();
+    long value = scanner.numberValue;
+    if (scanner.numberIsLong && value == (int)value) {
+      scanner.discardCapture();
+      return (int)value;
+    }
+    return Integer.parseInt(scanner.endCapture(), 10);
+  }
+
+  /**
+   * Consumes the next token, which must be a number, and returns its value as a
+   * <code>double</code>.
+   *
+   * @return the number value
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not a number
+   */
+  public double nextDouble() throws IOException {
+    expect(Token.NUMBER);
+    scanner.startCapture();
+    scanner.scanNumber();
+    if (scanner.numberIsLong) {
+      scanner.discardCapture();
+      return scanner.numberValue;
+    }
+    if (scanner.numberIsDouble) {
+      scanner.discardCapture();
+      return scanner.numberDouble;
+    }
+    return Double.parseDouble(scanner.endCapture());
+  }
+
+  /**
+   * Consumes the next token, which must be a boolean literal, and returns its value.
+   *
+   * @return the boolean value
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not a boolean
+   */
+  public boolean nextBoolean() throws IOException {
+    expect(Token.BOOLEAN);
+    if (scanner.current == 't') {
+      scanner.readTrue();
+      return true;
+    }
+    scanner.readFalse();
+    return false;
+  }
+
+  /**
+   * Consumes the next token, which must be the literal <code>null</code>.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is not <code>null</code>
+   */
+  public void nextNull() throws IOException {
+    expect(Token.NULL);
+    scanner.readNull();
+  }
+
+  /**
+   * Skips the next value. Arrays and objects are skipped including all their contents. If the next
+   * token is a member name, the entire member is skipped. Skipped values are scanned but not
+   * converted, hence skipping is considerably cheaper than reading.
+   *
+   * @throws IOException
+   *           if an I/O error occurs in the underlying reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   * @throws IllegalStateException
+   *           if the next token is the end of an array, an object, or the input
+   */
+  public void skipValue() throws IOException {
+    Token token = peek();
+    if (token == Token.END_ARRAY || token == Token.END_OBJECT || token == Token.END_DOCUMENT) {
+      throw unexpected("value", token);
+    }
+    if (token == Token.NAME) {
+      next();
+    }
+    int level = 0;
+    do {
+      token = next();
+      if (token == Token.BEGIN_ARRAY || token == Token.BEGIN_OBJECT) {
+        level++;
+      } else if (token == Token.END_ARRAY || token == Token.END_OBJECT) {
+        level--;
+      }
+    } while (level > 0);
+  }
+
+  /**
+   * Returns the location of the next character to be read.
+   *
+   * @return the current location in the input
+   */
+  public Location getLocation() {
+    return scanner.getLocation();
+  }
+
+  private void expect(Token expected) throws IOException {
+    Token token = peek();
+    if (token != expected) {
+      throw unexpected(expected.name(), token);
+    }
+    peeked = null;
+  }
+
+  private void push(int scope) {
+    if (depth > JsonParser.MAX_NESTING_LEVEL) {
+      throw scanner.error("Nesting too deep");
+    }
+    if (depth == stack.length) {
+      int[] newStack = new int[depth * 2];
+      System.arraycopy(stack, 0, newStack, 0, depth);
+      stack = newStack;
+    }
+    stack[depth++] = scope;
+  }
+
+  private IllegalStateException unexpected(String expected, Token token) {
+    return new IllegalStateException("Expected " + expected + " but was " + token + " at "
+                                     + scanner.getLocation());
+  }
+
+}
@@ -22,23 +22,47 @@
 package com.eclipsesource.json;
 
 import java.io.IOException;
+import java.io.ObjectOutputStream;
 
 
 @SuppressWarnings("serial") // use default serial UID
 class JsonString extends JsonValue {
 
-  private final String string;
+  // created lazily for values that refer to the parser input, which is kept so that a thread that
+  // does not see the string yet can always create it again
+  private String string;
+  private final transient char[] source;
+  private final transient int offset;
+  private final transient int length;
 
   JsonString(String string) {
     if (string == null) {
       throw new NullPointerException("string is null");
     }
     this.string = string;
+    source = null;
+    offset = 0;
+    length = 0;
+  }
+
+  /*
+   * Creates a string that refers to a range of the parser input. The range must not contain any
+   * escape sequences. The string is only created when needed.
+   */
+  JsonString(char[] source, int offset, int length) {
+    this.source = source;
+    this.offset = offset;
+    this.length = length;
   }
 
   @Override
   void write(JsonWriter writer) throws IOException {
-    writer.writeString(string);
+    String result = string;
+    if (result == null) {
+      writer.writeString(source, offset, length);
+    } else {
+      writer.writeString(result);
+    }
   }
 
   @Override
@@ -48,12 +72,17 @@ class JsonString extends JsonValue {
 
   @Override
   public String asString() {
-    return string;
+    String result = string;
+    if (result == null) {
+      result = new String(source, offset, length);
+      string = result;
+    }
+    return result;
   }
 
   @Override
   public int hashCode() {
-    return string.hashCode();
+    return asString().hashCode();
   }
 
   @Override
@@ -68,7 +97,12 @@ class JsonString extends JsonValue {
       return false;
     }
     JsonString other = (JsonString)object;
-    return string.equals(other.string);
+    return asString().equals(other.asString());
+  }
+
+  private void writeObject(ObjectOutputStream out) throws IOException {
+    asString();
+    out.defaultWriteObject();
   }
 
 }
@@ -28,6 +28,11 @@ import java.io.Writer;
 class JsonWriter {
 
   private static final int CONTROL_CHARACTERS_END = 0x001f;
+  // Double.toString() uses plain notation for values in [MIN_PLAIN, MAX_PLAIN)
+  private static final double MIN_PLAIN = 1e-3;
+  private static final double MAX_PLAIN = 1e7;
+  // above this value, a significand may not identify a double unambiguously
+  private static final double MAX_SIGNIFICAND = 1e15;
 
   private static final char[] QUOT_CHARS = {'\\', '"'};
   private static final char[] BS_CHARS = {'\\', '\\'};
@@ -42,6 +47,7 @@ class JsonWriter {
                                             'a', 'b', 'c', 'd', 'e', 'f'};
 
   protected final Writer writer;
+  private char[] digits;
 
   JsonWriter(Writer writer) {
     this.writer = writer;
@@ -55,12 +61,109 @@ class JsonWriter {
     writer.write(string);
   }
 
+  void writeNumber(char[] chars, int offset, int length) throws IOException {
+    writer.write(chars, offset, length);
+  }
+
+  /*
+   * Writes the decimal digits of an integer number without creating a string.
+   */
+  void writeNumber(long value) throws IOException {
+    if (digits == null) {
+      digits = new char[24];
+    }
+    int index = digits.length;
+    // work on the negative value to cover Long.MIN_VALUE
+    long rest = value < 0 ? value : -value;
+    do {
+      long quotient = rest / 10;
+      digits[--index] = (char)('0' + quotient * 10 - rest);
+      rest = quotient;
+    } while (rest != 0);
+    if (value < 0) {
+      digits[--index] = '-';
+    }
+    writer.write(digits, index, digits.length - index);
+  }
+
+  /*
+   * Writes a decimal number in the same format as Json.value(double). Numbers in plain notation
+   * that can be written with at most 15 significant digits are written without creating a string.
+   */
+  void writeNumber(double value) throws IOException {
+    if (isPlainRange(value)) {
+      double abs = Math.abs(value);
+      // find the shortest decimal that maps to the value, Double.toString() yields the same digits
+      for (int scale = 0; abs * JsonParser.POWERS_OF_TEN[scale] < MAX_SIGNIFICAND; scale++) {
+        long significand = Math.round(abs * JsonParser.POWERS_OF_TEN[scale]);
+        if (JsonParser.toDouble(significand, -scale) == abs) {
+          writeDecimal(value < 0, significand, scale);
+          return;
+        }
+      }
+    }
+    String string = Double.toString(value);
+    int length = string.length();
+    if (string.endsWith(".0")) {
+      length -= 2;
+    }
+    writer.write(string, 0, length);
+  }
+
+  static boolean isPlainRange(double value) {
+    double abs = Math.abs(value);
+    return abs >= MIN_PLAIN && abs < MAX_PLAIN;
+  }
+
+  private void writeDecimal(boolean negative, long significand, int scale) throws IOException {
+    if (digits == null) {
+      digits = new char[24];
+    }
+    int index = digits.length;
+    long rest = significand;
+    for (int i = 0; i < scale; i++) {
+      digits[--index] = (char)('0' + rest % 10);
+      rest /= 10;
+    }
+    if (scale > 0) {
+      digits[--index] = '.';
+    }
+    do {
+      digits[--index] = (char)('0' + rest % 10);
+      rest /= 10;
+    } while (rest != 0);
+    if (negative) {
+      digits[--index] = '-';
+    }
+    writer.write(digits, index, digits.length - index);
+  }
+
   protected void writeString(String string) throws IOException {
     writer.write('"');
     writeJsonString(string);
     writer.write('"');
   }
 
+  /*
+   * Writes a string from a range of parser input that is known to contain no escape sequences, and
+   * thus no characters that require escaping, except for U+2028 and U+2029.
+   */
+  void writeString(char[] chars, int offset, int length) throws IOException {
+    writer.write('"');
+    int end = offset + length;
+    int start = offset;
+    for (int index = offset; index < end; index++) {
+      char ch = chars[index];
+      if (ch == '\u2028' || ch == '\u2029') {
+        writer.write(chars, start, index - start);
+        writer.write(ch == '\u2028' ? UNICODE_2028_CHARS : UNICODE_2029_CHARS);
+        start = index + 1;
+      }
+    }
+    writer.write(chars, start, end - start);
+    writer.write('"');
+  }
+
   protected void writeArrayOpen() throws IOException {
     writer.write('[');
   }
@@ -0,0 +1,74 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+
+/**
+ * A bounded cache of strings that can be looked up directly from a range of a char array. The
+ * cache is direct-mapped, a string that is added replaces the one that occupied the same slot
+ * before. This class is not thread-safe.
+ */
+class KeyCache {
+
+  private static final int MAX_SIZE = 1 << 20;
+
+  private final String[] entries;
+  private final int mask;
+
+  KeyCache(int size) {
+    int capacity = 1;
+    while (capacity < size && capacity < MAX_SIZE) {
+      capacity <<= 1;
+    }
+    entries = new String[capacity];
+    mask = capacity - 1;
+  }
+
+  String get(char[] chars, int offset, int length) {
+    int hash = 0;
+    int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    int slot = (hash ^ hash >>> 16) & mask;
+    String entry = entries[slot];
+    if (entry != null && entry.hashCode() == hash && matches(entry, chars, offset, length)) {
+      return entry;
+    }
+    String string = new String(chars, offset, length);
+    entries[slot] = string;
+    return string;
+  }
+
+  private static boolean matches(String string, char[] chars, int offset, int length) {
+    if (string.length() != length) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (string.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
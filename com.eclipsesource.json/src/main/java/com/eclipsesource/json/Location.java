@@ -28,7 +28,8 @@ package com.eclipsesource.json;
 public class Location {
 
   /**
-   * The absolute character index, starting at 0.
+   * The absolute character index, starting at 0. For inputs that exceed 2 GB, this value saturates
+   * at <code>Integer.MAX_VALUE</code>, the line and column numbers remain accurate.
    */
   public final int offset;
 
@@ -0,0 +1,91 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+
+
+/**
+ * An input stream that reads the contents of a file channel by mapping it into memory. The file is
+ * mapped in consecutive windows of a fixed maximum size, hence it can exceed 2 GB. Reading starts
+ * at the current position of the channel, but the position is not changed. This implementation is
+ * not thread-safe and it does not close the channel.
+ */
+class MappedInputStream extends InputStream {
+
+  static final int DEFAULT_WINDOW_SIZE = 64 * 1024 * 1024;
+
+  private final FileChannel channel;
+  private final int windowSize;
+  private final long size;
+  private long position;
+  private MappedByteBuffer window;
+
+  MappedInputStream(FileChannel channel, int windowSize) throws IOException {
+    this.channel = channel;
+    this.windowSize = windowSize;
+    position = channel.position();
+    size = channel.size();
+  }
+
+  @Override
+  public int read() throws IOException {
+    if (!nextWindow()) {
+      return -1;
+    }
+    return window.get() & 0xff;
+  }
+
+  @Override
+  public int read(byte[] bytes, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    if (!nextWindow()) {
+      return -1;
+    }
+    int count = Math.min(length, window.remaining());
+    window.get(bytes, offset, count);
+    return count;
+  }
+
+  private boolean nextWindow() throws IOException {
+    if (window != null && window.hasRemaining()) {
+      return true;
+    }
+    // the previous window is unmapped when it becomes unreachable
+    window = null;
+    long remaining = size - position;
+    if (remaining <= 0) {
+      return false;
+    }
+    int length = (int)Math.min(windowSize, remaining);
+    window = channel.map(MapMode.READ_ONLY, position, length);
+    position += length;
+    return true;
+  }
+
+}
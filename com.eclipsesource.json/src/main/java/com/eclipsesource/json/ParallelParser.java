@@ -0,0 +1,434 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import com.eclipsesource.json.Json.DefaultHandler;
+
+
+/**
+ * Parses large JSON arrays concurrently. A quick structural scan finds the boundaries of the
+ * top-level array elements. The elements are then parsed in chunks on the given executor, every
+ * chunk with its own parser. The resulting {@link JsonArray} contains all elements in their
+ * original order.
+ * <p>
+ * Inputs that are not a top-level array, and inputs that are too small to benefit from parallel
+ * parsing, are parsed sequentially. If the input contains a syntax error, it is parsed again
+ * sequentially to report the error with its exact location. Hence, the results, including parse
+ * errors, are the same as those of {@link Json#parse(String)}.
+ * </p>
+ * <p>
+ * Example:
+ * </p>
+ *
+ * <pre>
+ * ExecutorService executor = Executors.newFixedThreadPool(threads);
+ * JsonArray records = new ParallelParser(executor).parse(bytes).asArray();
+ * </pre>
+ * <p>
+ * A ParallelParser can be shared between threads. It does not shut down the executor.
+ * </p>
+ */
+public class ParallelParser {
+
+  private static final int DEFAULT_CHUNK_SIZE = 64 * 1024;
+
+  private final ExecutorService executor;
+  private final int minChunkSize;
+
+  /**
+   * Creates a new ParallelParser that runs parser tasks on the given executor.
+   *
+   * @param executor
+   *          the executor to run the parser tasks
+   */
+  public ParallelParser(ExecutorService executor) {
+    this(executor, DEFAULT_CHUNK_SIZE);
+  }
+
+  ParallelParser(ExecutorService executor, int minChunkSize) {
+    if (executor == null) {
+      throw new NullPointerException("executor is null");
+    }
+    this.executor = executor;
+    this.minChunkSize = minChunkSize;
+  }
+
+  /**
+   * Parses the given input string as JSON. The input must contain a valid JSON value, optionally
+   * padded with whitespace.
+   *
+   * @param string
+   *          the input string, must be valid JSON
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue parse(String string) {
+    if (string == null) {
+      throw new NullPointerException("string is null");
+    }
+    return parse(string.toCharArray());
+  }
+
+  /**
+   * Parses the given character array as JSON. The input must contain a valid JSON value, optionally
+   * padded with whitespace. The array is scanned in place, it must not be modified while parsing.
+   *
+   * @param chars
+   *          the input characters, must be valid JSON
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue parse(char[] chars) {
+    if (chars == null) {
+      throw new NullPointerException("chars is null");
+    }
+    return parse(new CharArraySource(chars));
+  }
+
+  /**
+   * Parses the given UTF-8 encoded bytes as JSON. The input must contain a valid JSON value,
+   * optionally padded with whitespace. The bytes are not decoded in advance, every chunk is decoded
+   * by the task that parses it.
+   *
+   * @param bytes
+   *          the UTF-8 encoded input, must be valid JSON
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue parse(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    return parse(new ByteArraySource(bytes));
+  }
+
+  /**
+   * Parses the remaining UTF-8 encoded bytes of the given buffer as JSON. The input must contain a
+   * valid JSON value, optionally padded with whitespace. This method is well suited for memory
+   * mapped files, the contents of the buffer are not copied. The position of the buffer is not
+   * changed.
+   *
+   * @param buffer
+   *          the buffer that contains the UTF-8 encoded input, e.g. a mapped file
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue parse(ByteBuffer buffer) {
+    if (buffer == null) {
+      throw new NullPointerException("buffer is null");
+    }
+    if (buffer.hasArray()) {
+      int offset = buffer.arrayOffset() + buffer.position();
+      return parse(new ByteArraySource(buffer.array(), offset, buffer.remaining()));
+    }
+    return parse(new ByteBufferSource(buffer));
+  }
+
+  private JsonValue parse(Source source) {
+    if (source.length < 2 * minChunkSize) {
+      return parseSequentially(source);
+    }
+    int[] separators = scan(source);
+    if (separators == null) {
+      return parseSequentially(source);
+    }
+    List<Future<JsonArray>> futures = new ArrayList<Future<JsonArray>>();
+    int first = 0;
+    int count = separators.length - 1;
+    for (int i = 1; i <= count; i++) {
+      if (separators[i] - separators[first] >= minChunkSize || i == count) {
+        futures.add(executor.submit(new ChunkTask(source, separators, first, i)));
+        first = i;
+      }
+    }
+    JsonArray array = new JsonArray();
+    try {
+      for (Future<JsonArray> future : futures) {
+        array.addElements(future.get());
+      }
+    } catch (InterruptedException exception) {
+      cancel(futures);
+      Thread.currentThread().interrupt();
+      throw new RuntimeException(exception);
+    } catch (ExecutionException exception) {
+      cancel(futures);
+      Throwable cause = exception.getCause();
+      if (cause instanceof ParseException) {
+        // report the error with its location in the entire input
+        return parseSequentially(source);
+      }
+      if (cause instanceof RuntimeException) {
+        throw (RuntimeException)cause;
+      }
+      if (cause instanceof Error) {
+        throw (Error)cause;
+      }
+      throw new RuntimeException(cause);
+    }
+    return array;
+  }
+
+  private static JsonValue parseSequentially(Source source) {
+    DefaultHandler handler = new DefaultHandler();
+    source.parse(new JsonParser(handler), 0, source.length);
+    return handler.getValue();
+  }
+
+  /*
+   * Returns the positions of the opening bracket, the separating commas, and the closing bracket
+   * of the top-level array, or null if the input is not a top-level array or if it is not
+   * well-formed. Only brackets and quotes are taken into account, the elements are validated when
+   * they are parsed.
+   */
+  private static int[] scan(Source source) {
+    int length = source.length;
+    int index = skipWhiteSpace(source, 0);
+    if (index == length || source.get(index) != '[') {
+      return null;
+    }
+    int[] separators = new int[64];
+    int count = 0;
+    separators[count++] = index++;
+    int depth = 1;
+    while (depth > 0) {
+      if (index == length) {
+        return null;
+      }
+      int ch = source.get(index);
+      if (ch == '"') {
+        index++;
+        while (index < length && (ch = source.get(index)) != '"') {
+          index += ch == '\\' ? 2 : 1;
+        }
+        if (index >= length) {
+          return null;
+        }
+      } else if (ch == '[' || ch == '{') {
+        if (++depth > JsonParser.MAX_NESTING_LEVEL) {
+          return null;
+        }
+      } else if (ch == ']' || ch == '}') {
+        if (--depth == 0 && ch != ']') {
+          // the top-level array is closed by a brace
+          return null;
+        }
+      }
+      if (depth == 0 || depth == 1 && ch == ',') {
+        if (count == separators.length) {
+          int[] newSeparators = new int[count * 2];
+          System.arraycopy(separators, 0, newSeparators, 0, count);
+          separators = newSeparators;
+        }
+        separators[count++] = index;
+      }
+      index++;
+    }
+    if (skipWhiteSpace(source, index) != length || count == 2) {
+      // trailing garbage, or possibly an empty array
+      return null;
+    }
+    int[] result = new int[count];
+    System.arraycopy(separators, 0, result, 0, count);
+    return result;
+  }
+
+  private static int skipWhiteSpace(Source source, int index) {
+    while (index < source.length) {
+      int ch = source.get(index);
+      if (ch != ' ' && ch != '\t' && ch != '\n' && ch != '\r') {
+        break;
+      }
+      index++;
+    }
+    return index;
+  }
+
+  private static void cancel(List<Future<JsonArray>> futures) {
+    for (Future<JsonArray> future : futures) {
+      future.cancel(false);
+    }
+  }
+
+  private static class ChunkTask implements Callable<JsonArray> {
+
+    private final Source source;
+    private final int[] separators;
+    private final int first;
+    private final int last;
+
+    ChunkTask(Source source, int[] separators, int first, int last) {
+      this.source = source;
+      this.separators = separators;
+      this.first = first;
+      this.last = last;
+    }
+
+    public JsonArray call() {
+      DefaultHandler handler = new DefaultHandler();
+      JsonParser parser = new JsonParser(handler);
+      // collect the elements like the handler does for a sequentially parsed array, so that numbers
+      // end up in primitive storage
+      JsonArray array = handler.startArray();
+      for (int i = first; i < last; i++) {
+        int start = separators[i] + 1;
+        source.parse(parser, start, separators[i + 1] - start);
+        handler.endArrayValue(array);
+      }
+      return array;
+    }
+
+  }
+
+  private abstract static class Source {
+
+    final int length;
+
+    Source(int length) {
+      this.length = length;
+    }
+
+    abstract int get(int index);
+
+    abstract void parse(JsonParser parser, int offset, int length);
+
+  }
+
+  private static class CharArraySource extends Source {
+
+    private final char[] chars;
+
+    CharArraySource(char[] chars) {
+      super(chars.length);
+      this.chars = chars;
+    }
+
+    @Override
+    int get(int index) {
+      return chars[index];
+    }
+
+    @Override
+    void parse(JsonParser parser, int offset, int length) {
+      parser.parse(chars, offset, length);
+    }
+
+  }
+
+  private static class ByteArraySource extends Source {
+
+    private final byte[] bytes;
+    private final int offset;
+
+    ByteArraySource(byte[] bytes) {
+      this(bytes, 0, bytes.length);
+    }
+
+    ByteArraySource(byte[] bytes, int offset, int length) {
+      super(length);
+      this.bytes = bytes;
+      this.offset = offset;
+    }
+
+    @Override
+    int get(int index) {
+      // multi-byte sequences never contain ASCII bytes, hence all structural characters are found
+      return bytes[offset + index];
+    }
+
+    @Override
+    void parse(JsonParser parser, int start, int length) {
+      parser.parse(bytes, offset + start, length);
+    }
+
+  }
+
+  private static class ByteBufferSource extends Source {
+
+    private final ByteBuffer buffer;
+    private final int offset;
+
+    ByteBufferSource(ByteBuffer buffer) {
+      super(buffer.remaining());
+      this.buffer = buffer;
+      offset = buffer.position();
+    }
+
+    @Override
+    int get(int index) {
+      return buffer.get(offset + index);
+    }
+
+    @Override
+    void parse(JsonParser parser, int start, int length) {
+      ByteBuffer slice = buffer.duplicate();
+      slice.limit(offset + start + length);
+      slice.position(offset + start);
+      try {
+        parser.parse(new ByteBufferInputStream(slice));
+      } catch (IOException exception) {
+        // reading from a buffer does not throw IOException
+        throw new RuntimeException(exception);
+      }
+    }
+
+  }
+
+  private static class ByteBufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    ByteBufferInputStream(ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int read() {
+      return buffer.hasRemaining() ? buffer.get() & 0xff : -1;
+    }
+
+    @Override
+    public int read(byte[] bytes, int offset, int length) {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+
+  }
+
+}
@@ -28,10 +28,25 @@ package com.eclipsesource.json;
 public class ParseException extends RuntimeException {
 
   private final Location location;
+  private transient boolean captureStackTrace;
 
   ParseException(String message, Location location) {
+    this(message, location, true);
+  }
+
+  ParseException(String message, Location location, boolean captureStackTrace) {
     super(message + " at " + location);
     this.location = location;
+    this.captureStackTrace = captureStackTrace;
+    if (captureStackTrace) {
+      // the super constructor runs before this flag is set and leaves the stack trace empty
+      fillInStackTrace();
+    }
+  }
+
+  @Override
+  public synchronized Throwable fillInStackTrace() {
+    return captureStackTrace ? super.fillInStackTrace() : this;
   }
 
   /**
@@ -78,4 +93,9 @@ public class ParseException extends RuntimeException {
     return location.column;
   }
 
+  String getReason() {
+    String message = getMessage();
+    return message.substring(0, message.lastIndexOf(" at "));
+  }
+
 }
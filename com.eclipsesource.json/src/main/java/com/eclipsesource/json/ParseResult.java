@@ -0,0 +1,102 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+
+/**
+ * The outcome of parsing an input that may not be valid JSON. A result holds either the parsed
+ * value or a description of the error and its location. Use {@link Json#tryParse(String)} to
+ * obtain a result, for example:
+ *
+ * <pre>
+ * ParseResult result = Json.tryParse(input);
+ * if (result.isValid()) {
+ *   JsonValue value = result.getValue();
+ *   ...
+ * } else {
+ *   log(result.getError() + " at " + result.getLocation());
+ * }
+ * </pre>
+ */
+public final class ParseResult {
+
+  private final JsonValue value;
+  private final String error;
+  private final Location location;
+
+  private ParseResult(JsonValue value, String error, Location location) {
+    this.value = value;
+    this.error = error;
+    this.location = location;
+  }
+
+  static ParseResult success(JsonValue value) {
+    return new ParseResult(value, null, null);
+  }
+
+  static ParseResult failure(ParseException exception) {
+    return new ParseResult(null, exception.getReason(), exception.getLocation());
+  }
+
+  /**
+   * Indicates whether the input was valid JSON.
+   *
+   * @return <code>true</code> if the input was parsed successfully
+   */
+  public boolean isValid() {
+    return error == null;
+  }
+
+  /**
+   * Returns the parsed value.
+   *
+   * @return the parsed value, or <code>null</code> if the input was not valid JSON
+   */
+  public JsonValue getValue() {
+    return value;
+  }
+
+  /**
+   * Returns a description of the error, without its location, such as
+   * <code>Expected ',' or ']'</code> or <code>Unexpected end of input</code>.
+   *
+   * @return the error description, or <code>null</code> if the input was valid JSON
+   */
+  public String getError() {
+    return error;
+  }
+
+  /**
+   * Returns the location of the error.
+   *
+   * @return the error location, or <code>null</code> if the input was valid JSON
+   */
+  public Location getLocation() {
+    return location;
+  }
+
+  @Override
+  public String toString() {
+    return isValid() ? value.toString() : error + " at " + location;
+  }
+
+}
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+
+/**
+ * Controls optional features of the parser. A config is immutable, every <code>with</code> method
+ * returns a new instance. Start with {@link #DEFAULT}, for example:
+ *
+ * <pre>
+ * ParserConfig config = ParserConfig.DEFAULT.withKeyCache(256);
+ * JsonValue value = Json.parse(string, config);
+ * </pre>
+ */
+public final class ParserConfig {
+
+  /**
+   * The default configuration, all optional features are disabled and parse exceptions include
+   * a stack trace.
+   */
+  public static final ParserConfig DEFAULT = new ParserConfig(0, 0, true, false, 0);
+
+  private final int keyCacheSize;
+  private final int valueCacheSize;
+  private final boolean stackTraces;
+  private final boolean lazyValues;
+  private final int stringChunkSize;
+
+  private ParserConfig(int keyCacheSize,
+                       int valueCacheSize,
+                       boolean stackTraces,
+                       boolean lazyValues,
+                       int stringChunkSize)
+  {
+    this.keyCacheSize = keyCacheSize;
+    this.valueCacheSize = valueCacheSize;
+    this.stackTraces = stackTraces;
+    this.lazyValues = lazyValues;
+    this.stringChunkSize = stringChunkSize;
+  }
+
+  /**
+   * Returns a copy of this config with a key cache of the given size. When the key cache is
+   * enabled, the parser looks up member names in a cache by their hash code straight from the input
+   * buffer. Names that are already cached are returned without creating a new string. This reduces
+   * allocations considerably for documents that repeat the same names many times. The cache is
+   * bounded, names that compete for the same slot replace each other.
+   *
+   * @param size
+   *          the number of slots in the cache, will be rounded up to a power of two, or
+   *          <code>0</code> to disable the cache
+   * @return a new config with the given key cache size
+   */
+  public ParserConfig withKeyCache(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("size is negative");
+    }
+    return new ParserConfig(size, valueCacheSize, stackTraces, lazyValues, stringChunkSize);
+  }
+
+  /**
+   * Returns a copy of this config with a value cache of the given size. When the value cache is
+   * enabled, short strings of up to 32 characters and integer numbers are looked up in a cache
+   * while parsing. Values that are already cached are shared instead of creating a new instance.
+   * This reduces the memory footprint considerably for documents that repeat the same values many
+   * times, such as enum-like strings or codes. Like the key cache, the value cache is bounded. It
+   * only affects the <code>parse</code> methods of {@link Json} and {@link ParserPool} that create
+   * JSON values.
+   *
+   * @param size
+   *          the number of slots in the cache, will be rounded up to a power of two, or
+   *          <code>0</code> to disable the cache
+   * @return a new config with the given value cache size
+   */
+  public ParserConfig withValueCache(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("size is negative");
+    }
+    return new ParserConfig(keyCacheSize, size, stackTraces, lazyValues, stringChunkSize);
+  }
+
+  /**
+   * Returns a copy of this config that enables or disables stack traces in parse exceptions.
+   * Capturing the stack trace is by far the most expensive part of creating an exception. When
+   * invalid input is expected and the exception is handled right away, disabling stack traces makes
+   * rejecting input almost as cheap as parsing it. Stack traces are enabled by default.
+   *
+   * @param enabled
+   *          <code>false</code> to create parse exceptions without a stack trace
+   * @return a new config with stack traces enabled or disabled
+   */
+  public ParserConfig withStackTraces(boolean enabled) {
+    return new ParserConfig(keyCacheSize, valueCacheSize, enabled, lazyValues, stringChunkSize);
+  }
+
+  /**
+   * Returns a copy of this config that enables or disables lazy values. When lazy values are
+   * enabled, strings and numbers parsed from a string or a char array are not copied from the
+   * input. Instead, they refer to a range of the input and create their Java string only when it is
+   * first requested, e.g. by <code>asString()</code> or <code>asDouble()</code>. When written, they
+   * are copied from the input straight to the output. This saves most of the work for documents of
+   * which only a few values are read. Strings that contain escape sequences are always created
+   * right away.
+   * <p>
+   * Note that lazy values keep the entire input in memory for as long as any of them is in use.
+   * When parsing a char array or a <code>CharBuffer</code> in place, the input must not be modified
+   * afterwards. This option only affects the <code>parse</code> methods of {@link Json} and
+   * {@link ParserPool} that create JSON values.
+   * </p>
+   *
+   * @param enabled
+   *          <code>true</code> to create lazy values
+   * @return a new config with lazy values enabled or disabled
+   */
+  public ParserConfig withLazyValues(boolean enabled) {
+    return new ParserConfig(keyCacheSize, valueCacheSize, stackTraces, enabled, stringChunkSize);
+  }
+
+  /**
+   * Returns a copy of this config that reports long strings in chunks. When string chunks are
+   * enabled, the parser reports string values that are longer than the given size to
+   * {@link JsonHandler#stringChunk(char[], int, int)} in pieces of at most this size, enclosed by
+   * {@link JsonHandler#startStringChunks()} and {@link JsonHandler#endStringChunks()}. Handlers can
+   * then pass huge strings, such as embedded attachments, to a decoder or a file without holding
+   * them in memory as a whole. Shorter strings and member names are reported as usual.
+   * <p>
+   * This option only affects a {@link JsonParser}. Handlers that do not override the chunk events
+   * receive the reassembled string in {@link JsonHandler#endString(String)}.
+   * </p>
+   *
+   * @param size
+   *          the maximum number of characters in a chunk, or <code>0</code> to report all strings
+   *          as a whole
+   * @return a new config with the given string chunk size
+   */
+  public ParserConfig withStringChunks(int size) {
+    if (size < 0) {
+      throw new IllegalArgumentException("size is negative");
+    }
+    return new ParserConfig(keyCacheSize, valueCacheSize, stackTraces, lazyValues, size);
+  }
+
+  int getKeyCacheSize() {
+    return keyCacheSize;
+  }
+
+  int getValueCacheSize() {
+    return valueCacheSize;
+  }
+
+  boolean getStackTraces() {
+    return stackTraces;
+  }
+
+  boolean getLazyValues() {
+    return lazyValues;
+  }
+
+  int getStringChunkSize() {
+    return stringChunkSize;
+  }
+
+}
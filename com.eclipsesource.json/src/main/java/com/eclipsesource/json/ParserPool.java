@@ -0,0 +1,351 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import com.eclipsesource.json.Json.DefaultHandler;
+
+
+/**
+ * Parses JSON using parsers that are kept per thread and reused for subsequent inputs. Since the
+ * input buffers of a reused parser survive across parses and grow to fit the workload, a pool
+ * avoids most of the allocations of creating a new parser for every input. Unusually large buffers
+ * are released after parsing.
+ * <p>
+ * A pool is thread-safe. It is meant to be created once and kept in a static field, for example:
+ * </p>
+ *
+ * <pre>
+ * private static final ParserPool POOL = new ParserPool();
+ * ...
+ * JsonValue value = POOL.parse(string);
+ * </pre>
+ * <p>
+ * Pooled parsers are kept until their thread ends. Hence, a pool should only be used on threads
+ * that parse frequently. If a parse method is called again on the same thread while a parse is in
+ * progress, for example from a reader that parses JSON itself, the nested call uses a new parser.
+ * </p>
+ */
+public final class ParserPool {
+
+  private final ParserConfig config;
+  private final ThreadLocal<Entry> entries;
+
+  /**
+   * Creates a new pool of parsers with the default configuration.
+   */
+  public ParserPool() {
+    this(ParserConfig.DEFAULT);
+  }
+
+  /**
+   * Creates a new pool of parsers with the given configuration. Caches enabled in the configuration
+   * are kept per thread and survive across parses.
+   *
+   * @param config
+   *          the parser configuration to use
+   */
+  public ParserPool(ParserConfig config) {
+    if (config == null) {
+      throw new NullPointerException("config is null");
+    }
+    this.config = config;
+    entries = new ThreadLocal<Entry>() {
+      @Override
+      protected Entry initialValue() {
+        return new Entry(ParserPool.this.config);
+      }
+    };
+  }
+
+  /**
+   * Parses the given input string as JSON. The input must contain a valid JSON value, optionally
+   * padded with whitespace.
+   *
+   * @param string
+   *          the input string, must be valid JSON
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue parse(String string) {
+    if (string == null) {
+      throw new NullPointerException("string is null");
+    }
+    Entry entry = acquire();
+    try {
+      entry.parser.parse(string);
+      return entry.handler.getValue();
+    } finally {
+      release(entry);
+    }
+  }
+
+  /**
+   * Parses the given character sequence as JSON. The input must contain a valid JSON value,
+   * optionally padded with whitespace.
+   *
+   * @param chars
+   *          the input characters, must be valid JSON
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue parse(CharSequence chars) {
+    if (chars == null) {
+      throw new NullPointerException("chars is null");
+    }
+    Entry entry = acquire();
+    try {
+      entry.parser.parse(chars);
+      return entry.handler.getValue();
+    } finally {
+      release(entry);
+    }
+  }
+
+  /**
+   * Parses the given UTF-8 encoded bytes as JSON. The input must contain a valid JSON value,
+   * optionally padded with whitespace.
+   *
+   * @param bytes
+   *          the UTF-8 encoded input, must be valid JSON
+   * @return a value that represents the parsed JSON
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue parse(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    Entry entry = acquire();
+    try {
+      entry.parser.parse(bytes);
+      return entry.handler.getValue();
+    } finally {
+      release(entry);
+    }
+  }
+
+  /**
+   * Reads the entire input from the given reader and parses it as JSON. The input must contain a
+   * valid JSON value, optionally padded with whitespace.
+   *
+   * @param reader
+   *          the reader to read the JSON value from
+   * @return a value that represents the parsed JSON
+   * @throws IOException
+   *           if an I/O error occurs in the reader
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue parse(Reader reader) throws IOException {
+    if (reader == null) {
+      throw new NullPointerException("reader is null");
+    }
+    Entry entry = acquire();
+    try {
+      entry.parser.parse(reader);
+      return entry.handler.getValue();
+    } finally {
+      release(entry);
+    }
+  }
+
+  /**
+   * Reads the entire input from the given stream and parses it as UTF-8 encoded JSON. The input
+   * must contain a valid JSON value, optionally padded with whitespace. The stream is not closed.
+   *
+   * @param input
+   *          the stream to read the JSON value from
+   * @return a value that represents the parsed JSON
+   * @throws IOException
+   *           if an I/O error occurs in the stream
+   * @throws ParseException
+   *           if the input is not valid JSON
+   */
+  public JsonValue parse(InputStream input) throws IOException {
+    if (input == null) {
+      throw new NullPointerException("input is null");
+    }
+    Entry entry = acquire();
+    try {
+      entry.parser.parse(input);
+      return entry.handler.getValue();
+    } finally {
+      release(entry);
+    }
+  }
+
+  /**
+   * Parses the given input string as JSON without throwing an exception for invalid input. Since
+   * errors are reported in the result, exceptions are created internally without stack traces.
+   *
+   * @param string
+   *          the input string
+   * @return the result that contains either the parsed value or the error
+   */
+  public ParseResult tryParse(String string) {
+    if (string == null) {
+      throw new NullPointerException("string is null");
+    }
+    Entry entry = acquire();
+    try {
+      entry.getQuietParser().parse(string);
+      return ParseResult.success(entry.quietHandler.getValue());
+    } catch (ParseException exception) {
+      return ParseResult.failure(exception);
+    } finally {
+      release(entry);
+    }
+  }
+
+  /**
+   * Parses the given UTF-8 encoded bytes as JSON without throwing an exception for invalid input.
+   * Since errors are reported in the result, exceptions are created internally without stack
+   * traces.
+   *
+   * @param bytes
+   *          the UTF-8 encoded input
+   * @return the result that contains either the parsed value or the error
+   */
+  public ParseResult tryParse(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    Entry entry = acquire();
+    try {
+      entry.getQuietParser().parse(bytes);
+      return ParseResult.success(entry.quietHandler.getValue());
+    } catch (ParseException exception) {
+      return ParseResult.failure(exception);
+    } finally {
+      release(entry);
+    }
+  }
+
+  /**
+   * Checks whether the given input string is valid JSON. The input is only scanned, no values are
+   * created.
+   *
+   * @param string
+   *          the input string
+   * @return <code>true</code> if the input is valid JSON
+   */
+  public boolean isValid(String string) {
+    if (string == null) {
+      throw new NullPointerException("string is null");
+    }
+    Entry entry = acquire();
+    try {
+      entry.getValidator().parse(string);
+      return true;
+    } catch (ParseException exception) {
+      return false;
+    } finally {
+      release(entry);
+    }
+  }
+
+  /**
+   * Checks whether the given UTF-8 encoded bytes are valid JSON. The input is only scanned, no
+   * values are created.
+   *
+   * @param bytes
+   *          the UTF-8 encoded input
+   * @return <code>true</code> if the input is valid JSON
+   */
+  public boolean isValid(byte[] bytes) {
+    if (bytes == null) {
+      throw new NullPointerException("bytes is null");
+    }
+    Entry entry = acquire();
+    try {
+      entry.getValidator().parse(bytes);
+      return true;
+    } catch (ParseException exception) {
+      return false;
+    } finally {
+      release(entry);
+    }
+  }
+
+  private Entry acquire() {
+    Entry entry = entries.get();
+    if (entry.inUse) {
+      // nested call from within a parse on this thread, must not share the parser in use
+      entry = new Entry(config);
+    }
+    entry.inUse = true;
+    return entry;
+  }
+
+  private static void release(Entry entry) {
+    entry.handler.value = null;
+    entry.parser.reset();
+    if (entry.quietParser != null) {
+      entry.quietHandler.value = null;
+      entry.quietParser.reset();
+    }
+    if (entry.validator != null) {
+      entry.validator.reset();
+    }
+    entry.inUse = false;
+  }
+
+  private static class Entry {
+
+    final ParserConfig config;
+    final DefaultHandler handler;
+    final JsonParser parser;
+    DefaultHandler quietHandler;
+    JsonParser quietParser;
+    JsonParser validator;
+    boolean inUse;
+
+    Entry(ParserConfig config) {
+      this.config = config;
+      handler = Json.createHandler(config);
+      parser = new JsonParser(handler, config);
+    }
+
+    JsonParser getQuietParser() {
+      if (quietParser == null) {
+        quietHandler = Json.createHandler(config);
+        quietParser = new JsonParser(quietHandler, config.withStackTraces(false));
+      }
+      return quietParser;
+    }
+
+    JsonParser getValidator() {
+      if (validator == null) {
+        validator = JsonParser.createValidator(config.withStackTraces(false));
+      }
+      return validator;
+    }
+
+  }
+
+}
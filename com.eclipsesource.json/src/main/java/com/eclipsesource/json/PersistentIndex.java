@@ -0,0 +1,227 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+
+/*
+ * An immutable map from names to int indexes that shares structure between versions. It is a hash
+ * array mapped trie: every node consumes 5 bits of the hash and stores only the slots in use,
+ * along with a bitmap of these slots. Each slot holds either a name or a child node. Names with
+ * equal hashes end up in a collision node below the last level, which is searched linearly.
+ */
+final class PersistentIndex {
+
+  static final PersistentIndex EMPTY = new PersistentIndex(new Node(0, new Object[0], new int[0]));
+
+  private static final int BITS = 5;
+  private static final int MASK = (1 << BITS) - 1;
+  private static final int MAX_SHIFT = 30;
+
+  private final Node root;
+
+  private PersistentIndex(Node root) {
+    this.root = root;
+  }
+
+  /*
+   * Returns the index stored for the given name, or -1 if the name is not contained.
+   */
+  int get(String name) {
+    return root.get(name.hashCode(), name, 0);
+  }
+
+  PersistentIndex with(String name, int index) {
+    return new PersistentIndex(root.put(name.hashCode(), name, index, 0));
+  }
+
+  PersistentIndex without(String name) {
+    Node node = root.remove(name.hashCode(), name, 0);
+    return node == root ? this : new PersistentIndex(node);
+  }
+
+  private static final class Node {
+
+    private final int bitmap; // unused in collision nodes
+    private final Object[] entries; // names and child nodes
+    private final int[] indexes;
+
+    Node(int bitmap, Object[] entries, int[] indexes) {
+      this.bitmap = bitmap;
+      this.entries = entries;
+      this.indexes = indexes;
+    }
+
+    int get(int hash, String name, int shift) {
+      if (shift > MAX_SHIFT) {
+        int position = find(name);
+        return position == -1 ? -1 : indexes[position];
+      }
+      int bit = 1 << ((hash >>> shift) & MASK);
+      if ((bitmap & bit) == 0) {
+        return -1;
+      }
+      int position = Integer.bitCount(bitmap & (bit - 1));
+      Object entry = entries[position];
+      if (entry instanceof Node) {
+        return ((Node)entry).get(hash, name, shift + BITS);
+      }
+      return name.equals(entry) ? indexes[position] : -1;
+    }
+
+    Node put(int hash, String name, int index, int shift) {
+      if (shift > MAX_SHIFT) {
+        int position = find(name);
+        if (position == -1) {
+          int end = entries.length;
+          return new Node(0, insert(entries, end, name), insert(indexes, end, index));
+        }
+        return new Node(0, entries, replace(indexes, position, index));
+      }
+      int bit = 1 << ((hash >>> shift) & MASK);
+      int position = Integer.bitCount(bitmap & (bit - 1));
+      if ((bitmap & bit) == 0) {
+        Object[] newEntries = insert(entries, position, name);
+        return new Node(bitmap | bit, newEntries, insert(indexes, position, index));
+      }
+      Object entry = entries[position];
+      if (entry instanceof Node) {
+        Node child = ((Node)entry).put(hash, name, index, shift + BITS);
+        return new Node(bitmap, replace(entries, position, child), indexes);
+      }
+      if (name.equals(entry)) {
+        return new Node(bitmap, entries, replace(indexes, position, index));
+      }
+      String other = (String)entry;
+      int otherIndex = indexes[position];
+      Node child = pair(other, otherIndex, other.hashCode(), name, index, hash, shift + BITS);
+      return new Node(bitmap, replace(entries, position, child), indexes);
+    }
+
+    /*
+     * Returns a node without the given name, the node itself if it does not contain the name.
+     */
+    Node remove(int hash, String name, int shift) {
+      if (shift > MAX_SHIFT) {
+        int position = find(name);
+        if (position == -1) {
+          return this;
+        }
+        return new Node(0, delete(entries, position), delete(indexes, position));
+      }
+      int bit = 1 << ((hash >>> shift) & MASK);
+      if ((bitmap & bit) == 0) {
+        return this;
+      }
+      int position = Integer.bitCount(bitmap & (bit - 1));
+      Object entry = entries[position];
+      if (entry instanceof Node) {
+        Node child = ((Node)entry).remove(hash, name, shift + BITS);
+        if (child == entry) {
+          return this;
+        }
+        if (child.entries.length != 0) {
+          return new Node(bitmap, replace(entries, position, child), indexes);
+        }
+      } else if (!name.equals(entry)) {
+        return this;
+      }
+      return new Node(bitmap ^ bit, delete(entries, position), delete(indexes, position));
+    }
+
+    private int find(String name) {
+      for (int i = 0; i < entries.length; i++) {
+        if (name.equals(entries[i])) {
+          return i;
+        }
+      }
+      return -1;
+    }
+
+    private static Node pair(String name1,
+                             int index1,
+                             int hash1,
+                             String name2,
+                             int index2,
+                             int hash2,
+                             int shift)
+    {
+      if (shift > MAX_SHIFT) {
+        return new Node(0, new Object[] {name1, name2}, new int[] {index1, index2});
+      }
+      int fragment1 = (hash1 >>> shift) & MASK;
+      int fragment2 = (hash2 >>> shift) & MASK;
+      if (fragment1 == fragment2) {
+        Node child = pair(name1, index1, hash1, name2, index2, hash2, shift + BITS);
+        return new Node(1 << fragment1, new Object[] {child}, new int[1]);
+      }
+      int bitmap = (1 << fragment1) | (1 << fragment2);
+      if (fragment1 < fragment2) {
+        return new Node(bitmap, new Object[] {name1, name2}, new int[] {index1, index2});
+      }
+      return new Node(bitmap, new Object[] {name2, name1}, new int[] {index2, index1});
+    }
+
+  }
+
+  private static Object[] insert(Object[] array, int position, Object element) {
+    Object[] result = new Object[array.length + 1];
+    System.arraycopy(array, 0, result, 0, position);
+    result[position] = element;
+    System.arraycopy(array, position, result, position + 1, array.length - position);
+    return result;
+  }
+
+  private static int[] insert(int[] array, int position, int element) {
+    int[] result = new int[array.length + 1];
+    System.arraycopy(array, 0, result, 0, position);
+    result[position] = element;
+    System.arraycopy(array, position, result, position + 1, array.length - position);
+    return result;
+  }
+
+  private static Object[] replace(Object[] array, int position, Object element) {
+    Object[] result = array.clone();
+    result[position] = element;
+    return result;
+  }
+
+  private static int[] replace(int[] array, int position, int element) {
+    int[] result = array.clone();
+    result[position] = element;
+    return result;
+  }
+
+  private static Object[] delete(Object[] array, int position) {
+    Object[] result = new Object[array.length - 1];
+    System.arraycopy(array, 0, result, 0, position);
+    System.arraycopy(array, position + 1, result, position, array.length - position - 1);
+    return result;
+  }
+
+  private static int[] delete(int[] array, int position) {
+    int[] result = new int[array.length - 1];
+    System.arraycopy(array, 0, result, 0, position);
+    System.arraycopy(array, position + 1, result, position, array.length - position - 1);
+    return result;
+  }
+
+}
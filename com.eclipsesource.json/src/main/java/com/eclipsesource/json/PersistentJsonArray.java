@@ -0,0 +1,347 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/**
+ * Represents an immutable JSON array whose versions share their structure. Instead of modifying
+ * an array, the methods {@link #append(JsonValue)} and {@link #with(int, JsonValue)} return a new
+ * version of it in <em>O(log n)</em> time. All elements that are not affected by a change are
+ * shared between both versions, hence deriving many slightly modified copies of a large array is
+ * cheap, unlike copying it with {@link JsonArray#JsonArray(JsonArray)}.
+ * <p>
+ * Versions are derived from the {@link #EMPTY} array or from an existing <code>JsonArray</code>
+ * using {@link #of(JsonArray)}.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and can be shared between threads. Note that elements
+ * are not copied, so a contained <code>JsonObject</code> or <code>JsonArray</code> remains
+ * mutable. As this class is not a <code>JsonArray</code>, {@link #isArray()} returns
+ * <code>false</code>. Use {@link #toJsonArray()} to obtain a <code>JsonArray</code> with the same
+ * elements.
+ * </p>
+ */
+@SuppressWarnings("serial") // use default serial UID
+public final class PersistentJsonArray extends JsonValue implements Iterable<JsonValue> {
+
+  /**
+   * An empty array.
+   */
+  public static final PersistentJsonArray EMPTY
+      = new PersistentJsonArray(PersistentVector.<JsonValue>empty());
+
+  private final transient PersistentVector<JsonValue> values;
+
+  private PersistentJsonArray(PersistentVector<JsonValue> values) {
+    this.values = values;
+  }
+
+  /**
+   * Returns a persistent array with the elements of the given JSON array.
+   *
+   * @param array
+   *          the JSON array to get the elements from, must not be <code>null</code>
+   * @return a persistent array with the elements of the given array
+   */
+  public static PersistentJsonArray of(JsonArray array) {
+    if (array == null) {
+      throw new NullPointerException("array is null");
+    }
+    PersistentVector<JsonValue> values = PersistentVector.empty();
+    for (JsonValue value : array) {
+      values = values.append(value);
+    }
+    return new PersistentJsonArray(values);
+  }
+
+  /**
+   * Returns a version of this array with the JSON representation of the specified
+   * <code>int</code> value appended to the end.
+   *
+   * @param value
+   *          the value to append
+   * @return an array with the specified value appended
+   */
+  public PersistentJsonArray append(int value) {
+    return append(Json.value(value));
+  }
+
+  /**
+   * Returns a version of this array with the JSON representation of the specified
+   * <code>long</code> value appended to the end.
+   *
+   * @param value
+   *          the value to append
+   * @return an array with the specified value appended
+   */
+  public PersistentJsonArray append(long value) {
+    return append(Json.value(value));
+  }
+
+  /**
+   * Returns a version of this array with the JSON representation of the specified
+   * <code>float</code> value appended to the end.
+   *
+   * @param value
+   *          the value to append
+   * @return an array with the specified value appended
+   */
+  public PersistentJsonArray append(float value) {
+    return append(Json.value(value));
+  }
+
+  /**
+   * Returns a version of this array with the JSON representation of the specified
+   * <code>double</code> value appended to the end.
+   *
+   * @param value
+   *          the value to append
+   * @return an array with the specified value appended
+   */
+  public PersistentJsonArray append(double value) {
+    return append(Json.value(value));
+  }
+
+  /**
+   * Returns a version of this array with the JSON representation of the specified
+   * <code>boolean</code> value appended to the end.
+   *
+   * @param value
+   *          the value to append
+   * @return an array with the specified value appended
+   */
+  public PersistentJsonArray append(boolean value) {
+    return append(Json.value(value));
+  }
+
+  /**
+   * Returns a version of this array with the JSON representation of the specified string appended
+   * to the end.
+   *
+   * @param value
+   *          the string to append
+   * @return an array with the specified value appended
+   */
+  public PersistentJsonArray append(String value) {
+    return append(Json.value(value));
+  }
+
+  /**
+   * Returns a version of this array with the specified JSON value appended to the end. This array
+   * remains unchanged.
+   *
+   * @param value
+   *          the value to append, must not be <code>null</code>
+   * @return an array with the specified value appended
+   */
+  public PersistentJsonArray append(JsonValue value) {
+    if (value == null) {
+      throw new NullPointerException("value is null");
+    }
+    return new PersistentJsonArray(values.append(value));
+  }
+
+  /**
+   * Returns a version of this array with the element at the specified position replaced by the
+   * specified JSON value. This array remains unchanged.
+   *
+   * @param index
+   *          the index of the array element to replace
+   * @param value
+   *          the value to be stored at the specified array position, must not be <code>null</code>
+   * @return an array with the specified element replaced
+   * @throws IndexOutOfBoundsException
+   *           if the index is out of range, i.e. <code>index &lt; 0</code> or
+   *           <code>index &gt;= size</code>
+   */
+  public PersistentJsonArray with(int index, JsonValue value) {
+    if (value == null) {
+      throw new NullPointerException("value is null");
+    }
+    return new PersistentJsonArray(values.set(index, value));
+  }
+
+  /**
+   * Returns the number of elements in this array.
+   *
+   * @return the number of elements in this array
+   */
+  public int size() {
+    return values.size();
+  }
+
+  /**
+   * Returns <code>true</code> if this array contains no elements.
+   *
+   * @return <code>true</code> if this array contains no elements
+   */
+  public boolean isEmpty() {
+    return values.size() == 0;
+  }
+
+  /**
+   * Returns the value of the element at the specified position in this array.
+   *
+   * @param index
+   *          the index of the array element to return
+   * @return the value of the element at the specified position
+   * @throws IndexOutOfBoundsException
+   *           if the index is out of range, i.e. <code>index &lt; 0</code> or
+   *           <code>index &gt;= size</code>
+   */
+  public JsonValue get(int index) {
+    return values.get(index);
+  }
+
+  /**
+   * Returns a list of the values in this array in document order. The returned list cannot be
+   * modified.
+   *
+   * @return a list of the values in this array
+   */
+  public List<JsonValue> values() {
+    return new ValuesList(values);
+  }
+
+  /**
+   * Returns a new <code>JsonArray</code> with the elements of this array.
+   *
+   * @return a JSON array with the elements of this array
+   */
+  public JsonArray toJsonArray() {
+    JsonArray array = new JsonArray();
+    for (JsonValue value : this) {
+      array.add(value);
+    }
+    return array;
+  }
+
+  /**
+   * Returns an iterator over the values of this array in document order. The returned iterator
+   * cannot be used to modify this array.
+   *
+   * @return an iterator over the values of this array
+   */
+  public Iterator<JsonValue> iterator() {
+    return values.iterator();
+  }
+
+  @Override
+  void write(JsonWriter writer) throws IOException {
+    writer.writeArrayOpen();
+    Iterator<JsonValue> iterator = iterator();
+    if (iterator.hasNext()) {
+      iterator.next().write(writer);
+      while (iterator.hasNext()) {
+        writer.writeArraySeparator();
+        iterator.next().write(writer);
+      }
+    }
+    writer.writeArrayClose();
+  }
+
+  @Override
+  public int hashCode() {
+    return values().hashCode();
+  }
+
+  /**
+   * Indicates whether a given object is "equal to" this array. An object is considered equal if it
+   * is also a <code>PersistentJsonArray</code> and both arrays contain the same list of values.
+   *
+   * @param object
+   *          the reference object with which to compare
+   * @return true if this object is the same as the object argument; false otherwise
+   */
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) {
+      return true;
+    }
+    if (object == null) {
+      return false;
+    }
+    if (getClass() != object.getClass()) {
+      return false;
+    }
+    PersistentJsonArray other = (PersistentJsonArray)object;
+    return values().equals(other.values());
+  }
+
+  private Object writeReplace() {
+    return new SerializedForm(toJsonArray());
+  }
+
+  private void readObject(ObjectInputStream inputStream) throws InvalidObjectException {
+    throw new InvalidObjectException("serialized form required");
+  }
+
+  private static class ValuesList extends AbstractList<JsonValue> implements RandomAccess {
+
+    private final PersistentVector<JsonValue> values;
+
+    ValuesList(PersistentVector<JsonValue> values) {
+      this.values = values;
+    }
+
+    @Override
+    public JsonValue get(int index) {
+      return values.get(index);
+    }
+
+    @Override
+    public int size() {
+      return values.size();
+    }
+
+    @Override
+    public Iterator<JsonValue> iterator() {
+      return values.iterator();
+    }
+
+  }
+
+  @SuppressWarnings("serial") // use default serial UID
+  private static class SerializedForm implements Serializable {
+
+    private final JsonArray array;
+
+    SerializedForm(JsonArray array) {
+      this.array = array;
+    }
+
+    private Object readResolve() {
+      return of(array);
+    }
+
+  }
+
+}
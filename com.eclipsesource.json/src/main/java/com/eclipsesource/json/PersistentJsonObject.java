@@ -0,0 +1,468 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import com.eclipsesource.json.JsonObject.Member;
+
+
+/**
+ * Represents an immutable JSON object whose versions share their structure. Instead of modifying
+ * an object, the methods {@link #with(String, JsonValue)} and {@link #without(String)} return a
+ * new version of it in <em>O(log n)</em> time. All members that are not affected by a change are
+ * shared between both versions, hence deriving many slightly modified copies of a large object is
+ * cheap, unlike copying it with {@link JsonObject#JsonObject(JsonObject)}.
+ * <p>
+ * Versions are derived from the {@link #EMPTY} object or from an existing <code>JsonObject</code>
+ * using {@link #of(JsonObject)}:
+ * </p>
+ * <pre>
+ * PersistentJsonObject config = PersistentJsonObject.of(document);
+ * PersistentJsonObject copy = config.with("timeout", 5).without("debug");
+ * </pre>
+ * <p>
+ * Like {@link JsonObject}, this class preserves the order of members. Adding a member with a name
+ * that is already contained replaces the value of this member, hence names are always unique.
+ * </p>
+ * <p>
+ * Instances of this class are immutable and can be shared between threads. Note that member
+ * values are not copied, so a contained <code>JsonObject</code> or <code>JsonArray</code> remains
+ * mutable. As this class is not a <code>JsonObject</code>, {@link #isObject()} returns
+ * <code>false</code>. Use {@link #toJsonObject()} to obtain a <code>JsonObject</code> with the
+ * same members.
+ * </p>
+ */
+@SuppressWarnings("serial") // use default serial UID
+public final class PersistentJsonObject extends JsonValue implements Iterable<Member> {
+
+  /**
+   * An empty object.
+   */
+  public static final PersistentJsonObject EMPTY
+      = new PersistentJsonObject(PersistentVector.<Member>empty(), PersistentIndex.EMPTY, 0);
+
+  // removed members leave null gaps, which are dropped once they outnumber the members
+  private static final int MIN_GAPS = 32;
+
+  private final transient PersistentVector<Member> members;
+  private final transient PersistentIndex index;
+  private final transient int size;
+
+  private PersistentJsonObject(PersistentVector<Member> members, PersistentIndex index, int size) {
+    this.members = members;
+    this.index = index;
+    this.size = size;
+  }
+
+  /**
+   * Returns a persistent object with the members of the given JSON object. If the given object
+   * contains multiple members with the same name, the resulting object contains this name only
+   * once, in the position of its first occurrence and with the value of its last occurrence.
+   *
+   * @param object
+   *          the JSON object to get the members from, must not be <code>null</code>
+   * @return a persistent object with the members of the given object
+   */
+  public static PersistentJsonObject of(JsonObject object) {
+    if (object == null) {
+      throw new NullPointerException("object is null");
+    }
+    PersistentJsonObject result = EMPTY;
+    for (Member member : object) {
+      result = result.with(member.getName(), member.getValue());
+    }
+    return result;
+  }
+
+  /**
+   * Returns a version of this object with the specified member set to the JSON representation of
+   * the specified <code>int</code> value.
+   *
+   * @param name
+   *          the name of the member to set
+   * @param value
+   *          the value of the member
+   * @return an object with the specified member
+   * @see #with(String, JsonValue)
+   */
+  public PersistentJsonObject with(String name, int value) {
+    return with(name, Json.value(value));
+  }
+
+  /**
+   * Returns a version of this object with the specified member set to the JSON representation of
+   * the specified <code>long</code> value.
+   *
+   * @param name
+   *          the name of the member to set
+   * @param value
+   *          the value of the member
+   * @return an object with the specified member
+   * @see #with(String, JsonValue)
+   */
+  public PersistentJsonObject with(String name, long value) {
+    return with(name, Json.value(value));
+  }
+
+  /**
+   * Returns a version of this object with the specified member set to the JSON representation of
+   * the specified <code>float</code> value.
+   *
+   * @param name
+   *          the name of the member to set
+   * @param value
+   *          the value of the member
+   * @return an object with the specified member
+   * @see #with(String, JsonValue)
+   */
+  public PersistentJsonObject with(String name, float value) {
+    return with(name, Json.value(value));
+  }
+
+  /**
+   * Returns a version of this object with the specified member set to the JSON representation of
+   * the specified <code>double</code> value.
+   *
+   * @param name
+   *          the name of the member to set
+   * @param value
+   *          the value of the member
+   * @return an object with the specified member
+   * @see #with(String, JsonValue)
+   */
+  public PersistentJsonObject with(String name, double value) {
+    return with(name, Json.value(value));
+  }
+
+  /**
+   * Returns a version of this object with the specified member set to the JSON representation of
+   * the specified <code>boolean</code> value.
+   *
+   * @param name
+   *          the name of the member to set
+   * @param value
+   *          the value of the member
+   * @return an object with the specified member
+   * @see #with(String, JsonValue)
+   */
+  public PersistentJsonObject with(String name, boolean value) {
+    return with(name, Json.value(value));
+  }
+
+  /**
+   * Returns a version of this object with the specified member set to the JSON representation of
+   * the specified string.
+   *
+   * @param name
+   *          the name of the member to set
+   * @param value
+   *          the value of the member
+   * @return an object with the specified member
+   * @see #with(String, JsonValue)
+   */
+  public PersistentJsonObject with(String name, String value) {
+    return with(name, Json.value(value));
+  }
+
+  /**
+   * Returns a version of this object with the specified member set to the specified JSON value. If
+   * this object contains a member with this name, the new version contains the new value in the
+   * position of this member. Otherwise, the member is added at the end. This object remains
+   * unchanged.
+   *
+   * @param name
+   *          the name of the member to set
+   * @param value
+   *          the value of the member, must not be <code>null</code>
+   * @return an object with the specified member
+   */
+  public PersistentJsonObject with(String name, JsonValue value) {
+    if (name == null) {
+      throw new NullPointerException("name is null");
+    }
+    if (value == null) {
+      throw new NullPointerException("value is null");
+    }
+    Member member = new Member(name, value);
+    int position = index.get(name);
+    if (position != -1) {
+      return new PersistentJsonObject(members.set(position, member), index, size);
+    }
+    int end = members.size();
+    return new PersistentJsonObject(members.append(member), index.with(name, end), size + 1);
+  }
+
+  /**
+   * Returns a version of this object without the member with the specified name. If this object
+   * does not contain a member with this name, the object itself is returned. This object remains
+   * unchanged.
+   *
+   * @param name
+   *          the name of the member to remove
+   * @return an object without the specified member
+   */
+  public PersistentJsonObject without(String name) {
+    if (name == null) {
+      throw new NullPointerException("name is null");
+    }
+    int position = index.get(name);
+    if (position == -1) {
+      return this;
+    }
+    PersistentVector<Member> newMembers = members.set(position, null);
+    int gaps = newMembers.size() - (size - 1);
+    if (gaps > MIN_GAPS && gaps > size - 1) {
+      return compact(newMembers);
+    }
+    return new PersistentJsonObject(newMembers, index.without(name), size - 1);
+  }
+
+  /**
+   * Returns the value of the member with the specified name in this object.
+   *
+   * @param name
+   *          the name of the member whose value is to be returned
+   * @return the value of the member with the specified name, or <code>null</code> if this object
+   *         does not contain a member with that name
+   */
+  public JsonValue get(String name) {
+    if (name == null) {
+      throw new NullPointerException("name is null");
+    }
+    int position = index.get(name);
+    return position != -1 ? members.get(position).getValue() : null;
+  }
+
+  /**
+   * Checks if a specified member is present as a child of this object.
+   *
+   * @param name
+   *          the name of the member to check for
+   * @return whether or not the member is present
+   */
+  public boolean contains(String name) {
+    if (name == null) {
+      throw new NullPointerException("name is null");
+    }
+    return index.get(name) != -1;
+  }
+
+  /**
+   * Returns the number of members (name/value pairs) in this object.
+   *
+   * @return the number of members in this object
+   */
+  public int size() {
+    return size;
+  }
+
+  /**
+   * Returns <code>true</code> if this object contains no members.
+   *
+   * @return <code>true</code> if this object contains no members
+   */
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  /**
+   * Returns a list of the names in this object in document order. The returned list cannot be
+   * modified.
+   *
+   * @return a list of the names in this object
+   */
+  public List<String> names() {
+    List<String> names = new ArrayList<String>(size);
+    for (Member member : this) {
+      names.add(member.getName());
+    }
+    return Collections.unmodifiableList(names);
+  }
+
+  /**
+   * Returns a new <code>JsonObject</code> with the members of this object.
+   *
+   * @return a JSON object with the members of this object
+   */
+  public JsonObject toJsonObject() {
+    JsonObject object = new JsonObject();
+    for (Member member : this) {
+      object.add(member.getName(), member.getValue());
+    }
+    return object;
+  }
+
+  /**
+   * Returns an iterator over the members of this object in document order. The returned iterator
+   * cannot be used to modify this object.
+   *
+   * @return an iterator over the members of this object
+   */
+  public Iterator<Member> iterator() {
+    final Iterator<Member> iterator = members.iterator();
+    return new Iterator<Member>() {
+
+      private Member next = advance();
+
+      public boolean hasNext() {
+        return next != null;
+      }
+
+      public Member next() {
+        if (next == null) {
+          throw new NoSuchElementException();
+        }
+        Member member = next;
+        next = advance();
+        return member;
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+
+      private Member advance() {
+        while (iterator.hasNext()) {
+          Member member = iterator.next();
+          if (member != null) {
+            return member;
+          }
+        }
+        return null;
+      }
+
+    };
+  }
+
+  @Override
+  void write(JsonWriter writer) throws IOException {
+    writer.writeObjectOpen();
+    Iterator<Member> iterator = iterator();
+    if (iterator.hasNext()) {
+      writeMember(writer, iterator.next());
+      while (iterator.hasNext()) {
+        writer.writeObjectSeparator();
+        writeMember(writer, iterator.next());
+      }
+    }
+    writer.writeObjectClose();
+  }
+
+  @Override
+  public int hashCode() {
+    // same as JsonObject, computed from the lists of names and values
+    int namesHash = 1;
+    int valuesHash = 1;
+    for (Member member : this) {
+      namesHash = 31 * namesHash + member.getName().hashCode();
+      valuesHash = 31 * valuesHash + member.getValue().hashCode();
+    }
+    int result = 1;
+    result = 31 * result + namesHash;
+    result = 31 * result + valuesHash;
+    return result;
+  }
+
+  /**
+   * Indicates whether a given object is "equal to" this object. An object is considered equal if
+   * it is also a <code>PersistentJsonObject</code> and both objects contain the same members <em>in
+   * the same order</em>.
+   *
+   * @param object
+   *          the reference object with which to compare
+   * @return true if this object is the same as the object argument; false otherwise
+   */
+  @Override
+  public boolean equals(Object object) {
+    if (this == object) {
+      return true;
+    }
+    if (object == null) {
+      return false;
+    }
+    if (getClass() != object.getClass()) {
+      return false;
+    }
+    PersistentJsonObject other = (PersistentJsonObject)object;
+    if (size != other.size) {
+      return false;
+    }
+    Iterator<Member> iterator = other.iterator();
+    for (Member member : this) {
+      if (!member.equals(iterator.next())) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static void writeMember(JsonWriter writer, Member member) throws IOException {
+    writer.writeMemberName(member.getName());
+    writer.writeMemberSeparator();
+    member.getValue().write(writer);
+  }
+
+  private static PersistentJsonObject compact(PersistentVector<Member> members) {
+    PersistentJsonObject result = EMPTY;
+    Iterator<Member> iterator = members.iterator();
+    while (iterator.hasNext()) {
+      Member member = iterator.next();
+      if (member != null) {
+        result = result.with(member.getName(), member.getValue());
+      }
+    }
+    return result;
+  }
+
+  private Object writeReplace() {
+    return new SerializedForm(toJsonObject());
+  }
+
+  private void readObject(ObjectInputStream inputStream) throws InvalidObjectException {
+    throw new InvalidObjectException("serialized form required");
+  }
+
+  @SuppressWarnings("serial") // use default serial UID
+  private static class SerializedForm implements Serializable {
+
+    private final JsonObject object;
+
+    SerializedForm(JsonObject object) {
+      this.object = object;
+    }
+
+    private Object readResolve() {
+      return of(object);
+    }
+
+  }
+
+}
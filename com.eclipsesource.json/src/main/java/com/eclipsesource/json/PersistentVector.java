@@ -0,0 +1,184 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+
+/*
+ * An immutable list that shares structure between versions. Elements are kept in a trie of
+ * 32-element nodes with the last, incomplete node held separately as the tail. Appending and
+ * replacing elements copy only the path to the affected node, i.e. O(log32 n) nodes.
+ */
+final class PersistentVector<E> {
+
+  private static final int BITS = 5;
+  private static final int WIDTH = 1 << BITS;
+  private static final int MASK = WIDTH - 1;
+  private static final PersistentVector<Object> EMPTY
+      = new PersistentVector<Object>(0, BITS, new Object[WIDTH], new Object[0]);
+
+  private final int size;
+  private final int shift;
+  private final Object[] root;
+  private final Object[] tail;
+
+  private PersistentVector(int size, int shift, Object[] root, Object[] tail) {
+    this.size = size;
+    this.shift = shift;
+    this.root = root;
+    this.tail = tail;
+  }
+
+  @SuppressWarnings("unchecked")
+  static <E> PersistentVector<E> empty() {
+    return (PersistentVector<E>)EMPTY;
+  }
+
+  int size() {
+    return size;
+  }
+
+  @SuppressWarnings("unchecked")
+  E get(int index) {
+    checkIndex(index);
+    return (E)nodeFor(index)[index & MASK];
+  }
+
+  PersistentVector<E> append(E element) {
+    if (size - tailOffset() < WIDTH) {
+      Object[] newTail = new Object[tail.length + 1];
+      System.arraycopy(tail, 0, newTail, 0, tail.length);
+      newTail[tail.length] = element;
+      return new PersistentVector<E>(size + 1, shift, root, newTail);
+    }
+    Object[] newRoot;
+    int newShift = shift;
+    if ((size >>> BITS) > (1 << shift)) {
+      // the trie is full, add a level on top
+      newRoot = new Object[WIDTH];
+      newRoot[0] = root;
+      newRoot[1] = newPath(shift, tail);
+      newShift += BITS;
+    } else {
+      newRoot = pushTail(shift, root);
+    }
+    return new PersistentVector<E>(size + 1, newShift, newRoot, new Object[] {element});
+  }
+
+  PersistentVector<E> set(int index, E element) {
+    checkIndex(index);
+    if (index >= tailOffset()) {
+      Object[] newTail = tail.clone();
+      newTail[index & MASK] = element;
+      return new PersistentVector<E>(size, shift, root, newTail);
+    }
+    return new PersistentVector<E>(size, shift, set(shift, root, index, element), tail);
+  }
+
+  Iterator<E> iterator() {
+    return new Iterator<E>() {
+
+      private int index;
+      private Object[] node;
+
+      public boolean hasNext() {
+        return index < size;
+      }
+
+      @SuppressWarnings("unchecked")
+      public E next() {
+        if (index >= size) {
+          throw new NoSuchElementException();
+        }
+        if ((index & MASK) == 0) {
+          node = nodeFor(index);
+        }
+        return (E)node[index++ & MASK];
+      }
+
+      public void remove() {
+        throw new UnsupportedOperationException();
+      }
+
+    };
+  }
+
+  private Object[] nodeFor(int index) {
+    if (index >= tailOffset()) {
+      return tail;
+    }
+    Object[] node = root;
+    for (int level = shift; level > 0; level -= BITS) {
+      node = (Object[])node[(index >>> level) & MASK];
+    }
+    return node;
+  }
+
+  private int tailOffset() {
+    return size < WIDTH ? 0 : ((size - 1) >>> BITS) << BITS;
+  }
+
+  private Object[] pushTail(int level, Object[] parent) {
+    int position = ((size - 1) >>> level) & MASK;
+    Object[] result = parent.clone();
+    if (level == BITS) {
+      result[position] = tail;
+    } else {
+      Object[] child = (Object[])parent[position];
+      if (child != null) {
+        result[position] = pushTail(level - BITS, child);
+      } else {
+        result[position] = newPath(level - BITS, tail);
+      }
+    }
+    return result;
+  }
+
+  private static Object[] newPath(int level, Object[] node) {
+    if (level == 0) {
+      return node;
+    }
+    Object[] result = new Object[WIDTH];
+    result[0] = newPath(level - BITS, node);
+    return result;
+  }
+
+  private static Object[] set(int level, Object[] node, int index, Object element) {
+    Object[] result = node.clone();
+    if (level == 0) {
+      result[index & MASK] = element;
+    } else {
+      int position = (index >>> level) & MASK;
+      result[position] = set(level - BITS, (Object[])node[position], index, element);
+    }
+    return result;
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.eclipsesource.json.Json.DefaultHandler;
+
+
+/**
+ * Selects the parts of a JSON document that should be read. Parsing with a projection creates a
+ * sparse tree that contains only the selected values, all other object members are skipped by a
+ * fast scan, see {@link JsonHandler#skipObjectValue(Object, String)}.
+ * <p>
+ * A projection is created from a set of paths in a syntax similar to JSON Pointer. A path consists
+ * of member names, each preceded by a slash (<code>/</code>). The characters <code>~</code> and
+ * <code>/</code> within a name are escaped as <code>~0</code> and <code>~1</code>, respectively.
+ * Arrays are transparent, i.e. the remainder of a path applies to all elements of an array. The
+ * empty path selects the entire document.
+ * </p>
+ * <p>
+ * Example:
+ * </p>
+ *
+ * <pre>
+ * Projection projection = Projection.of("/order", "/items/name");
+ * JsonObject order = Json.parse(reader, projection).asObject();
+ * </pre>
+ * <p>
+ * Applied to the input <code>{"order": 1, "items": [{"name": "a", "id": 2}], "notes": "x"}</code>,
+ * this projection yields <code>{"order": 1, "items": [{"name": "a"}]}</code>.
+ * </p>
+ */
+public final class Projection {
+
+  private final Node root;
+
+  private Projection(Node root) {
+    this.root = root;
+  }
+
+  /**
+   * Creates a projection that selects the values at the given paths, including all their contents.
+   *
+   * @param paths
+   *          the paths to select
+   * @return a projection for the given paths
+   * @throws IllegalArgumentException
+   *           if one of the paths is not empty and does not start with a slash
+   */
+  public static Projection of(String... paths) {
+    if (paths == null) {
+      throw new NullPointerException("paths is null");
+    }
+    Node root = new Node();
+    for (String path : paths) {
+      if (path == null) {
+        throw new NullPointerException("path is null");
+      }
+      root.add(path);
+    }
+    return new Projection(root);
+  }
+
+  DefaultHandler createHandler() {
+    return new ProjectionHandler(root);
+  }
+
+  private static class ProjectionHandler extends DefaultHandler {
+
+    private final List<Node> nodes = new ArrayList<Node>();
+    private Node next;
+
+    ProjectionHandler(Node root) {
+      next = root;
+    }
+
+    @Override
+    public JsonArray startArray() {
+      nodes.add(next);
+      return super.startArray();
+    }
+
+    @Override
+    public JsonObject startObject() {
+      nodes.add(next);
+      return super.startObject();
+    }
+
+    @Override
+    public void endArray(JsonArray array) {
+      nodes.remove(nodes.size() - 1);
+      super.endArray(array);
+    }
+
+    @Override
+    public void endObject(JsonObject object) {
+      nodes.remove(nodes.size() - 1);
+      super.endObject(object);
+    }
+
+    @Override
+    public void startArrayValue(JsonArray array) {
+      next = nodes.get(nodes.size() - 1);
+    }
+
+    @Override
+    public boolean skipObjectValue(JsonObject object, String name) {
+      next = nodes.get(nodes.size() - 1).get(name);
+      return next == null;
+    }
+
+  }
+
+  private static class Node {
+
+    private Map<String, Node> children = new HashMap<String, Node>();
+
+    void add(String path) {
+      if (path.length() == 0) {
+        children = null;
+        return;
+      }
+      if (path.charAt(0) != '/') {
+        throw new IllegalArgumentException("Path must start with '/': " + path);
+      }
+      Node node = this;
+      int start = 1;
+      while (node.children != null) {
+        int end = path.indexOf('/', start);
+        String name = unescape(path.substring(start, end == -1 ? path.length() : end));
+        Node child = node.children.get(name);
+        if (child == null) {
+          child = new Node();
+          node.children.put(name, child);
+        }
+        node = child;
+        if (end == -1) {
+          node.children = null;
+          break;
+        }
+        start = end + 1;
+      }
+    }
+
+    Node get(String name) {
+      return children == null ? this : children.get(name);
+    }
+
+    private static String unescape(String name) {
+      return name.replace("~1", "/").replace("~0", "~");
+    }
+
+  }
+
+}
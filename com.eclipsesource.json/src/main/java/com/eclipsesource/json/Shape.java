@@ -0,0 +1,152 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.eclipsesource.json.JsonObject.HashIndexTable;
+
+
+/*
+ * The shape of a compact JsonObject, i.e. its sequence of member names together with the index
+ * that maps these names to their positions. Objects with the same names in the same order share a
+ * single shape and only hold their values themselves.
+ *
+ * Shapes form a tree of transitions that starts with an empty root. Extending a shape by a name
+ * yields the same child shape every time. A shape only records its last name, the list of names
+ * and the index are created when an object ends with this shape for the first time. Shapes are
+ * created while parsing and are not thread-safe, hence every handler uses a tree of its own. To
+ * bound the memory held by a tree, shapes are limited in size, fan-out and number.
+ *
+ * The root keeps track of how often extending a shape found an existing shape (hits) and how often
+ * it had to create one or failed (misses). Documents whose objects rarely repeat their names cause
+ * mostly misses, for these, shapes are of no use.
+ */
+final class Shape {
+
+  static final int MAX_SIZE = 32;
+  static final int MAX_TRANSITIONS = 16;
+  static final int MAX_SHAPES = 512;
+
+  private final Shape parent;
+  private final String name;
+  private final int size;
+  private final Shape root;
+  private Map<String, Shape> transitions;
+  private List<String> names;
+  private HashIndexTable table;
+  // only maintained in the root
+  private int count;
+  private int hits;
+  private int misses;
+
+  Shape() {
+    parent = null;
+    name = null;
+    size = 0;
+    root = this;
+    count = 1;
+  }
+
+  private Shape(Shape parent, String name) {
+    this.parent = parent;
+    this.name = name;
+    size = parent.size + 1;
+    root = parent.root;
+  }
+
+  /*
+   * Returns the shape that follows this shape when a member with the given name is added, or null
+   * if the object has to fall back to a mutable layout.
+   */
+  Shape extend(String name) {
+    Shape child = transitions != null ? transitions.get(name) : null;
+    if (child != null) {
+      root.hits++;
+      return child;
+    }
+    root.misses++;
+    if (size == MAX_SIZE || root.count == MAX_SHAPES) {
+      return null;
+    }
+    if (transitions == null) {
+      transitions = new HashMap<String, Shape>();
+    } else if (transitions.size() == MAX_TRANSITIONS) {
+      return null;
+    }
+    child = new Shape(this, name);
+    transitions.put(name, child);
+    root.count++;
+    return child;
+  }
+
+  /*
+   * Returns the names of this shape. The list must not be modified.
+   */
+  List<String> getNames() {
+    if (names == null) {
+      String[] array = new String[size];
+      for (Shape shape = this; shape.parent != null; shape = shape.parent) {
+        array[shape.size - 1] = shape.name;
+      }
+      names = new ArrayList<String>(size);
+      for (String element : array) {
+        names.add(element);
+      }
+    }
+    return names;
+  }
+
+  /*
+   * Returns the index of the names of this shape. The index must not be modified.
+   */
+  HashIndexTable getTable() {
+    if (table == null) {
+      List<String> list = getNames();
+      table = new HashIndexTable(list);
+      for (int i = 0; i < size; i++) {
+        table.add(list.get(i), i);
+      }
+    }
+    return table;
+  }
+
+  /*
+   * Whether the tree of this root shape should be replaced, either because it is full or because
+   * it has seen many misses.
+   */
+  boolean isExhausted() {
+    return root.count == MAX_SHAPES || root.misses >= MAX_SHAPES;
+  }
+
+  /*
+   * Whether the objects parsed with this tree repeated their names often enough to make a new
+   * tree worthwhile.
+   */
+  boolean isUseful() {
+    return root.hits >= root.misses;
+  }
+
+}
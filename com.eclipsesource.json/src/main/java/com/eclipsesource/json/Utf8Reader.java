@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+
+/**
+ * A lightweight reader that decodes UTF-8 encoded bytes from a byte array or an input stream. Runs
+ * of ASCII characters are copied in a tight loop, only multi-byte sequences go through the actual
+ * decoding. Malformed input does not cause an exception, every byte that is not part of a valid
+ * sequence is replaced by U+FFFD. This implementation is not thread-safe. It deliberately deviates
+ * from the contract of Reader. In particular, it does not lock and it does not close the wrapped
+ * input stream.
+ */
+class Utf8Reader extends Reader {
+
+  private static final char REPLACEMENT_CHAR = '\ufffd';
+
+  private final InputStream input;
+  private final byte[] bytes;
+  private int pos;
+  private int limit;
+  private int pendingChar = -1;
+
+  Utf8Reader(byte[] bytes, int offset, int length) {
+    input = null;
+    this.bytes = bytes;
+    pos = offset;
+    limit = offset + length;
+  }
+
+  Utf8Reader(InputStream input, int bufferSize) {
+    this.input = input;
+    bytes = new byte[Math.max(4, bufferSize)];
+  }
+
+  @Override
+  public int read(char[] buffer, int offset, int length) throws IOException {
+    if (length == 0) {
+      return 0;
+    }
+    int index = offset;
+    int end = offset + length;
+    if (pendingChar != -1) {
+      buffer[index++] = (char)pendingChar;
+      pendingChar = -1;
+    }
+    while (index < end) {
+      if (pos == limit || bytes[pos] < 0 && limit - pos < 4) {
+        if (!fill()) {
+          break;
+        }
+      }
+      if (bytes[pos] < 0) {
+        index = decode(buffer, index, end);
+      } else {
+        // ASCII fast path, no decoding required
+        int stop = Math.min(limit, pos + end - index);
+        while (pos < stop && bytes[pos] >= 0) {
+          buffer[index++] = (char)bytes[pos++];
+        }
+      }
+    }
+    int count = index - offset;
+    return count == 0 ? -1 : count;
+  }
+
+  @Override
+  public void close() throws IOException {
+  }
+
+  /*
+   * Decodes a single multi-byte sequence at pos. Incomplete sequences are only accepted at the end
+   * of the input, fill() ensures that at least four bytes are available otherwise.
+   */
+  private int decode(char[] buffer, int index, int end) {
+    int b1 = bytes[pos] & 0xff;
+    int available = limit - pos;
+    if (b1 >= 0xc2 && b1 <= 0xdf) {
+      if (available > 1 && isContinuation(bytes[pos + 1])) {
+        buffer[index] = (char)((b1 & 0x1f) << 6 | bytes[pos + 1] & 0x3f);
+        pos += 2;
+        return index + 1;
+      }
+    } else if (b1 >= 0xe0 && b1 <= 0xef) {
+      if (available > 2 && isContinuation(bytes[pos + 1]) && isContinuation(bytes[pos + 2])) {
+        int ch = (b1 & 0x0f) << 12 | (bytes[pos + 1] & 0x3f) << 6 | bytes[pos + 2] & 0x3f;
+        if (ch >= 0x800 && (ch < 0xd800 || ch > 0xdfff)) {
+          buffer[index] = (char)ch;
+          pos += 3;
+          return index + 1;
+        }
+      }
+    } else if (b1 >= 0xf0 && b1 <= 0xf4) {
+      if (available > 3
+          && isContinuation(bytes[pos + 1])
+          && isContinuation(bytes[pos + 2])
+          && isContinuation(bytes[pos + 3]))
+      {
+        int cp = (b1 & 0x07) << 18
+            | (bytes[pos + 1] & 0x3f) << 12
+            | (bytes[pos + 2] & 0x3f) << 6
+            | bytes[pos + 3] & 0x3f;
+        if (cp >= 0x10000 && cp <= 0x10ffff) {
+          cp -= 0x10000;
+          buffer[index++] = (char)(0xd800 | cp >> 10);
+          char low = (char)(0xdc00 | cp & 0x3ff);
+          if (index < end) {
+            buffer[index++] = low;
+          } else {
+            pendingChar = low;
+          }
+          pos += 4;
+          return index;
+        }
+      }
+    }
+    buffer[index] = REPLACEMENT_CHAR;
+    pos++;
+    return index + 1;
+  }
+
+  private boolean fill() throws IOException {
+    if (input == null) {
+      return pos < limit;
+    }
+    int remaining = limit - pos;
+    System.arraycopy(bytes, pos, bytes, 0, remaining);
+    pos = 0;
+    limit = remaining;
+    while (limit < bytes.length) {
+      int count = input.read(bytes, limit, bytes.length - limit);
+      if (count == -1) {
+        break;
+      }
+      limit += count;
+      if (limit - pos >= 4) {
+        break;
+      }
+    }
+    return pos < limit;
+  }
+
+  private static boolean isContinuation(byte b) {
+    return (b & 0xc0) == 0x80;
+  }
+
+}
@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+
+/**
+ * A bounded cache of short string values and integer values that lets the parser share immutable
+ * value instances for values that occur repeatedly. Like the {@link KeyCache}, the cache is
+ * direct-mapped, a value that is added replaces the one that occupied the same slot before. This
+ * class is not thread-safe.
+ */
+class ValueCache {
+
+  static final int MAX_STRING_LENGTH = 32;
+  private static final int MAX_SIZE = 1 << 20;
+
+  private final JsonValue[] strings;
+  private final JsonValue[] numbers;
+  private final long[] numberKeys;
+  private final int mask;
+
+  ValueCache(int size) {
+    int capacity = 1;
+    while (capacity < size && capacity < MAX_SIZE) {
+      capacity <<= 1;
+    }
+    strings = new JsonValue[capacity];
+    numbers = new JsonValue[capacity];
+    numberKeys = new long[capacity];
+    mask = capacity - 1;
+  }
+
+  JsonValue getString(char[] chars, int offset, int length) {
+    int hash = 0;
+    int end = offset + length;
+    for (int i = offset; i < end; i++) {
+      hash = 31 * hash + chars[i];
+    }
+    int slot = (hash ^ hash >>> 16) & mask;
+    JsonValue entry = strings[slot];
+    if (entry != null && matches(entry.asString(), hash, chars, offset, length)) {
+      return entry;
+    }
+    JsonValue value = new JsonString(new String(chars, offset, length));
+    strings[slot] = value;
+    return value;
+  }
+
+  JsonValue getNumber(long number) {
+    int hash = (int)(number ^ number >>> 32);
+    int slot = (hash ^ hash >>> 16) & mask;
+    JsonValue entry = numbers[slot];
+    if (entry != null && numberKeys[slot] == number) {
+      return entry;
+    }
+    // for integers, the number string is the canonical decimal representation
+    JsonValue value = new JsonNumber(Long.toString(number));
+    numbers[slot] = value;
+    numberKeys[slot] = number;
+    return value;
+  }
+
+  private static boolean matches(String string, int hash, char[] chars, int offset, int length) {
+    if (string.length() != length || string.hashCode() != hash) {
+      return false;
+    }
+    for (int i = 0; i < length; i++) {
+      if (string.charAt(i) != chars[offset + i]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+}
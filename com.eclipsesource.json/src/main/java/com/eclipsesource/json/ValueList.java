@@ -0,0 +1,478 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.AbstractList;
+import java.util.List;
+import java.util.RandomAccess;
+
+
+/*
+ * The list of values of a JsonArray. As long as an array contains only integer numbers, or only
+ * decimal numbers, these numbers are stored in a primitive array of int, long, or double values
+ * instead of a JsonNumber each, and are only turned into JSON values when accessed. Integers are
+ * stored as int values until a number exceeds the int range. Integers below 10^7 can also be
+ * stored as double values, since they are written the same way. The list switches to a generic
+ * array of JSON values as soon as a value of any other kind is added.
+ */
+@SuppressWarnings("serial") // use default serial UID
+final class ValueList extends AbstractList<JsonValue> implements RandomAccess, Serializable {
+
+  private static final int MIN_CAPACITY = 8;
+  // Double.toString() uses plain notation below this value, making integers look like ints
+  private static final int MAX_PLAIN_DOUBLE = 10000000;
+
+  private int[] ints;
+  private long[] longs;
+  private double[] doubles;
+  private JsonValue[] values;
+  private int size;
+
+  ValueList() {
+  }
+
+  ValueList(List<JsonValue> original) {
+    if (original instanceof ValueList) {
+      ValueList list = (ValueList)original;
+      size = list.size;
+      if (list.ints != null) {
+        ints = copyOf(list.ints, size);
+      } else if (list.longs != null) {
+        longs = copyOf(list.longs, size);
+      } else if (list.doubles != null) {
+        doubles = copyOf(list.doubles, size);
+      } else if (list.values != null) {
+        values = copyOf(list.values, size);
+      }
+    } else {
+      values = original.toArray(new JsonValue[original.size()]);
+      size = values.length;
+    }
+  }
+
+  @Override
+  public int size() {
+    return size;
+  }
+
+  @Override
+  public JsonValue get(int index) {
+    checkIndex(index);
+    if (values != null) {
+      return values[index];
+    }
+    if (ints != null) {
+      return Json.value(ints[index]);
+    }
+    if (longs != null) {
+      return Json.value(longs[index]);
+    }
+    return Json.value(doubles[index]);
+  }
+
+  @Override
+  public JsonValue set(int index, JsonValue value) {
+    checkIndex(index);
+    toGeneric();
+    JsonValue previous = values[index];
+    values[index] = value;
+    return previous;
+  }
+
+  @Override
+  public void add(int index, JsonValue value) {
+    if (index < 0 || index > size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    toGeneric();
+    ensureCapacity(size + 1);
+    System.arraycopy(values, index, values, index + 1, size - index);
+    values[index] = value;
+    size++;
+    modCount++;
+  }
+
+  @Override
+  public JsonValue remove(int index) {
+    JsonValue previous = get(index);
+    int moved = size - index - 1;
+    if (values != null) {
+      System.arraycopy(values, index + 1, values, index, moved);
+      values[size - 1] = null;
+    } else if (ints != null) {
+      System.arraycopy(ints, index + 1, ints, index, moved);
+    } else if (longs != null) {
+      System.arraycopy(longs, index + 1, longs, index, moved);
+    } else {
+      System.arraycopy(doubles, index + 1, doubles, index, moved);
+    }
+    size--;
+    modCount++;
+    return previous;
+  }
+
+  void addInt(int value) {
+    if (size == 0 && ints == null && longs == null) {
+      clearStorage();
+    }
+    if (longs != null) {
+      addLong(value);
+    } else if (doubles != null && isPlainDouble(value)) {
+      addDouble(value);
+    } else if (values != null || doubles != null) {
+      add(Json.value(value));
+    } else {
+      if (ints == null) {
+        ints = new int[MIN_CAPACITY];
+      }
+      ensureCapacity(size + 1);
+      ints[size++] = value;
+      modCount++;
+    }
+  }
+
+  void addLong(long value) {
+    if (size == 0 && ints == null && longs == null) {
+      clearStorage();
+    }
+    if ((int)value == value && longs == null) {
+      addInt((int)value);
+    } else if (values != null || doubles != null) {
+      add(Json.value(value));
+    } else {
+      if (ints != null) {
+        widenToLongs();
+      } else if (longs == null) {
+        longs = new long[MIN_CAPACITY];
+      }
+      ensureCapacity(size + 1);
+      longs[size++] = value;
+      modCount++;
+    }
+  }
+
+  void addDouble(double value) {
+    checkDouble(value);
+    if (size == 0 && doubles == null) {
+      clearStorage();
+    }
+    if (ints != null && isPlainDouble(ints)) {
+      widenToDoubles();
+    }
+    if (values != null || ints != null || longs != null) {
+      add(Json.value(value));
+    } else {
+      if (doubles == null) {
+        doubles = new double[MIN_CAPACITY];
+      }
+      ensureCapacity(size + 1);
+      doubles[size++] = value;
+      modCount++;
+    }
+  }
+
+  void addInts(int[] array) {
+    if (size == 0) {
+      clearStorage();
+      ints = new int[Math.max(array.length, MIN_CAPACITY)];
+    }
+    ensureCapacity(size + array.length);
+    if (ints != null) {
+      System.arraycopy(array, 0, ints, size, array.length);
+      size += array.length;
+      modCount++;
+    } else {
+      for (int value : array) {
+        addInt(value);
+      }
+    }
+  }
+
+  void addLongs(long[] array) {
+    if (size == 0) {
+      clearStorage();
+      ints = new int[Math.max(array.length, MIN_CAPACITY)];
+    }
+    ensureCapacity(size + array.length);
+    for (long value : array) {
+      addLong(value);
+    }
+  }
+
+  void addDoubles(double[] array) {
+    for (double value : array) {
+      checkDouble(value);
+    }
+    if (size == 0) {
+      clearStorage();
+      doubles = new double[Math.max(array.length, MIN_CAPACITY)];
+    }
+    ensureCapacity(size + array.length);
+    if (doubles != null) {
+      System.arraycopy(array, 0, doubles, size, array.length);
+      size += array.length;
+      modCount++;
+    } else {
+      for (double value : array) {
+        addDouble(value);
+      }
+    }
+  }
+
+  /*
+   * Appends all elements of the given list, as if they were added one by one.
+   */
+  void addAll(ValueList list) {
+    if (list.ints != null) {
+      addInts(copyOf(list.ints, list.size));
+    } else if (list.longs != null) {
+      addLongs(copyOf(list.longs, list.size));
+    } else if (list.doubles != null) {
+      addDoubles(copyOf(list.doubles, list.size));
+    } else {
+      for (int i = 0; i < list.size; i++) {
+        add(list.values[i]);
+      }
+    }
+  }
+
+  void setInt(int index, int value) {
+    checkIndex(index);
+    if (ints != null) {
+      ints[index] = value;
+    } else if (longs != null) {
+      longs[index] = value;
+    } else if (doubles != null && isPlainDouble(value)) {
+      doubles[index] = value;
+    } else {
+      set(index, Json.value(value));
+    }
+  }
+
+  void setLong(int index, long value) {
+    checkIndex(index);
+    if (ints != null && (int)value == value) {
+      ints[index] = (int)value;
+    } else if (ints != null || longs != null) {
+      if (ints != null) {
+        widenToLongs();
+      }
+      longs[index] = value;
+    } else {
+      set(index, Json.value(value));
+    }
+  }
+
+  void setDouble(int index, double value) {
+    checkDouble(value);
+    checkIndex(index);
+    if (doubles != null) {
+      doubles[index] = value;
+    } else {
+      set(index, Json.value(value));
+    }
+  }
+
+  int[] toIntArray() {
+    if (ints != null) {
+      return copyOf(ints, size);
+    }
+    int[] array = new int[size];
+    for (int i = 0; i < size; i++) {
+      array[i] = get(i).asInt();
+    }
+    return array;
+  }
+
+  long[] toLongArray() {
+    long[] array = new long[size];
+    if (ints != null) {
+      for (int i = 0; i < size; i++) {
+        array[i] = ints[i];
+      }
+    } else if (longs != null) {
+      System.arraycopy(longs, 0, array, 0, size);
+    } else {
+      for (int i = 0; i < size; i++) {
+        array[i] = get(i).asLong();
+      }
+    }
+    return array;
+  }
+
+  double[] toDoubleArray() {
+    double[] array = new double[size];
+    if (ints != null) {
+      for (int i = 0; i < size; i++) {
+        array[i] = ints[i];
+      }
+    } else if (longs != null) {
+      for (int i = 0; i < size; i++) {
+        array[i] = longs[i];
+      }
+    } else if (doubles != null) {
+      System.arraycopy(doubles, 0, array, 0, size);
+    } else {
+      for (int i = 0; i < size; i++) {
+        array[i] = get(i).asDouble();
+      }
+    }
+    return array;
+  }
+
+  /*
+   * Writes the elements of this list, separated by array separators. Numbers are written straight
+   * from the primitive arrays.
+   */
+  void write(JsonWriter writer) throws IOException {
+    for (int i = 0; i < size; i++) {
+      if (i > 0) {
+        writer.writeArraySeparator();
+      }
+      if (values != null) {
+        values[i].write(writer);
+      } else if (ints != null) {
+        writer.writeNumber(ints[i]);
+      } else if (longs != null) {
+        writer.writeNumber(longs[i]);
+      } else {
+        writer.writeNumber(doubles[i]);
+      }
+    }
+  }
+
+  private void toGeneric() {
+    if (values != null) {
+      return;
+    }
+    JsonValue[] array = new JsonValue[Math.max(size, MIN_CAPACITY)];
+    for (int i = 0; i < size; i++) {
+      array[i] = get(i);
+    }
+    clearStorage();
+    values = array;
+  }
+
+  private void widenToLongs() {
+    long[] array = new long[ints.length];
+    for (int i = 0; i < size; i++) {
+      array[i] = ints[i];
+    }
+    ints = null;
+    longs = array;
+  }
+
+  private void widenToDoubles() {
+    double[] array = new double[ints.length];
+    for (int i = 0; i < size; i++) {
+      array[i] = ints[i];
+    }
+    ints = null;
+    doubles = array;
+  }
+
+  private boolean isPlainDouble(int[] array) {
+    for (int i = 0; i < size; i++) {
+      if (!isPlainDouble(array[i])) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private static boolean isPlainDouble(int value) {
+    return value > -MAX_PLAIN_DOUBLE && value < MAX_PLAIN_DOUBLE;
+  }
+
+  private void clearStorage() {
+    ints = null;
+    longs = null;
+    doubles = null;
+    values = null;
+  }
+
+  /*
+   * Grows the array of the current storage if needed.
+   */
+  private void ensureCapacity(int minCapacity) {
+    if (values != null) {
+      if (minCapacity > values.length) {
+        values = copyOf(values, newCapacity(values.length, minCapacity));
+      }
+    } else if (longs != null) {
+      if (minCapacity > longs.length) {
+        longs = copyOf(longs, newCapacity(longs.length, minCapacity));
+      }
+    } else if (doubles != null) {
+      if (minCapacity > doubles.length) {
+        doubles = copyOf(doubles, newCapacity(doubles.length, minCapacity));
+      }
+    } else if (ints != null) {
+      if (minCapacity > ints.length) {
+        ints = copyOf(ints, newCapacity(ints.length, minCapacity));
+      }
+    }
+  }
+
+  private void checkIndex(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+  }
+
+  private static void checkDouble(double value) {
+    if (Double.isInfinite(value) || Double.isNaN(value)) {
+      throw new IllegalArgumentException("Infinite and NaN values not permitted in JSON");
+    }
+  }
+
+  private static int newCapacity(int capacity, int minCapacity) {
+    return Math.max(Math.max(capacity + (capacity >> 1), minCapacity), MIN_CAPACITY);
+  }
+
+  private static int[] copyOf(int[] array, int length) {
+    int[] copy = new int[length];
+    System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+    return copy;
+  }
+
+  private static long[] copyOf(long[] array, int length) {
+    long[] copy = new long[length];
+    System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+    return copy;
+  }
+
+  private static double[] copyOf(double[] array, int length) {
+    double[] copy = new double[length];
+    System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+    return copy;
+  }
+
+  private static JsonValue[] copyOf(JsonValue[] array, int length) {
+    JsonValue[] copy = new JsonValue[length];
+    System.arraycopy(array, 0, copy, 0, Math.min(array.length, length));
+    return copy;
+  }
+
+}
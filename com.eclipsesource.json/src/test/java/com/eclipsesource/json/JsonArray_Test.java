@@ -373,6 +373,118 @@ public class JsonArray_Test {
     assertEquals("[{\"a\":23}]", array.toString());
   }
 
+  @Test
+  public void addAll_int() {
+    array.add(1).addAll(new int[] {2, 3});
+
+    assertEquals("[1,2,3]", array.toString());
+  }
+
+  @Test
+  public void addAll_long() {
+    array.addAll(new long[] {1, 9999999999L, Long.MIN_VALUE});
+
+    assertEquals("[1,9999999999,-9223372036854775808]", array.toString());
+  }
+
+  @Test
+  public void addAll_double() {
+    array.addAll(new double[] {1.5, 2.0, 1e20});
+
+    assertEquals("[1.5,2,1.0E20]", array.toString());
+  }
+
+  @Test
+  public void addAll_double_failsWithNaN() {
+    array.add(1.5);
+
+    assertException(IllegalArgumentException.class, new Runnable() {
+      public void run() {
+        array.addAll(new double[] {2.5, Double.NaN});
+      }
+    });
+    assertEquals("[1.5]", array.toString());
+  }
+
+  @Test
+  public void addAll_enablesChaining() {
+    assertSame(array, array.addAll(new int[0]));
+  }
+
+  @Test
+  public void addAll_failsWithNull() {
+    assertException(NullPointerException.class, "values is null", new Runnable() {
+      public void run() {
+        array.addAll((double[])null);
+      }
+    });
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void addAll_failsOnUnmodifiableArray() {
+    JsonArray.unmodifiableArray(array).addAll(new int[] {23});
+  }
+
+  @Test
+  public void add_mixedNumbers() {
+    array.add(23).add(9999999999L).add(-1).add(3.14).add("foo").add(42);
+
+    assertEquals("[23,9999999999,-1,3.14,\"foo\",42]", array.toString());
+    assertEquals(Json.value(9999999999L), array.get(1));
+    assertEquals(Json.value(3.14), array.get(3));
+  }
+
+  @Test
+  public void toIntArray() {
+    array.add(23).add(42);
+
+    assertArrayEquals(new int[] {23, 42}, array.toIntArray());
+  }
+
+  @Test
+  public void toLongArray() {
+    array.add(23).add(Json.value(9999999999L));
+
+    assertArrayEquals(new long[] {23, 9999999999L}, array.toLongArray());
+  }
+
+  @Test
+  public void toDoubleArray() {
+    array.add(23).add(9999999999L);
+
+    assertArrayEquals(new double[] {23, 9999999999L}, array.toDoubleArray(), 0);
+  }
+
+  @Test
+  public void toDoubleArray_withGenericValues() {
+    array.add(1.5).add(Json.parse("2.5e1"));
+
+    assertArrayEquals(new double[] {1.5, 25}, array.toDoubleArray(), 0);
+  }
+
+  @Test
+  public void toDoubleArray_onUnmodifiableArray() {
+    array.addAll(new double[] {1.5, 2.5});
+
+    assertArrayEquals(new double[] {1.5, 2.5},
+                      JsonArray.unmodifiableArray(array).toDoubleArray(),
+                      0);
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void toIntArray_failsWithNonNumbers() {
+    array.add(23).add("foo");
+
+    array.toIntArray();
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void toIntArray_failsWithLongNumbers() {
+    array.add(23).add(9999999999L);
+
+    array.toIntArray();
+  }
+
   @Test
   public void set_int() {
     array.add(false);
@@ -570,7 +682,7 @@ public class JsonArray_Test {
 
     InOrder inOrder = inOrder(writer);
     inOrder.verify(writer).writeArrayOpen();
-    inOrder.verify(writer).writeNumber("23");
+    inOrder.verify(writer).writeNumber(23L);
     inOrder.verify(writer).writeArrayClose();
     inOrder.verifyNoMoreInteractions();
   }
@@ -649,6 +761,16 @@ public class JsonArray_Test {
     assertEquals(array, serializeAndDeserialize(array));
   }
 
+  @Test
+  public void canBeSerializedAndDeserialized_withNumbers() throws Exception {
+    array.add(23).add(42);
+
+    JsonArray deserializedArray = serializeAndDeserialize(array);
+
+    assertEquals(array, deserializedArray);
+    assertEquals("[23,42,1]", deserializedArray.add(1).toString());
+  }
+
   @Test
   public void deserializedArrayCanBeAccessed() throws Exception {
     array.add(23);
@@ -0,0 +1,266 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static com.eclipsesource.json.TestUtil.assertException;
+import static org.junit.Assert.*;
+
+import java.io.Reader;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import org.junit.Test;
+
+import com.eclipsesource.json.JsonDocument.Node;
+
+
+public class JsonDocument_Test {
+
+  @Test(expected = NullPointerException.class)
+  public void parse_string_rejectsNull() {
+    JsonDocument.parse((String)null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_bytes_rejectsNull() {
+    JsonDocument.parse((byte[])null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_reader_rejectsNull() throws Exception {
+    JsonDocument.parse((Reader)null);
+  }
+
+  @Test
+  public void parse_failsWithSyntaxError() {
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        JsonDocument.parse("[1,]");
+      }
+    });
+
+    assertEquals(3, exception.getLocation().offset);
+  }
+
+  @Test
+  public void literals() {
+    assertTrue(JsonDocument.parse("null").getRoot().isNull());
+    assertTrue(JsonDocument.parse("true").getRoot().isTrue());
+    assertTrue(JsonDocument.parse("true").getRoot().asBoolean());
+    assertTrue(JsonDocument.parse("false").getRoot().isFalse());
+    assertFalse(JsonDocument.parse("false").getRoot().asBoolean());
+  }
+
+  @Test
+  public void numbers() {
+    Node node = JsonDocument.parse("23").getRoot();
+
+    assertTrue(node.isNumber());
+    assertEquals(23, node.asInt());
+    assertEquals(23L, node.asLong());
+    assertEquals(23f, node.asFloat(), 0);
+    assertEquals(23d, node.asDouble(), 0);
+    assertEquals("23", node.toString());
+  }
+
+  @Test
+  public void numbers_integers() {
+    String json = "[-42, 36028797018963968, -36028797018963968, 123456789012345678]";
+
+    Node node = JsonDocument.parse(json).getRoot();
+
+    assertEquals(-42, node.get(0).asInt());
+    assertEquals(36028797018963968L, node.get(1).asLong());
+    assertEquals(-36028797018963968L, node.get(2).asLong());
+    assertEquals(123456789012345678L, node.get(3).asLong());
+    assertEquals(123456789012345678d, node.get(3).asDouble(), 0);
+    assertEquals("[-42,36028797018963968,-36028797018963968,123456789012345678]", node.toString());
+  }
+
+  @Test
+  public void numbers_decimals() {
+    String json = "[2.5, -0.001, 1.50, 1e3, 0.1234567890123456789]";
+
+    Node node = JsonDocument.parse(json).getRoot();
+
+    assertTrue(node.get(0).isNumber());
+    assertEquals(2.5, node.get(0).asDouble(), 0);
+    assertEquals(2.5f, node.get(0).asFloat(), 0);
+    assertEquals(-0.001, node.get(1).asDouble(), 0);
+    assertEquals(1.5, node.get(2).asDouble(), 0);
+    assertEquals(1000, node.get(3).asDouble(), 0);
+    assertEquals("[2.5,-0.001,1.50,1e3,0.1234567890123456789]", node.toString());
+  }
+
+  @Test
+  public void numbers_failWithIncompatibleType() {
+    final Node node = JsonDocument.parse("[2.5, 9999999999]").getRoot();
+
+    assertException(NumberFormatException.class, new Runnable() {
+      public void run() {
+        node.get(0).asLong();
+      }
+    });
+    assertException(NumberFormatException.class, new Runnable() {
+      public void run() {
+        node.get(1).asInt();
+      }
+    });
+  }
+
+  @Test
+  public void strings() {
+    Node node = JsonDocument.parse("\"foo\"").getRoot();
+
+    assertTrue(node.isString());
+    assertEquals("foo", node.asString());
+  }
+
+  @Test
+  public void arrays() {
+    Node node = JsonDocument.parse("[1, [2, 3], {\"a\": 4}, 5]").getRoot().asArray();
+
+    assertEquals(4, node.size());
+    assertEquals(1, node.get(0).asInt());
+    assertEquals(3, node.get(1).asArray().get(1).asInt());
+    assertEquals(4, node.get(2).asObject().get("a").asInt());
+    assertEquals(5, node.get(3).asInt());
+    assertEquals(1, node.get(0).asInt());
+  }
+
+  @Test
+  public void arrays_sequentialAccess() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < 1000; i++) {
+      builder.append(i == 0 ? "" : ",").append("[").append(i).append("]");
+    }
+    Node node = JsonDocument.parse(builder.append("]").toString()).getRoot();
+
+    long sum = 0;
+    for (int i = 0; i < node.size(); i++) {
+      sum += node.get(i).get(0).asLong();
+    }
+
+    assertEquals(499500, sum);
+  }
+
+  @Test
+  public void arrays_failsWithInvalidIndex() {
+    final Node node = JsonDocument.parse("[1]").getRoot();
+
+    assertException(IndexOutOfBoundsException.class, new Runnable() {
+      public void run() {
+        node.get(1);
+      }
+    });
+  }
+
+  @Test
+  public void objects() {
+    Node node = JsonDocument.parse("{\"a\": 1, \"b\": {\"c\": [true]}, \"d\": \"x\"}").getRoot();
+
+    assertEquals(3, node.asObject().size());
+    assertEquals(Arrays.asList("a", "b", "d"), node.names());
+    assertEquals(1, node.get("a").asInt());
+    assertTrue(node.get("b").get("c").get(0).isTrue());
+    assertEquals("x", node.get("d").asString());
+    assertNull(node.get("c"));
+  }
+
+  @Test
+  public void objects_returnsLastMemberWithName() {
+    Node node = JsonDocument.parse("{\"a\": 1, \"a\": 2}").getRoot();
+
+    assertEquals(2, node.get("a").asInt());
+  }
+
+  @Test
+  public void objects_withManyMembers() {
+    StringBuilder builder = new StringBuilder("{");
+    for (int i = 0; i < 40; i++) {
+      builder.append("\"m").append(i).append("\": ").append(i).append(", ");
+    }
+    Node node = JsonDocument.parse(builder.append("\"m3\": 23}").toString()).getRoot();
+
+    assertEquals(0, node.get("m0").asInt());
+    assertEquals(39, node.get("m39").asInt());
+    assertEquals(23, node.get("m3").asInt());
+    assertNull(node.get("m40"));
+  }
+
+  @Test
+  public void emptyContainers() {
+    Node node = JsonDocument.parse("[[], {}]").getRoot();
+
+    assertEquals(0, node.get(0).size());
+    assertEquals(0, node.get(1).size());
+    assertTrue(node.get(1).names().isEmpty());
+  }
+
+  @Test
+  public void wrongType_fails() {
+    final Node node = JsonDocument.parse("[23]").getRoot();
+
+    UnsupportedOperationException exception = assertException(UnsupportedOperationException.class,
+                                                               new Runnable() {
+      public void run() {
+        node.asObject();
+      }
+    });
+
+    assertEquals("Not an object: [23]", exception.getMessage());
+  }
+
+  @Test
+  public void toJsonValue() {
+    String json = "{\"a\":[1,2.5,\"b\",null,true,false],\"c\":{\"d\":{}},\"e\":[]}";
+
+    JsonValue value = JsonDocument.parse(json).getRoot().toJsonValue();
+
+    assertEquals(Json.parse(json), value);
+    assertEquals(json, value.toString());
+  }
+
+  @Test
+  public void parse_reader() throws Exception {
+    Node node = JsonDocument.parse(new StringReader("{\"a\": 23}")).getRoot();
+
+    assertEquals(23, node.get("a").asInt());
+  }
+
+  @Test
+  public void parse_bytes() throws Exception {
+    Node node = JsonDocument.parse("[\"\u00e4\"]".getBytes("UTF-8")).getRoot();
+
+    assertEquals("\u00e4", node.get(0).asString());
+  }
+
+  @Test
+  public void equals() {
+    JsonDocument document = JsonDocument.parse("[1, 1]");
+
+    assertEquals(document.getRoot().get(0), document.getRoot().get(0));
+    assertFalse(document.getRoot().get(0).equals(document.getRoot().get(1)));
+    assertEquals(document.getRoot().hashCode(), document.getRoot().hashCode());
+  }
+
+}
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static com.eclipsesource.json.TestUtil.assertException;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.eclipsesource.json.JsonLinesReader.RecordHandler;
+import com.eclipsesource.json.TestUtil.RunnableEx;
+
+
+public class JsonLinesReader_Test {
+
+  private ExecutorService executor;
+  private List<JsonValue> records;
+  private RecordHandler handler;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+    records = new ArrayList<JsonValue>();
+    handler = new RecordHandler() {
+      public void handle(JsonValue record) {
+        records.add(record);
+      }
+    };
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test
+  public void constructor_rejectsNullExecutor() {
+    assertException(NullPointerException.class, "executor is null", new Runnable() {
+      public void run() {
+        new JsonLinesReader(null);
+      }
+    });
+  }
+
+  @Test
+  public void constructor_rejectsZeroBlockSize() {
+    String message = "blockSize is zero or negative";
+
+    assertException(IllegalArgumentException.class, message, new Runnable() {
+      public void run() {
+        new JsonLinesReader(executor, true, 0, 1);
+      }
+    });
+  }
+
+  @Test
+  public void constructor_rejectsZeroMaxPendingBlocks() {
+    assertException(IllegalArgumentException.class,
+                    "maxPendingBlocks is zero or negative",
+                    new Runnable() {
+                      public void run() {
+                        new JsonLinesReader(executor, true, 1, 0);
+                      }
+                    });
+  }
+
+  @Test
+  public void read_rejectsNullInput() throws IOException {
+    assertException(NullPointerException.class, "input is null", new RunnableEx() {
+      public void run() throws IOException {
+        new JsonLinesReader(executor).read(null, handler);
+      }
+    });
+  }
+
+  @Test
+  public void read_rejectsNullHandler() throws IOException {
+    assertException(NullPointerException.class, "handler is null", new RunnableEx() {
+      public void run() throws IOException {
+        new JsonLinesReader(executor).read(input(""), null);
+      }
+    });
+  }
+
+  @Test
+  public void read_empty() throws IOException {
+    new JsonLinesReader(executor).read(input(""), handler);
+
+    assertEquals(0, records.size());
+  }
+
+  @Test
+  public void read_singleRecord() throws IOException {
+    new JsonLinesReader(executor).read(input("{\"a\":23}"), handler);
+
+    assertEquals(list(Json.object().add("a", 23)), records);
+  }
+
+  @Test
+  public void read_multipleRecords() throws IOException {
+    new JsonLinesReader(executor).read(input("23\n\"foo\"\n[true]\n"), handler);
+
+    assertEquals(list(Json.value(23), Json.value("foo"), Json.array().add(true)), records);
+  }
+
+  @Test
+  public void read_skipsBlankLines() throws IOException {
+    new JsonLinesReader(executor).read(input("\n23\n \t\r\n42\r\n\n"), handler);
+
+    assertEquals(list(Json.value(23), Json.value(42)), records);
+  }
+
+  @Test
+  public void read_utf8() throws IOException {
+    new JsonLinesReader(executor).read(input("\"\u00e4\u20ac\"\n\"\ud83d\ude00\""), handler);
+
+    assertEquals(list(Json.value("\u00e4\u20ac"), Json.value("\ud83d\ude00")), records);
+  }
+
+  @Test
+  public void read_smallBlocks_preservesOrder() throws IOException {
+    new JsonLinesReader(executor, true, 16, 2).read(input(createLines(1000)), handler);
+
+    assertEquals(createRecords(1000), records);
+  }
+
+  @Test
+  public void read_linesExceedingBlockSize() throws IOException {
+    String line = "[\"" + createString(100) + "\"]";
+
+    new JsonLinesReader(executor, true, 8, 2).read(input(line + "\n" + line), handler);
+
+    assertEquals(list(Json.parse(line), Json.parse(line)), records);
+  }
+
+  @Test
+  public void read_unordered_deliversAllRecords() throws IOException {
+    new JsonLinesReader(executor, false, 16, 2).read(input(createLines(1000)), handler);
+
+    Collections.sort(records, new Comparator<JsonValue>() {
+      public int compare(JsonValue value1, JsonValue value2) {
+        return value1.asObject().getInt("id", 0) - value2.asObject().getInt("id", 0);
+      }
+    });
+    assertEquals(createRecords(1000), records);
+  }
+
+  @Test
+  public void read_invalidRecord() throws IOException {
+    final JsonLinesReader reader = new JsonLinesReader(executor, true, 16, 2);
+
+    ParseException exception = assertException(ParseException.class, new RunnableEx() {
+      public void run() throws IOException {
+        reader.read(input(createLines(20) + "\n[23,\n42"), handler);
+      }
+    });
+
+    assertEquals("Unexpected end of input at 22:5", exception.getMessage());
+    assertEquals(new Location(4, 22, 5), exception.getLocation());
+    assertEquals(createRecords(20), records);
+  }
+
+  private static InputStream input(String string) {
+    try {
+      return new ByteArrayInputStream(string.getBytes("UTF-8"));
+    } catch (IOException exception) {
+      throw new RuntimeException(exception);
+    }
+  }
+
+  private static String createLines(int count) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < count; i++) {
+      builder.append("{\"id\":").append(i).append("}\n");
+    }
+    return builder.toString();
+  }
+
+  private static List<JsonValue> createRecords(int count) {
+    List<JsonValue> list = new ArrayList<JsonValue>();
+    for (int i = 0; i < count; i++) {
+      list.add(Json.object().add("id", i));
+    }
+    return list;
+  }
+
+  private static String createString(int length) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      builder.append((char)('a' + i % 26));
+    }
+    return builder.toString();
+  }
+
+  private static List<JsonValue> list(JsonValue... values) {
+    List<JsonValue> list = new ArrayList<JsonValue>();
+    Collections.addAll(list, values);
+    return list;
+  }
+
+}
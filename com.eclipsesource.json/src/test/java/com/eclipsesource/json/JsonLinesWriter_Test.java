@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static com.eclipsesource.json.TestUtil.assertException;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.eclipsesource.json.JsonLinesReader.RecordHandler;
+import com.eclipsesource.json.TestUtil.RunnableEx;
+
+
+public class JsonLinesWriter_Test {
+
+  private StringWriter output;
+  private JsonLinesWriter writer;
+
+  @Before
+  public void setUp() {
+    output = new StringWriter();
+    writer = new JsonLinesWriter(output);
+  }
+
+  @Test
+  public void constructor_rejectsNullWriter() {
+    assertException(NullPointerException.class, "writer is null", new Runnable() {
+      public void run() {
+        new JsonLinesWriter(null);
+      }
+    });
+  }
+
+  @Test
+  public void constructor_rejectsZeroBufferSize() {
+    String message = "bufferSize is zero or negative";
+
+    assertException(IllegalArgumentException.class, message, new Runnable() {
+      public void run() {
+        new JsonLinesWriter(output, 0);
+      }
+    });
+  }
+
+  @Test
+  public void write_rejectsNull() {
+    assertException(NullPointerException.class, "value is null", new RunnableEx() {
+      public void run() throws IOException {
+        writer.write(null);
+      }
+    });
+  }
+
+  @Test
+  public void write_writesMinimalLines() throws IOException {
+    writer.write(Json.object().add("a", Json.array(1, 2))).write(Json.value("foo"));
+    writer.flush();
+
+    assertEquals("{\"a\":[1,2]}\n\"foo\"\n", output.toString());
+  }
+
+  @Test
+  public void write_escapesLineBreaks() throws IOException {
+    writer.write(Json.value("a\nb"));
+    writer.flush();
+
+    assertEquals("\"a\\nb\"\n", output.toString());
+  }
+
+  @Test
+  public void write_isBuffered() throws IOException {
+    writer.write(Json.value(23));
+
+    assertEquals("", output.toString());
+  }
+
+  @Test
+  public void write_flushesFullBuffer() throws IOException {
+    writer = new JsonLinesWriter(output, 4);
+
+    writer.write(Json.value(23)).write(Json.value(42));
+
+    assertEquals("23\n", output.toString());
+  }
+
+  @Test
+  public void writeAll() throws IOException {
+    writer.writeAll(Arrays.asList(Json.value(23), Json.value(42)));
+    writer.flush();
+
+    assertEquals("23\n42\n", output.toString());
+  }
+
+  @Test
+  public void flush_flushesWriter() throws IOException {
+    Writer wrapped = mock(Writer.class);
+    writer = new JsonLinesWriter(wrapped);
+
+    writer.flush();
+
+    verify(wrapped).flush();
+  }
+
+  @Test
+  public void close_writesAndClosesWriter() throws IOException {
+    Writer wrapped = spy(new StringWriter());
+    writer = new JsonLinesWriter(wrapped);
+
+    writer.write(Json.value(23)).close();
+
+    assertEquals("23\n", wrapped.toString());
+    verify(wrapped).close();
+  }
+
+  @Test
+  public void roundTrip() throws IOException {
+    JsonValue[] values = {Json.value(23), Json.object().add("a", "b\nc"), Json.array()};
+    writer.writeAll(Arrays.asList(values)).flush();
+
+    final List<JsonValue> records = new ArrayList<JsonValue>();
+    ExecutorService executor = Executors.newSingleThreadExecutor();
+    try {
+      byte[] bytes = output.toString().getBytes("UTF-8");
+      new JsonLinesReader(executor).read(new ByteArrayInputStream(bytes), new RecordHandler() {
+        public void handle(JsonValue record) {
+          records.add(record);
+        }
+      });
+    } finally {
+      executor.shutdown();
+    }
+
+    assertEquals(Arrays.asList(values), records);
+  }
+
+}
@@ -178,4 +178,34 @@ public class JsonNumber_Test {
     assertEquals(number, serializeAndDeserialize(number));
   }
 
+  @Test
+  public void lazy_toString() {
+    JsonNumber number = new JsonNumber("[23.5]".toCharArray(), 1, 4);
+
+    assertEquals("23.5", number.toString());
+    assertEquals(23.5, number.asDouble(), 0);
+  }
+
+  @Test
+  public void lazy_write() throws IOException {
+    new JsonNumber("[-42]".toCharArray(), 1, 3).write(writer);
+
+    assertEquals("-42", output.toString());
+  }
+
+  @Test
+  public void lazy_equalsAndHashCode() {
+    JsonNumber number = new JsonNumber("[23]".toCharArray(), 1, 2);
+
+    assertEquals(new JsonNumber("23"), number);
+    assertEquals(new JsonNumber("23").hashCode(), number.hashCode());
+  }
+
+  @Test
+  public void lazy_canBeSerializedAndDeserialized() throws Exception {
+    JsonNumber number = new JsonNumber("[23]".toCharArray(), 1, 2);
+
+    assertEquals(new JsonNumber("23"), serializeAndDeserialize(number));
+  }
+
 }
@@ -26,6 +26,8 @@ import static com.eclipsesource.json.TestUtil.serializeAndDeserialize;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
@@ -34,6 +36,8 @@ import static org.mockito.Mockito.mock;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.ConcurrentModificationException;
 import java.util.Iterator;
 import java.util.List;
@@ -926,7 +930,6 @@ public class JsonObject_Test {
   @Test
   public void indexOf_returnsIndexOfLastMember_forBigObject() {
     object.add("a", true);
-    // for indexes above 255, the hash index table does not return a value
     for (int i = 0; i < 256; i++) {
       object.add("x-" + i, 0);
     }
@@ -936,101 +939,123 @@ public class JsonObject_Test {
   }
 
   @Test
-  public void hashIndexTable_copyConstructor() {
-    HashIndexTable original = new HashIndexTable();
-    original.add("name", 23);
-
-    HashIndexTable copy = new HashIndexTable(original);
+  public void indexOf_returnsIndexOfLastMember_forLargeObjectAfterRemove() {
+    for (int i = 0; i < 10000; i++) {
+      object.add("x-" + i, i);
+    }
+    object.add("x-1", true);
+    for (int i = 0; i < 10000; i += 2) {
+      object.remove("x-" + i);
+    }
 
-    assertEquals(23, copy.get("name"));
+    assertEquals(5000, object.indexOf("x-1"));
+    assertEquals(1, object.indexOf("x-3"));
+    assertEquals(4999, object.indexOf("x-9999"));
+    assertEquals(-1, object.indexOf("x-0"));
+    object.remove("x-1");
+    assertEquals(0, object.indexOf("x-1"));
   }
 
   @Test
-  public void hashIndexTable_add() {
-    HashIndexTable indexTable = new HashIndexTable();
-
-    indexTable.add("name-0", 0);
-    indexTable.add("name-1", 1);
-    indexTable.add("name-fe", 0xfe);
-    indexTable.add("name-ff", 0xff);
+  public void hashIndexTable_get_withEmptyTable() {
+    HashIndexTable indexTable = new HashIndexTable(new ArrayList<String>());
 
-    assertEquals(0, indexTable.get("name-0"));
-    assertEquals(1, indexTable.get("name-1"));
-    assertEquals(0xfe, indexTable.get("name-fe"));
-    assertEquals(-1, indexTable.get("name-ff"));
+    assertEquals(-1, indexTable.get("name"));
   }
 
   @Test
-  public void hashIndexTable_add_overwritesPreviousValue() {
-    HashIndexTable indexTable = new HashIndexTable();
+  public void hashIndexTable_add() {
+    List<String> names = new ArrayList<String>();
+    HashIndexTable indexTable = new HashIndexTable(names);
 
-    indexTable.add("name", 23);
-    indexTable.add("name", 42);
+    for (int i = 0; i < 1000; i++) {
+      add(indexTable, names, "name-" + i);
+    }
 
-    assertEquals(42, indexTable.get("name"));
+    for (int i = 0; i < 1000; i++) {
+      assertEquals(i, indexTable.get("name-" + i));
+    }
+    assertEquals(-1, indexTable.get("name-1000"));
   }
 
   @Test
-  public void hashIndexTable_add_clearsPreviousValueIfIndexExceeds0xff() {
-    HashIndexTable indexTable = new HashIndexTable();
+  public void hashIndexTable_add_overwritesPreviousValueForDuplicate() {
+    List<String> names = new ArrayList<String>();
+    HashIndexTable indexTable = new HashIndexTable(names);
 
-    indexTable.add("name", 23);
-    indexTable.add("name", 300);
+    add(indexTable, names, "name");
+    add(indexTable, names, "other");
+    add(indexTable, names, "name");
 
-    assertEquals(-1, indexTable.get("name"));
+    assertEquals(2, indexTable.get("name"));
   }
 
   @Test
   public void hashIndexTable_remove_deletesMapping() {
-    HashIndexTable indexTable = new HashIndexTable();
+    List<String> names = new ArrayList<String>();
+    HashIndexTable indexTable = new HashIndexTable(names);
+    add(indexTable, names, "name");
 
-    indexTable.add("name", 23);
-    indexTable.remove(23);
+    remove(indexTable, names, "name", 0);
 
     assertEquals(-1, indexTable.get("name"));
   }
 
   @Test
-  public void hashIndexTable_remove_deletesMapping_withIndexAbove127() {
-    HashIndexTable indexTable = new HashIndexTable();
+  public void hashIndexTable_remove_updatesSubsequentElements() {
+    List<String> names = new ArrayList<String>();
+    HashIndexTable indexTable = new HashIndexTable(names);
+    add(indexTable, names, "foo");
+    add(indexTable, names, "bar");
+    add(indexTable, names, "baz");
 
-    indexTable.add("name", 142);
-    indexTable.remove(142);
+    remove(indexTable, names, "foo", 0);
 
-    assertEquals(-1, indexTable.get("name"));
+    assertEquals(0, indexTable.get("bar"));
+    assertEquals(1, indexTable.get("baz"));
   }
 
   @Test
-  public void hashIndexTable_remove_updatesSubsequentElements() {
-    HashIndexTable indexTable = new HashIndexTable();
+  public void hashIndexTable_remove_doesNotChangePrecedingElements() {
+    List<String> names = new ArrayList<String>();
+    HashIndexTable indexTable = new HashIndexTable(names);
+    add(indexTable, names, "foo");
+    add(indexTable, names, "bar");
 
-    indexTable.add("foo", 23);
-    indexTable.add("bar", 42);
-    indexTable.remove(23);
+    remove(indexTable, names, "bar", 1);
 
-    assertEquals(41, indexTable.get("bar"));
+    assertEquals(0, indexTable.get("foo"));
   }
 
   @Test
-  public void hashIndexTable_remove_updatesSubsequentElements_withIndexAbove127() {
-    HashIndexTable indexTable = new HashIndexTable();
+  public void hashIndexTable_remove_restoresPreviousDuplicate() {
+    List<String> names = new ArrayList<String>();
+    HashIndexTable indexTable = new HashIndexTable(names);
+    add(indexTable, names, "name");
+    add(indexTable, names, "other");
+    add(indexTable, names, "name");
 
-    indexTable.add("foo", 128);
-    indexTable.add("bar", 142);
-    indexTable.remove(128);
+    remove(indexTable, names, "name", 2);
 
-    assertEquals(141, indexTable.get("bar"));
+    assertEquals(0, indexTable.get("name"));
   }
 
   @Test
-  public void hashIndexTable_remove_doesNotChangePrecedingElements() {
-    HashIndexTable indexTable = new HashIndexTable();
+  public void hashIndexTable_remove_keepsCollidingNamesReachable() {
+    // all of these names have the same hash code
+    String[] collidingNames = {"AaAa", "AaBB", "BBAa", "BBBB"};
+    List<String> names = new ArrayList<String>();
+    HashIndexTable indexTable = new HashIndexTable(names);
+    for (String name : collidingNames) {
+      add(indexTable, names, name);
+    }
 
-    indexTable.add("foo", 23);
-    indexTable.add("bar", 128);
-    indexTable.remove(128);
+    remove(indexTable, names, "AaBB", 1);
 
-    assertEquals(23, indexTable.get("foo"));
+    assertEquals(0, indexTable.get("AaAa"));
+    assertEquals(-1, indexTable.get("AaBB"));
+    assertEquals(1, indexTable.get("BBAa"));
+    assertEquals(2, indexTable.get("BBBB"));
   }
 
   @Test
@@ -1049,6 +1074,162 @@ public class JsonObject_Test {
     assertEquals(23, deserializedObject.get("foo").asInt());
   }
 
+  @Test
+  public void compact_sharesNamesOfEqualShapes() {
+    Shape root = new Shape();
+    JsonObject first = compact(root, "a", "1", "b", "2");
+    JsonObject second = compact(root, "a", "3", "b", "4");
+
+    assertNotNull(first.getShape());
+    assertSame(first.getShape(), second.getShape());
+    assertEquals(1, second.indexOf("b"));
+    assertEquals("{\"a\":\"3\",\"b\":\"4\"}", second.toString());
+  }
+
+  @Test
+  public void compact_add_doesNotAffectOtherObjects() {
+    Shape root = new Shape();
+    JsonObject first = compact(root, "a", "1");
+    JsonObject second = compact(root, "a", "2");
+
+    second.add("b", 3);
+
+    assertEquals(object("a", "1"), first);
+    assertEquals(-1, first.indexOf("b"));
+    assertEquals(1, second.indexOf("b"));
+    assertNotNull(first.getShape());
+    assertNull(second.getShape());
+  }
+
+  @Test
+  public void compact_remove_doesNotAffectOtherObjects() {
+    Shape root = new Shape();
+    JsonObject first = compact(root, "a", "1", "b", "2");
+    JsonObject second = compact(root, "a", "3", "b", "4");
+
+    second.remove("a");
+
+    assertEquals(object("a", "1", "b", "2"), first);
+    assertEquals(0, second.indexOf("b"));
+    assertEquals(-1, second.indexOf("a"));
+  }
+
+  @Test
+  public void compact_set_keepsShapeForExistingName() {
+    Shape root = new Shape();
+    JsonObject first = compact(root, "a", "1");
+    JsonObject second = compact(root, "a", "2");
+
+    second.set("a", 3).set("b", 4);
+
+    assertEquals(object("a", "1"), first);
+    assertEquals(new JsonObject().add("a", 3).add("b", 4), second);
+  }
+
+  @Test
+  public void compact_addMember_fallsBackWhenShapesAreExhausted() {
+    JsonObject object = JsonObject.compact(new Shape());
+    for (int i = 0; i <= Shape.MAX_SIZE; i++) {
+      object.addMember("a" + i, Json.value(i));
+    }
+    object.endMembers();
+
+    assertEquals(Shape.MAX_SIZE + 1, object.size());
+    assertEquals(Shape.MAX_SIZE, object.get("a" + Shape.MAX_SIZE).asInt());
+  }
+
+  @Test
+  public void compact_names_reflectsChanges() {
+    JsonObject object = compact(new Shape(), "a", "1");
+    List<String> names = object.names();
+
+    object.add("b", 2);
+
+    assertEquals(2, names.size());
+    assertEquals("b", names.get(1));
+  }
+
+  @Test
+  public void compact_copy_isIndependent() {
+    Shape root = new Shape();
+    JsonObject original = compact(root, "a", "1");
+    JsonObject copy = new JsonObject(original);
+
+    copy.add("b", 2);
+    original.set("a", "3");
+
+    assertEquals(object("a", "3"), original);
+    assertEquals(new JsonObject().add("a", "1").add("b", 2), copy);
+  }
+
+  @Test
+  public void compact_unmodifiableObject_reflectsChanges() {
+    JsonObject original = compact(new Shape(), "a", "1");
+    JsonObject unmodifiableObject = JsonObject.unmodifiableObject(original);
+
+    original.add("b", 2);
+
+    assertEquals(2, unmodifiableObject.get("b").asInt());
+    assertEquals(Arrays.asList("a", "b"), unmodifiableObject.names());
+  }
+
+  @Test
+  public void compact_unmodifiableObject_leavesObjectCompact() {
+    JsonObject original = compact(new Shape(), "a", "1");
+
+    JsonObject unmodifiableObject = JsonObject.unmodifiableObject(original);
+
+    assertNotNull(original.getShape());
+    assertEquals("1", unmodifiableObject.get("a").asString());
+    assertEquals(0, unmodifiableObject.indexOf("a"));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void compact_unmodifiableObject_preventsModification() {
+    JsonObject unmodifiableObject = JsonObject.unmodifiableObject(compact(new Shape(), "a", "1"));
+
+    unmodifiableObject.add("b", 2);
+  }
+
+  @Test
+  public void compact_copy_leavesObjectCompact() {
+    JsonObject original = compact(new Shape(), "a", "1");
+
+    new JsonObject(original);
+
+    assertNotNull(original.getShape());
+  }
+
+  @Test
+  public void compact_serialization_leavesObjectCompact() throws Exception {
+    JsonObject object = compact(new Shape(), "a", "1");
+
+    serializeAndDeserialize(object);
+
+    assertNotNull(object.getShape());
+  }
+
+  @Test
+  public void compact_unmodifiableObject_canBeSerializedAndDeserialized() throws Exception {
+    JsonObject original = compact(new Shape(), "a", "1");
+    JsonObject unmodifiableObject = JsonObject.unmodifiableObject(original);
+
+    JsonObject deserializedObject = serializeAndDeserialize(unmodifiableObject);
+
+    assertEquals(original, deserializedObject);
+    assertEquals(0, deserializedObject.indexOf("a"));
+  }
+
+  @Test
+  public void compact_canBeSerializedAndDeserialized() throws Exception {
+    JsonObject object = compact(new Shape(), "a", "1", "b", "2");
+
+    JsonObject deserializedObject = serializeAndDeserialize(object);
+
+    assertEquals(object, deserializedObject);
+    assertEquals(1, deserializedObject.indexOf("b"));
+  }
+
   @Test
   public void member_returnsNameAndValue() {
     Member member = new Member("a", Json.TRUE);
@@ -1116,4 +1297,27 @@ public class JsonObject_Test {
     return object;
   }
 
+  private static JsonObject compact(Shape root, String... namesAndValues) {
+    JsonObject object = JsonObject.compact(root);
+    for (int i = 0; i < namesAndValues.length; i += 2) {
+      object.addMember(namesAndValues[i], Json.value(namesAndValues[i + 1]));
+    }
+    object.endMembers();
+    return object;
+  }
+
+  private static void add(HashIndexTable indexTable, List<String> names, String name) {
+    indexTable.add(name, names.size());
+    names.add(name);
+  }
+
+  private static void remove(HashIndexTable indexTable,
+                             List<String> names,
+                             String name,
+                             int index)
+  {
+    names.remove(index);
+    indexTable.remove(name, index);
+  }
+
 }
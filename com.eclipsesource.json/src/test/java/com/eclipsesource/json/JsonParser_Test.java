@@ -23,12 +23,22 @@ package com.eclipsesource.json;
 
 import static com.eclipsesource.json.Json.parse;
 import static com.eclipsesource.json.TestUtil.assertException;
+import static org.hamcrest.core.StringContains.containsString;
 import static org.hamcrest.core.StringStartsWith.startsWith;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
+import java.io.RandomAccessFile;
 import java.io.StringReader;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Random;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -53,6 +63,11 @@ public class JsonParser_Test {
     new JsonParser(null);
   }
 
+  @Test(expected = NullPointerException.class)
+  public void constructor_rejectsNullConfig() {
+    new JsonParser(handler, null);
+  }
+
   @Test(expected = NullPointerException.class)
   public void parse_string_rejectsNull() {
     parser.parse((String)null);
@@ -63,6 +78,41 @@ public class JsonParser_Test {
     parser.parse((Reader)null);
   }
 
+  @Test(expected = NullPointerException.class)
+  public void parse_charSequence_rejectsNull() {
+    parser.parse((CharSequence)null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_chars_rejectsNull() {
+    parser.parse((char[])null);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void parse_chars_rejectsNegativeOffset() {
+    parser.parse("[]".toCharArray(), -1, 2);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void parse_chars_rejectsExceedingLength() {
+    parser.parse("[]".toCharArray(), 1, 2);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_bytes_rejectsNull() {
+    parser.parse((byte[])null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_inputStream_rejectsNull() throws IOException {
+    parser.parse((InputStream)null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_fileChannel_rejectsNull() throws IOException {
+    parser.parse((FileChannel)null);
+  }
+
   @Test(expected = IllegalArgumentException.class)
   public void parse_reader_rejectsNegativeBufferSize() throws IOException {
     parser.parse(new StringReader("[]"), -1);
@@ -85,6 +135,254 @@ public class JsonParser_Test {
     assertThat(exception.getMessage(), startsWith("Unexpected end of input at"));
   }
 
+  @Test
+  public void parse_bytes_rejectsEmpty() {
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        parser.parse(new byte[0]);
+      }
+    });
+
+    assertEquals(0, exception.getLocation().offset);
+    assertThat(exception.getMessage(), startsWith("Unexpected end of input at"));
+  }
+
+  @Test
+  public void parse_chars() {
+    parser.parse("\"foo\"".toCharArray());
+
+    assertEquals(join("startString 0",
+                      "endString foo 5"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void parse_chars_range() {
+    parser.parse("xx[23]xx".toCharArray(), 2, 4);
+
+    assertEquals(join("startArray 0",
+                      "startArrayValue a1 1",
+                      "startNumber 1",
+                      "endNumber 23 3",
+                      "endArrayValue a1 3",
+                      "endArray a1 4"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void parse_chars_range_reportsRelativeLocations() {
+    final char[] chars = "xxx[23\n,]".toCharArray();
+
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        parser.parse(chars, 3, 6);
+      }
+    });
+
+    assertEquals(new Location(5, 2, 2), exception.getLocation());
+  }
+
+  @Test
+  public void parse_chars_numberAtEndOfInput() {
+    parser.parse("x23".toCharArray(), 1, 2);
+
+    assertEquals(join("startNumber 0",
+                      "endNumber 23 2"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void parse_chars_escapesInStrings() {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler);
+
+    parser.parse("[\"a\\nb\", \"\\u0063d\\\"\"]".toCharArray());
+
+    assertEquals(Json.array("a\nb", "cd\""), defHandler.getValue());
+  }
+
+  @Test
+  public void parse_charBuffer_inPlace() {
+    CharBuffer buffer = CharBuffer.wrap("xx[23]".toCharArray());
+    buffer.position(2);
+
+    parser.parse(buffer);
+
+    assertEquals(2, buffer.position());
+    assertThat(handler.getLog(), startsWith("startArray 0\n"));
+  }
+
+  @Test
+  public void parse_charBuffer_readOnly() {
+    parser.parse(CharBuffer.wrap("\"foo\""));
+
+    assertEquals(join("startString 0",
+                      "endString foo 5"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void parse_charSequence() {
+    parser.parse(new StringBuilder("\"foo\""));
+
+    assertEquals(join("startString 0",
+                      "endString foo 5"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void parse_bytes() throws IOException {
+    parser.parse("[\"f\u00f6\u00f6\"]".getBytes("UTF-8"));
+
+    assertEquals(join("startArray 0",
+                      "startArrayValue a1 1",
+                      "startString 1",
+                      "endString f\u00f6\u00f6 6",
+                      "endArrayValue a1 6",
+                      "endArray a1 7"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void parse_bytesRange() throws IOException {
+    parser.parse("x[\"f\u00f6\"]x".getBytes("UTF-8"), 1, 7);
+
+    assertEquals(join("startArray 0",
+                      "startArrayValue a1 1",
+                      "startString 1",
+                      "endString f\u00f6 5",
+                      "endArrayValue a1 5",
+                      "endArray a1 6"),
+                 handler.getLog());
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void parse_bytesRange_rejectsInvalidRange() {
+    parser.parse(new byte[3], 2, 2);
+  }
+
+  @Test
+  public void parse_inputStream() throws IOException {
+    parser.parse(new ByteArrayInputStream("\"f\u00f6\u00f6\"".getBytes("UTF-8")));
+
+    assertEquals(join("startString 0",
+                      "endString f\u00f6\u00f6 5"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void parse_bytes_reportsCharacterLocations() throws IOException {
+    final byte[] bytes = "[\"\u00e4\u00f6\u00fc\", \"\u20ac\"\n x]".getBytes("UTF-8");
+
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        parser.parse(bytes);
+      }
+    });
+
+    assertEquals(new Location(13, 2, 2), exception.getLocation());
+  }
+
+  @Test
+  public void parse_reusedParser() throws IOException {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler);
+
+    parser.parse("[23]");
+    parser.parse(new StringReader("\"foo\""));
+    parser.parse("42".getBytes("UTF-8"));
+
+    assertEquals(Json.value(42), defHandler.getValue());
+  }
+
+  @Test
+  public void parse_reusedParser_afterError() throws IOException {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler);
+    assertException(ParseException.class, new RunnableEx() {
+      public void run() throws IOException {
+        parser.parse(new StringReader("[\"abcdefghijklmnopqrstuvwxyz"), 10);
+      }
+    });
+
+    parser.parse(new StringReader("\"foo\""), 10);
+
+    assertEquals(Json.value("foo"), defHandler.getValue());
+  }
+
+  @Test
+  public void reset_parserCanBeReused() {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler);
+    parser.parse("\"foo\"");
+
+    parser.reset();
+    parser.parse("[23]");
+
+    assertEquals(Json.array(23), defHandler.getValue());
+  }
+
+  @Test
+  public void parse_withoutStackTraces() {
+    parser = new JsonParser(handler, ParserConfig.DEFAULT.withStackTraces(false));
+
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        parser.parse("[23 42]");
+      }
+    });
+
+    assertEquals("Expected ',' or ']' at 1:5", exception.getMessage());
+    assertEquals(0, exception.getStackTrace().length);
+  }
+
+  @Test
+  public void validator_acceptsValidInput() {
+    parser = JsonParser.createValidator(ParserConfig.DEFAULT);
+
+    parser.parse("{\"a\": [\"b\\n\", -1.5e3, 0, true, false, null], \"c\": {}}");
+  }
+
+  @Test
+  public void validator_rejectsInvalidInput() {
+    parser = JsonParser.createValidator(ParserConfig.DEFAULT);
+
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        parser.parse("{\"a\": [\"b\", 1.]}");
+      }
+    });
+
+    assertEquals(new Location(14, 1, 15), exception.getLocation());
+  }
+
+  @Test
+  public void parse_fileChannel() throws IOException {
+    File file = File.createTempFile("test", ".json");
+    try {
+      FileOutputStream output = new FileOutputStream(file);
+      output.write("xx\n\"f\u00f6\u00f6\"".getBytes("UTF-8"));
+      output.close();
+      RandomAccessFile randomAccessFile = new RandomAccessFile(file, "r");
+      try {
+        FileChannel channel = randomAccessFile.getChannel();
+        channel.position(3);
+
+        parser.parse(channel);
+
+        assertEquals(3, channel.position());
+      } finally {
+        randomAccessFile.close();
+      }
+    } finally {
+      file.delete();
+    }
+
+    assertEquals(join("startString 0",
+                      "endString f\u00f6\u00f6 5"),
+                 handler.getLog());
+  }
+
   @Test
   public void parse_null() {
     parser.parse("null");
@@ -279,6 +577,53 @@ public class JsonParser_Test {
     assertEquals("[3.141592653589]", defHandler.getValue().toString());
   }
 
+  @Test
+  public void parse_handlesMultiByteCharactersThatExceedBufferSize() throws IOException {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler);
+    String input = "[ \"\u00e4\u20ac\ud834\udd1e \u00f6\u20ac\ud834\udd1e "
+                   + "\u00fc\u20ac\ud834\udd1e\" ]";
+
+    parser.parse(new Utf8Reader(new ByteArrayInputStream(input.getBytes("UTF-8")), 4), 3);
+
+    assertEquals(Json.parse(input), defHandler.getValue());
+  }
+
+  @Test
+  public void parse_withKeyCache_reusesNames() {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler, ParserConfig.DEFAULT.withKeyCache(16));
+
+    parser.parse("[{\"foo\": 1, \"bar\": 2}, {\"foo\": 3, \"bar\": 4}]");
+
+    JsonArray array = defHandler.getValue().asArray();
+    assertEquals("[{\"foo\":1,\"bar\":2},{\"foo\":3,\"bar\":4}]", array.toString());
+    assertSame(array.get(0).asObject().names().get(0), array.get(1).asObject().names().get(0));
+    assertSame(array.get(0).asObject().names().get(1), array.get(1).asObject().names().get(1));
+  }
+
+  @Test
+  public void parse_withKeyCache_handlesCollisions() {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler, ParserConfig.DEFAULT.withKeyCache(1));
+
+    parser.parse("{\"a\": 1, \"b\": 2, \"a\": 3, \"Aa\": 4, \"BB\": 5, \"\\u0061\": 6}");
+
+    assertEquals(Arrays.asList("a", "b", "a", "Aa", "BB", "a"),
+                 defHandler.getValue().asObject().names());
+  }
+
+  @Test
+  public void parse_withKeyCache_handlesNamesThatExceedBufferSize() throws IOException {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler, ParserConfig.DEFAULT.withKeyCache(16));
+    String input = "[{\"lorem ipsum\": 1}, {\"lorem ipsum\": 2}]";
+
+    parser.parse(new StringReader(input), 3);
+
+    assertEquals(Json.parse(input), defHandler.getValue());
+  }
+
   @Test
   public void parse_handlesPositionsCorrectlyWhenInputExceedsBufferSize() {
     final String input = "{\n  \"a\": 23,\n  \"b\": 42,\n}";
@@ -292,6 +637,21 @@ public class JsonParser_Test {
     assertEquals(new Location(24, 4, 1), exception.getLocation());
   }
 
+  @Test
+  public void parse_handlesLongWhiteSpaceRunsAcrossBufferBoundaries() {
+    final String input = "[\n        23,\r\n  \t  42,\n\n            x]";
+
+    for (int bufferSize = 3; bufferSize < 12; bufferSize++) {
+      final int size = bufferSize;
+      ParseException exception = assertException(ParseException.class, new RunnableEx() {
+        public void run() throws IOException {
+          parser.parse(new StringReader(input), size);
+        }
+      });
+      assertEquals(new Location(37, 5, 13), exception.getLocation());
+    }
+  }
+
   @Test
   public void parse_failsOnTooDeeplyNestedArray() {
     JsonArray array = new JsonArray();
@@ -523,6 +883,280 @@ public class JsonParser_Test {
     assertParseException(9, "Unexpected end of input", "{\"a\":23, ");
   }
 
+  @Test
+  public void endString_reportsSlices() throws IOException {
+    String input = "{\"a\": \"foo\", \"b\\u0063\": [\"x\\ty\", \"\"],"
+                   + " \"long\": \"abcdefghijklmn\"}";
+    String expected = join("name a",
+                           "string foo",
+                           "value A",
+                           "name bc escaped",
+                           "string x\ty escaped",
+                           "string ",
+                           "value null",
+                           "name long",
+                           "string abcdefghijklmn",
+                           "value null");
+
+    for (int bufferSize = 10; bufferSize < 20; bufferSize++) {
+      SliceHandler sliceHandler = new SliceHandler();
+      new JsonParser(sliceHandler).parse(new StringReader(input), bufferSize);
+      assertEquals(expected, sliceHandler.log.toString());
+    }
+    SliceHandler sliceHandler = new SliceHandler();
+    new JsonParser(sliceHandler).parse(input);
+    assertEquals(expected, sliceHandler.log.toString());
+  }
+
+  @Test
+  public void endObjectName_usesKeyCacheByDefault() {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler, ParserConfig.DEFAULT.withKeyCache(16));
+
+    parser.parse("[{\"name\": 1}, {\"name\": 2}]");
+
+    JsonArray array = defHandler.getValue().asArray();
+    assertSame(array.get(0).asObject().names().get(0), array.get(1).asObject().names().get(0));
+  }
+
+  @Test
+  public void defaultHandler_keepsTextOfNumbersInArrays() throws IOException {
+    String input = "[1.5,21,-0.25,1.50,1e2,100.0,0.0001,0.001,-9999999.5,12345678.5,[7,8],"
+                   + "{\"a\":2.5},-3]";
+
+    for (int bufferSize = 2; bufferSize < 20; bufferSize++) {
+      DefaultHandler defHandler = new DefaultHandler();
+      new JsonParser(defHandler).parse(new StringReader(input), bufferSize);
+      assertEquals(input, defHandler.getValue().toString());
+    }
+    DefaultHandler defHandler = new DefaultHandler();
+    new JsonParser(defHandler).parse(input);
+    assertEquals(input, defHandler.getValue().toString());
+  }
+
+  @Test
+  public void defaultHandler_topLevelNumbers() {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler);
+
+    parser.parse("2.5");
+    assertEquals(Json.value(2.5), defHandler.getValue());
+    parser.parse("23");
+    assertEquals(Json.value(23), defHandler.getValue());
+  }
+
+  @Test
+  public void defaultHandler_sharesNamesOfEqualObjects() {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler);
+
+    parser.parse("[{\"a\":1,\"b\":2},{\"a\":3,\"b\":4},{\"b\":5,\"a\":6}]");
+
+    JsonArray array = defHandler.getValue().asArray();
+    JsonObject first = array.get(0).asObject();
+    JsonObject second = array.get(1).asObject();
+    JsonObject third = array.get(2).asObject();
+    assertNotNull(first.getShape());
+    assertSame(first.getShape(), second.getShape());
+    assertNotSame(first.getShape(), third.getShape());
+    assertEquals(4, second.get("b").asInt());
+    assertEquals(6, third.get("a").asInt());
+  }
+
+  @Test
+  public void defaultHandler_stopsSharingNamesOfUniqueObjects() {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler);
+    StringBuilder json = new StringBuilder("[");
+    for (int i = 0; i < 2 * Shape.MAX_SHAPES; i++) {
+      json.append(i == 0 ? "" : ",").append("{\"a" + i + "\":" + i + ",\"b\":" + i + "}");
+    }
+
+    parser.parse(json.append("]").toString());
+
+    JsonArray array = defHandler.getValue().asArray();
+    JsonObject last = array.get(array.size() - 1).asObject();
+    assertNull(last.getShape());
+    for (int i = 0; i < array.size(); i++) {
+      assertEquals(i, array.get(i).asObject().get("a" + i).asInt());
+      assertEquals(1, array.get(i).asObject().indexOf("b"));
+    }
+  }
+
+  @Test
+  public void stringChunk_reportsLongStringsInChunks() {
+    ChunkHandler chunkHandler = new ChunkHandler();
+    parser = new JsonParser(chunkHandler, ParserConfig.DEFAULT.withStringChunks(4));
+
+    parser.parse("[\"abcd\", \"abcdefghij\", {\"long-name\": \"ab\\ncdefg\"}]");
+
+    assertEquals(join("string abcd",
+                      "start chunks",
+                      "chunk abcd",
+                      "chunk efgh",
+                      "chunk ij",
+                      "end chunks",
+                      "start chunks",
+                      "chunk ab\nc",
+                      "chunk defg",
+                      "end chunks"),
+                 chunkHandler.log.toString());
+  }
+
+  @Test
+  public void stringChunk_withReader() throws IOException {
+    String string = "0123456789\\u0041bcdefghijklmnopqrstuvwxyz0123456789";
+    String expected = "0123456789Abcdefghijklmnopqrstuvwxyz0123456789";
+
+    for (int bufferSize = 4; bufferSize < 20; bufferSize++) {
+      ChunkHandler chunkHandler = new ChunkHandler();
+      parser = new JsonParser(chunkHandler, ParserConfig.DEFAULT.withStringChunks(8));
+      parser.parse(new StringReader("[\"" + string + "\"]"), bufferSize);
+
+      assertEquals(expected, chunkHandler.chunks.toString());
+      assertEquals(1, chunkHandler.startCount);
+      assertEquals(1, chunkHandler.endCount);
+      assertTrue(chunkHandler.maxChunkLength <= 8);
+    }
+  }
+
+  @Test
+  public void stringChunk_defaultHandlerReassemblesString() {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler, ParserConfig.DEFAULT.withStringChunks(4));
+
+    parser.parse("[\"abcdefghij\", \"ab\\ncdefg\"]");
+
+    assertEquals(new JsonArray().add("abcdefghij").add("ab\ncdefg"), defHandler.getValue());
+  }
+
+  @Test
+  public void stringChunk_failsOnUnterminatedString() {
+    parser = new JsonParser(new ChunkHandler(), ParserConfig.DEFAULT.withStringChunks(4));
+
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        parser.parse("\"abcdefghij");
+      }
+    });
+
+    assertEquals(11, exception.getLocation().offset);
+  }
+
+  @Test
+  public void endNumber_reportsPrimitiveValues() {
+    NumberHandler numberHandler = new NumberHandler();
+    parser = new JsonParser(numberHandler);
+
+    parser.parse("[0, -23, 123456789012345678, 1234567890123456789, -0, 1.5, 1.50, -2.5e-3, 1E5,"
+                 + " 1e22, 1e23, 0.1234567890123456]");
+
+    assertEquals(join("long 0",
+                      "long -23",
+                      "long 123456789012345678",
+                      "string 1234567890123456789",
+                      "double -0.0",
+                      "double 1.5",
+                      "double 1.5",
+                      "double -0.0025",
+                      "double 100000.0",
+                      "double 1.0E22",
+                      "string 1e23",
+                      "string 0.1234567890123456"),
+                 numberHandler.log.toString());
+  }
+
+  @Test
+  public void endNumber_convertsDecimalsExactly() {
+    Random random = new Random(23);
+    int converted = 0;
+    for (int i = 0; i < 10000; i++) {
+      String number = random.nextInt(1000000) + "." + random.nextInt(1000000000) + "e"
+                      + (random.nextInt(30) - 15);
+      final double[] result = {Double.NaN};
+      new JsonParser(new JsonHandler<Object, Object>() {
+        @Override
+        public void endNumber(double value) {
+          result[0] = value;
+        }
+      }).parse(number);
+      if (!Double.isNaN(result[0])) {
+        assertEquals(number, Double.parseDouble(number), result[0], 0);
+        converted++;
+      }
+    }
+    assertTrue(converted > 5000);
+  }
+
+  @Test
+  public void endNumber_fallsBackToString() {
+    parser.parse("[23, 1.50, 1e23]");
+
+    assertThat(handler.getLog(), containsString("endNumber 23 "));
+    assertThat(handler.getLog(), containsString("endNumber 1.50 "));
+    assertThat(handler.getLog(), containsString("endNumber 1e23 "));
+  }
+
+  @Test
+  public void skipObjectValue_skipsValue() {
+    handler.skipName = "a";
+
+    parser.parse("{\"a\": [1, {\"b\": \"]}\\\"\"}], \"c\": 2}");
+
+    assertEquals(join("startObject 0",
+                      "startObjectName o1 1",
+                      "endObjectName o1 a 4",
+                      "skipObjectValue o1 a 6",
+                      "startObjectName o1 26",
+                      "endObjectName o1 c 29",
+                      "startObjectValue o1 c 31",
+                      "startNumber 31",
+                      "endNumber 2 32",
+                      "endObjectValue o1 c 32",
+                      "endObject o1 33"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void skipObjectValue_skipsScalars() {
+    DefaultHandler defHandler = new DefaultHandler() {
+      @Override
+      public boolean skipObjectValue(JsonObject object, String name) {
+        return !name.equals("x");
+      }
+    };
+    parser = new JsonParser(defHandler);
+
+    parser.parse("{\"a\":null,\"b\":true,\"c\":-1.5e3,\"d\":\"s\",\"x\":0,\"e\":false}");
+
+    assertEquals("{\"x\":0}", defHandler.getValue().toString());
+  }
+
+  @Test
+  public void skipObjectValue_failsOnIncompleteInput() {
+    handler.skipName = "a";
+
+    assertParseException(5, "Expected value", "{\"a\":}");
+    assertParseException(6, "Unexpected end of input", "{\"a\":[");
+    assertParseException(8, "Unexpected end of input", "{\"a\":\"\\\"");
+    assertParseException(7, "Unexpected end of input", "{\"a\":23");
+    assertParseException(8, "Expected ',' or '}'", "{\"a\":23 x}");
+  }
+
+  @Test
+  public void skipObjectValue_countsLinesInSkippedValue() {
+    handler.skipName = "a";
+    final String input = "{\"a\": [\n  1,\n  2\n],\n\"b\" x}";
+
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        parser.parse(input);
+      }
+    });
+
+    assertEquals(new Location(24, 5, 5), exception.getLocation());
+  }
+
   @Test
   public void strings_emptyString_isAccepted() {
     assertEquals("", parse("\"\"").asString());
@@ -612,6 +1246,31 @@ public class JsonParser_Test {
     assertParseException(10, "Unexpected end of input", "\"foo\\u0000");
   }
 
+  @Test
+  public void strings_longStrings_acrossBufferBoundaries() throws IOException {
+    StringBuilder json = new StringBuilder("[\"");
+    StringBuilder expected = new StringBuilder();
+    for (int i = 0; i < 500; i++) {
+      json.append(i % 7 == 0 ? "\\n" : "abc");
+      expected.append(i % 7 == 0 ? "\n" : "abc");
+    }
+    json.append("\", \"x\"]");
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonParser(defHandler);
+
+    for (int bufferSize = 10; bufferSize < 20; bufferSize++) {
+      parser.parse(new StringReader(json.toString()), bufferSize);
+      assertEquals(Json.array(expected.toString(), "x"), defHandler.getValue());
+    }
+    parser.parse(json.toString());
+    assertEquals(Json.array(expected.toString(), "x"), defHandler.getValue());
+  }
+
+  @Test
+  public void strings_controlCharacter_afterLongRun_isRejected() {
+    assertParseException(11, "Expected valid string character", "\"abcdefghij\tk\"");
+  }
+
   @Test
   public void numbers_integer() {
     assertEquals(new JsonNumber("0"), parse("0"));
@@ -755,11 +1414,96 @@ public class JsonParser_Test {
     return builder.toString();
   }
 
+  static class SliceHandler extends JsonHandler<Object, Object> {
+
+    StringBuilder log = new StringBuilder();
+
+    @Override
+    public void endString(char[] chars, int offset, int length, boolean escaped) {
+      log.append("string ").append(chars, offset, length).append(escaped ? " escaped" : "");
+      log.append('\n');
+    }
+
+    @Override
+    public String endObjectName(Object object,
+                                char[] chars,
+                                int offset,
+                                int length,
+                                boolean escaped)
+    {
+      log.append("name ").append(chars, offset, length).append(escaped ? " escaped" : "");
+      log.append('\n');
+      return length == 1 && chars[offset] == 'a' ? "A" : null;
+    }
+
+    @Override
+    public void endObjectValue(Object object, String name) {
+      log.append("value ").append(name).append('\n');
+    }
+
+  }
+
+  static class ChunkHandler extends JsonHandler<Object, Object> {
+
+    StringBuilder log = new StringBuilder();
+    StringBuilder chunks = new StringBuilder();
+    int startCount;
+    int endCount;
+    int maxChunkLength;
+
+    @Override
+    public void endString(char[] chars, int offset, int length, boolean escaped) {
+      log.append("string ").append(chars, offset, length).append('\n');
+    }
+
+    @Override
+    public void startStringChunks() {
+      log.append("start chunks\n");
+      startCount++;
+    }
+
+    @Override
+    public void stringChunk(char[] chars, int offset, int length) {
+      log.append("chunk ").append(chars, offset, length).append('\n');
+      chunks.append(chars, offset, length);
+      maxChunkLength = Math.max(maxChunkLength, length);
+    }
+
+    @Override
+    public void endStringChunks() {
+      log.append("end chunks\n");
+      endCount++;
+    }
+
+  }
+
+  static class NumberHandler extends JsonHandler<Object, Object> {
+
+    StringBuilder log = new StringBuilder();
+
+    @Override
+    public void endNumber(String string) {
+      log.append("string ").append(string).append('\n');
+    }
+
+    @Override
+    public void endNumber(long value) {
+      log.append("long ").append(value).append('\n');
+    }
+
+    @Override
+    public void endNumber(double value) {
+      log.append("double ").append(value).append('\n');
+    }
+
+  }
+
   static class TestHandler extends JsonHandler<Object, Object> {
 
     Location lastLocation;
     StringBuilder log = new StringBuilder();
     int sequence = 0;
+    String skipName;
 
     @Override
     public void startNull() {
@@ -853,6 +1597,15 @@ public class JsonParser_Test {
       record("endObjectValue", object, name);
     }
 
+    @Override
+    public boolean skipObjectValue(Object object, String name) {
+      if (name.equals(skipName)) {
+        record("skipObjectValue", object, name);
+        return true;
+      }
+      return false;
+    }
+
     private void record(String event, Object... args) {
       lastLocation = getLocation();
       log.append(event);
@@ -0,0 +1,393 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static com.eclipsesource.json.TestUtil.assertException;
+import static org.hamcrest.core.StringStartsWith.startsWith;
+import static org.junit.Assert.*;
+
+import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.eclipsesource.json.Json.DefaultHandler;
+import com.eclipsesource.json.JsonParser_Test.NumberHandler;
+import com.eclipsesource.json.JsonParser_Test.SliceHandler;
+import com.eclipsesource.json.JsonParser_Test.TestHandler;
+
+
+public class JsonPushParser_Test {
+
+  private TestHandler handler;
+  private JsonPushParser parser;
+
+  @Before
+  public void setUp() {
+    handler = new TestHandler();
+    parser = new JsonPushParser(handler);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void constructor_rejectsNullHandler() {
+    new JsonPushParser(null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void constructor_rejectsNullConfig() {
+    new JsonPushParser(handler, null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void feed_chars_rejectsNull() {
+    parser.feed(null, 0, 0);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void feed_chars_rejectsInvalidRange() {
+    parser.feed(new char[2], 1, 2);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void feed_bytes_rejectsNull() {
+    parser.feed((ByteBuffer)null);
+  }
+
+  @Test
+  public void endOfInput_rejectsEmpty() {
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        parser.endOfInput();
+      }
+    });
+
+    assertEquals(0, exception.getLocation().offset);
+    assertThat(exception.getMessage(), startsWith("Unexpected end of input at"));
+  }
+
+  @Test
+  public void feed_reportsEventsImmediately() {
+    feed("[\"foo\", 2");
+
+    assertEquals(join("startArray 0",
+                      "startArrayValue a1 1",
+                      "startString 1",
+                      "endString foo 6",
+                      "endArrayValue a1 6",
+                      "startArrayValue a1 8",
+                      "startNumber 8"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void endOfInput_completesNumber() {
+    feed("23");
+    parser.endOfInput();
+
+    assertEquals(join("startNumber 0",
+                      "endNumber 23 2"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void endOfInput_resetsParser() {
+    feed("[23]");
+    parser.endOfInput();
+    feed("[42]");
+    parser.endOfInput();
+
+    assertEquals(join("startArray 0",
+                      "startArrayValue a1 1",
+                      "startNumber 1",
+                      "endNumber 23 3",
+                      "endArrayValue a1 3",
+                      "endArray a1 4",
+                      "startArray 0",
+                      "startArrayValue a2 1",
+                      "startNumber 1",
+                      "endNumber 42 3",
+                      "endArrayValue a2 3",
+                      "endArray a2 4"),
+                 handler.getLog());
+  }
+
+  @Test
+  public void error_resetsParser() {
+    assertException(ParseException.class, new Runnable() {
+      public void run() {
+        feed("[23}");
+      }
+    });
+
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonPushParser(defHandler);
+    feed("[42]");
+    parser.endOfInput();
+
+    assertEquals(new JsonArray().add(42), defHandler.getValue());
+  }
+
+  @Test
+  public void buildsSameValueAsJsonParser() {
+    String json = "{\"a\": [1, -2.5e+3, true, false, null, \"x\\u00e4\\n\"], \"b\": {\"c\": {}}}";
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonPushParser(defHandler);
+
+    for (char ch : json.toCharArray()) {
+      parser.feed(new char[] {ch}, 0, 1);
+    }
+    parser.endOfInput();
+
+    assertEquals(Json.parse(json), defHandler.getValue());
+  }
+
+  @Test
+  public void reportsSameEventsAsJsonParser() throws Exception {
+    String[] inputs = {"null", "true", "false", "\"\"", "\"foo\"", "\"f\\\"o\\u00e4o\"", "0", "-0",
+                       "23", "-23", "0.5", "-2.3e-12", "1E5", "[]", "{}", "[23,42]",
+                       " [ 23 , \"x\" , [ ] , { } ] ", "{\"a\":1,\"b\":[true,{\"c\":null}]}",
+                       "[\n  {\"a\" :\r\n\t\"b\"}\n]", "\"ä€𝄞\""};
+    for (String input : inputs) {
+      assertSameEvents(input);
+    }
+  }
+
+  @Test
+  public void reportsSamePrimitiveNumbersAsJsonParser() {
+    String input = "[0, -23, 123456789012345678, 1234567890123456789, -0, 1.5, 1.50, -2.5e-3, 1E5,"
+                   + " 1e+22, 1e23, 0.1234567890123456, 0.0]";
+    NumberHandler expected = new NumberHandler();
+    new JsonParser(expected).parse(input);
+    NumberHandler actual = new NumberHandler();
+
+    feedInChunks(new JsonPushParser(actual), input, 3);
+
+    assertEquals(expected.log.toString(), actual.log.toString());
+  }
+
+  @Test
+  public void reportsSameSlicesAsJsonParser() {
+    String input = "{\"a\": \"foo\", \"b\\u0063\": [\"x\\ty\", \"\"],"
+                   + " \"long\": \"abcdefghijklmn\"}";
+    SliceHandler expected = new SliceHandler();
+    new JsonParser(expected).parse(input);
+    SliceHandler actual = new SliceHandler();
+
+    feedInChunks(new JsonPushParser(actual), input, 3);
+
+    assertEquals(expected.log.toString(), actual.log.toString());
+  }
+
+  @Test
+  public void skipsSameValuesAsJsonParser() throws Exception {
+    String[] inputs = {"{\"a\":null}", "{\"a\":true,\"b\":1}", "{\"a\": -1.5e3 ,\"b\":1}",
+                       "{\"a\":\"x\\\"]\"}", "{\"a\":[1,{\"b\":\"}\"}],\"c\":{\"a\":2}}",
+                       "[{\"a\" : {\"b\": [[]]}\n, \"c\": 23}]", "{\"b\":{\"a\":\n[\n]}}"};
+    for (String input : inputs) {
+      assertSameEvents(input, "a");
+    }
+  }
+
+  @Test
+  public void reportsSameSkipErrorsAsJsonParser() throws Exception {
+    String[] inputs = {"{\"a\":}", "{\"a\":x}", "{\"a\":[", "{\"a\":\"\\\"", "{\"a\":23",
+                       "{\"a\":23 x}", "{\"a\":[]]"};
+    for (String input : inputs) {
+      assertSameError(input, "a");
+    }
+  }
+
+  @Test
+  public void reportsSameErrorsAsJsonParser() throws Exception {
+    String[] inputs = {"", " ", "x", "nul", "nx", "tx", "falsx", "truex", "\"foo", "\"\\a\"",
+                       "\"\\u00x0\"", "\"\\u00", "\"--\n--\"", "-", "-x", "1.", "1.x", "1e",
+                       "1ex", "1e+", "1e1x", "02", "-02", "+1", ".1", "[", "[,]", "[23 42]",
+                       "[23,]", "[23,", "{", "{,}", "{23}", "{\"a\"}", "{\"a\" \"b\"}",
+                       "{\"a\":}", "{\"a\":23,}", "{\"a\":23", "{\"a\":23,", "[]]", "{}x",
+                       "[\n  1,\n  2\n x"};
+    for (String input : inputs) {
+      assertSameError(input);
+    }
+  }
+
+  @Test
+  public void failsOnTooDeeplyNestedArray() {
+    JsonArray array = new JsonArray();
+    for (int i = 0; i < 1001; i++) {
+      array = new JsonArray().add(array);
+    }
+    final String input = array.toString();
+
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        feed(input);
+      }
+    });
+
+    assertEquals("Nesting too deep at 1:1002", exception.getMessage());
+  }
+
+  @Test
+  public void feed_bytes_multiByteCharactersAcrossChunks() throws Exception {
+    String json = "[\"ä€𝄞\"]";
+    byte[] bytes = json.getBytes("UTF-8");
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonPushParser(defHandler);
+
+    for (byte b : bytes) {
+      parser.feed(ByteBuffer.wrap(new byte[] {b}));
+    }
+    parser.endOfInput();
+
+    assertEquals(Json.parse(json), defHandler.getValue());
+  }
+
+  @Test
+  public void feed_bytes_consumesBuffer() throws Exception {
+    ByteBuffer buffer = ByteBuffer.wrap("[23]".getBytes("UTF-8"));
+
+    parser.feed(buffer);
+
+    assertFalse(buffer.hasRemaining());
+  }
+
+  @Test
+  public void feed_bytes_replacesMalformedInput() {
+    DefaultHandler defHandler = new DefaultHandler();
+    parser = new JsonPushParser(defHandler);
+
+    parser.feed(ByteBuffer.wrap(new byte[] {'"', (byte)0xff, (byte)0xe2, (byte)0x82, '"'}));
+    parser.endOfInput();
+
+    assertEquals("��", defHandler.getValue().asString());
+  }
+
+  @Test
+  public void endOfInput_replacesIncompleteSequence() {
+    assertException(ParseException.class, "Unexpected end of input at 1:3", new Runnable() {
+      public void run() {
+        parser.feed(ByteBuffer.wrap(new byte[] {'"', (byte)0xe2, (byte)0x82}));
+        parser.endOfInput();
+      }
+    });
+  }
+
+  @Test
+  public void error_withStackTrace_byDefault() {
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        parser.feed("[x".toCharArray(), 0, 2);
+      }
+    });
+
+    assertTrue(exception.getStackTrace().length > 0);
+  }
+
+  @Test
+  public void error_withoutStackTrace() {
+    parser = new JsonPushParser(handler, ParserConfig.DEFAULT.withStackTraces(false));
+
+    ParseException exception = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        parser.feed("[x".toCharArray(), 0, 2);
+      }
+    });
+
+    assertEquals(0, exception.getStackTrace().length);
+    assertEquals("Expected value at 1:2", exception.getMessage());
+  }
+
+  private void assertSameEvents(String input) throws UnsupportedEncodingException {
+    assertSameEvents(input, null);
+  }
+
+  private void assertSameEvents(String input, String skipName)
+      throws UnsupportedEncodingException
+  {
+    TestHandler expected = new TestHandler();
+    expected.skipName = skipName;
+    new JsonParser(expected).parse(input);
+    for (int chunkSize = 1; chunkSize <= input.length(); chunkSize++) {
+      TestHandler actual = new TestHandler();
+      actual.skipName = skipName;
+      feedInChunks(new JsonPushParser(actual), input, chunkSize);
+      assertEquals(input + " in chunks of " + chunkSize, expected.getLog(), actual.getLog());
+      actual = new TestHandler();
+      actual.skipName = skipName;
+      feedBytesInChunks(new JsonPushParser(actual), input.getBytes("UTF-8"), chunkSize);
+      assertEquals(input + " in byte chunks of " + chunkSize, expected.getLog(), actual.getLog());
+    }
+  }
+
+  private void assertSameError(String input) {
+    assertSameError(input, null);
+  }
+
+  private void assertSameError(final String input, String skipName) {
+    final TestHandler handler = new TestHandler();
+    handler.skipName = skipName;
+    ParseException expected = assertException(ParseException.class, new Runnable() {
+      public void run() {
+        new JsonParser(handler).parse(input);
+      }
+    });
+    for (int size = 1; size <= Math.max(1, input.length()); size++) {
+      final int chunkSize = size;
+      ParseException actual = assertException(ParseException.class, new Runnable() {
+        public void run() {
+          feedInChunks(new JsonPushParser(handler), input, chunkSize);
+        }
+      });
+      assertEquals(input, expected.getMessage(), actual.getMessage());
+      assertEquals(input, expected.getLocation(), actual.getLocation());
+    }
+  }
+
+  private void feed(String input) {
+    parser.feed(input.toCharArray(), 0, input.length());
+  }
+
+  private static void feedInChunks(JsonPushParser parser, String input, int chunkSize) {
+    char[] chars = input.toCharArray();
+    for (int offset = 0; offset < chars.length; offset += chunkSize) {
+      parser.feed(chars, offset, Math.min(chunkSize, chars.length - offset));
+    }
+    parser.endOfInput();
+  }
+
+  private static void feedBytesInChunks(JsonPushParser parser, byte[] bytes, int chunkSize) {
+    for (int offset = 0; offset < bytes.length; offset += chunkSize) {
+      parser.feed(ByteBuffer.wrap(bytes, offset, Math.min(chunkSize, bytes.length - offset)));
+    }
+    parser.endOfInput();
+  }
+
+  private static String join(String... strings) {
+    StringBuilder builder = new StringBuilder();
+    for (String string : strings) {
+      builder.append(string).append('\n');
+    }
+    return builder.toString();
+  }
+
+}
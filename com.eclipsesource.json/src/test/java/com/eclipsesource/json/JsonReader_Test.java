@@ -0,0 +1,303 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static com.eclipsesource.json.TestUtil.assertException;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+
+import org.junit.Test;
+
+import com.eclipsesource.json.JsonReader.Token;
+import com.eclipsesource.json.TestUtil.RunnableEx;
+
+
+public class JsonReader_Test {
+
+  @Test(expected = NullPointerException.class)
+  public void constructor_string_rejectsNull() {
+    new JsonReader((String)null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void constructor_reader_rejectsNull() {
+    new JsonReader((Reader)null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void constructor_inputStream_rejectsNull() {
+    new JsonReader((InputStream)null);
+  }
+
+  @Test
+  public void literals() throws Exception {
+    assertEquals(true, new JsonReader("true").nextBoolean());
+    assertEquals(false, new JsonReader("false").nextBoolean());
+    new JsonReader("null").nextNull();
+  }
+
+  @Test
+  public void strings() throws Exception {
+    assertEquals("", new JsonReader("\"\"").nextString());
+    assertEquals("foo", new JsonReader(" \"foo\" ").nextString());
+    assertEquals("a\"b\n\u00e4", new JsonReader("\"a\\\"b\\n\\u00e4\"").nextString());
+  }
+
+  @Test
+  public void numbers_asLong() throws Exception {
+    assertEquals(0L, new JsonReader("0").nextLong());
+    assertEquals(-23L, new JsonReader("-23").nextLong());
+    assertEquals(999999999999999999L, new JsonReader("999999999999999999").nextLong());
+    assertEquals(Long.MAX_VALUE, new JsonReader("9223372036854775807").nextLong());
+    assertEquals(Long.MIN_VALUE, new JsonReader("-9223372036854775808").nextLong());
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void nextLong_failsWithFraction() throws Exception {
+    new JsonReader("1.5").nextLong();
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void nextLong_failsWithOverflow() throws Exception {
+    new JsonReader("9223372036854775808").nextLong();
+  }
+
+  @Test
+  public void numbers_asInt() throws Exception {
+    assertEquals(42, new JsonReader("42").nextInt());
+    assertEquals(Integer.MIN_VALUE, new JsonReader("-2147483648").nextInt());
+  }
+
+  @Test(expected = NumberFormatException.class)
+  public void nextInt_failsWithOverflow() throws Exception {
+    new JsonReader("2147483648").nextInt();
+  }
+
+  @Test
+  public void numbers_asDouble() throws Exception {
+    assertEquals(23.0, new JsonReader("23").nextDouble(), 0);
+    assertEquals(-2.5e-3, new JsonReader("-2.5e-3").nextDouble(), 0);
+    assertEquals(Double.doubleToLongBits(-0.0),
+                 Double.doubleToLongBits(new JsonReader("-0").nextDouble()));
+  }
+
+  @Test
+  public void arraysAndObjects() throws Exception {
+    JsonReader reader = new JsonReader("{\"a\": [1, \"b\", null], \"c\": {}}");
+
+    reader.beginObject();
+    assertEquals("a", reader.nextName());
+    reader.beginArray();
+    assertEquals(1, reader.nextInt());
+    assertEquals("b", reader.nextString());
+    reader.nextNull();
+    assertFalse(reader.hasNext());
+    reader.endArray();
+    assertEquals("c", reader.nextName());
+    reader.beginObject();
+    assertFalse(reader.hasNext());
+    reader.endObject();
+    reader.endObject();
+
+    assertEquals(Token.END_DOCUMENT, reader.peek());
+  }
+
+  @Test
+  public void peek_doesNotConsume() throws Exception {
+    JsonReader reader = new JsonReader("[\"a\"]");
+
+    assertEquals(Token.BEGIN_ARRAY, reader.peek());
+    assertEquals(Token.BEGIN_ARRAY, reader.peek());
+    reader.beginArray();
+    assertEquals(Token.STRING, reader.peek());
+    assertEquals("a", reader.nextString());
+  }
+
+  @Test
+  public void next_consumesAllTokens() throws Exception {
+    JsonReader reader = new JsonReader("{\"a\":[1,\"b\",true,null],\"c\":{}}");
+    StringBuilder tokens = new StringBuilder();
+
+    Token token;
+    do {
+      token = reader.next();
+      tokens.append(token).append(' ');
+    } while (token != Token.END_DOCUMENT);
+
+    assertEquals("BEGIN_OBJECT NAME BEGIN_ARRAY NUMBER STRING BOOLEAN NULL END_ARRAY NAME"
+                 + " BEGIN_OBJECT END_OBJECT END_OBJECT END_DOCUMENT ", tokens.toString());
+  }
+
+  @Test
+  public void skipValue_skipsNestedValues() throws Exception {
+    JsonReader reader = new JsonReader("[{\"a\":[1,{\"b\":\"\\u0041\"}]},2]");
+
+    reader.beginArray();
+    reader.skipValue();
+
+    assertEquals(2, reader.nextInt());
+  }
+
+  @Test
+  public void skipValue_skipsEntireMember() throws Exception {
+    JsonReader reader = new JsonReader("{\"a\":[1,2],\"b\":3}");
+
+    reader.beginObject();
+    reader.skipValue();
+
+    assertEquals("b", reader.nextName());
+    assertEquals(3, reader.nextInt());
+  }
+
+  @Test
+  public void skipValue_skipsValueAfterName() throws Exception {
+    JsonReader reader = new JsonReader("{\"a\":{\"x\":1},\"b\":3}");
+
+    reader.beginObject();
+    reader.nextName();
+    reader.skipValue();
+
+    assertEquals("b", reader.nextName());
+  }
+
+  @Test
+  public void skipValue_failsAtEndOfArray() throws Exception {
+    final JsonReader reader = new JsonReader("[]");
+    reader.beginArray();
+
+    IllegalStateException exception = assertException(IllegalStateException.class,
+                                                      new RunnableEx() {
+      public void run() throws Exception {
+        reader.skipValue();
+      }
+    });
+
+    assertEquals("Expected value but was END_ARRAY at 1:2", exception.getMessage());
+  }
+
+  @Test
+  public void wrongToken_fails() throws Exception {
+    final JsonReader reader = new JsonReader("[23]");
+    reader.beginArray();
+
+    IllegalStateException exception = assertException(IllegalStateException.class,
+                                                      new RunnableEx() {
+      public void run() throws Exception {
+        reader.nextString();
+      }
+    });
+
+    assertEquals("Expected STRING but was NUMBER at 1:2", exception.getMessage());
+  }
+
+  @Test
+  public void readsFromReader() throws Exception {
+    JsonReader reader = new JsonReader(new StringReader("[\"foo\", 23]"));
+
+    reader.beginArray();
+    assertEquals("foo", reader.nextString());
+    assertEquals(23, reader.nextInt());
+    reader.endArray();
+  }
+
+  @Test
+  public void readsFromInputStream() throws Exception {
+    byte[] bytes = "[\"\u00e4\u20ac\"]".getBytes("UTF-8");
+    JsonReader reader = new JsonReader(new ByteArrayInputStream(bytes));
+
+    reader.beginArray();
+    assertEquals("\u00e4\u20ac", reader.nextString());
+  }
+
+  @Test
+  public void readsLongInputFromReader() throws Exception {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < 1000; i++) {
+      builder.append(i == 0 ? "" : ",").append("{\"id\":").append(i).append(",\"name\":\"n")
+          .append(i).append("\"}");
+    }
+    JsonReader reader = new JsonReader(new StringReader(builder.append(']').toString()));
+
+    reader.beginArray();
+    long sum = 0;
+    while (reader.hasNext()) {
+      reader.beginObject();
+      assertEquals("id", reader.nextName());
+      sum += reader.nextLong();
+      reader.skipValue();
+      reader.endObject();
+    }
+    reader.endArray();
+
+    assertEquals(499500, sum);
+    assertEquals(Token.END_DOCUMENT, reader.peek());
+  }
+
+  @Test
+  public void syntaxErrors() throws Exception {
+    assertParseException(0, "Unexpected end of input", "");
+    assertParseException(4, "Expected ',' or ']'", "[23 42]");
+    assertParseException(4, "Expected value", "[23,]");
+    assertParseException(5, "Expected ':'", "{\"a\" 1}");
+    assertParseException(1, "Expected name", "{1:2}");
+    assertParseException(8, "Expected ',' or '}'", "{\"a\":23 \"b\"}");
+    assertParseException(3, "Unexpected character", "23 42");
+    assertParseException(2, "Expected valid escape sequence", "\"\\x\"");
+    assertParseException(1, "Expected 'u'", "nil");
+  }
+
+  @Test
+  public void nestingTooDeep_fails() throws Exception {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 1001; i++) {
+      builder.append('[');
+    }
+    final JsonReader reader = new JsonReader(builder.toString());
+
+    ParseException exception = assertException(ParseException.class, new RunnableEx() {
+      public void run() throws Exception {
+        for (;;) {
+          reader.beginArray();
+        }
+      }
+    });
+
+    assertEquals("Nesting too deep at 1:1002", exception.getMessage());
+  }
+
+  private static void assertParseException(int offset, String message, final String json) {
+    ParseException exception = assertException(ParseException.class, new RunnableEx() {
+      public void run() throws Exception {
+        JsonReader reader = new JsonReader(json);
+        while (reader.next() != Token.END_DOCUMENT) {
+        }
+      }
+    });
+    assertEquals(offset, exception.getLocation().offset);
+    assertEquals(message, exception.getMessage().replaceAll(" at .*", ""));
+  }
+
+}
@@ -122,4 +122,34 @@ public class JsonString_Test {
     assertEquals(string, serializeAndDeserialize(string));
   }
 
+  @Test
+  public void lazy_asString() {
+    JsonString string = new JsonString("x\"foo\"".toCharArray(), 2, 3);
+
+    assertEquals("foo", string.asString());
+  }
+
+  @Test
+  public void lazy_write() throws IOException {
+    new JsonString("\"a\u2028b\u2029\"".toCharArray(), 1, 4).write(jsonWriter);
+
+    assertEquals("\"a\\u2028b\\u2029\"", stringWriter.toString());
+  }
+
+  @Test
+  public void lazy_equalsAndHashCode() {
+    JsonString string = new JsonString("\"foo\"".toCharArray(), 1, 3);
+
+    assertEquals(new JsonString("foo"), string);
+    assertEquals(string, new JsonString("foo"));
+    assertEquals(new JsonString("foo").hashCode(), string.hashCode());
+  }
+
+  @Test
+  public void lazy_canBeSerializedAndDeserialized() throws Exception {
+    JsonString string = new JsonString("\"foo\"".toCharArray(), 1, 3);
+
+    assertEquals(new JsonString("foo"), serializeAndDeserialize(string));
+  }
+
 }
@@ -55,6 +55,41 @@ public class JsonWriter_Test {
     assertEquals("23", output.toString());
   }
 
+  @Test
+  public void writeNumber_long() throws IOException {
+    writer.writeNumber(0L);
+    writer.writeNumber(-23L);
+    writer.writeNumber(Long.MAX_VALUE);
+    writer.writeNumber(Long.MIN_VALUE);
+
+    assertEquals("0-239223372036854775807-9223372036854775808", output.toString());
+  }
+
+  @Test
+  public void writeNumber_double() throws IOException {
+    writer.writeNumber(23.0);
+    writer.writeArraySeparator();
+    writer.writeNumber(-3.14);
+    writer.writeArraySeparator();
+    writer.writeNumber(1e20);
+
+    assertEquals("23,-3.14,1.0E20", output.toString());
+  }
+
+  @Test
+  public void writeNumber_double_sameAsValue() throws IOException {
+    double[] values = {0.001, 0.1 + 0.2, 1 / 3d, 9999999.5, 1234.5678, -0.005, 1e-4, 1e7, 0.0, -0.0,
+                       123456.7890123, 0.12345678901234567, Double.MIN_VALUE, -Double.MAX_VALUE};
+
+    for (double value : values) {
+      output = new StringWriter();
+      writer = new JsonWriter(output);
+      writer.writeNumber(value);
+
+      assertEquals(Json.value(value).toString(), output.toString());
+    }
+  }
+
   @Test
   public void writeString_empty() throws IOException {
     writer.writeString("");
@@ -24,7 +24,11 @@ package com.eclipsesource.json;
 import static com.eclipsesource.json.TestUtil.assertException;
 import static org.junit.Assert.*;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.Reader;
 import java.io.StringReader;
 
@@ -260,6 +264,106 @@ public class Json_Test {
     });
   }
 
+  @Test
+  public void parse_string_withConfig() {
+    ParserConfig config = ParserConfig.DEFAULT.withKeyCache(16);
+
+    JsonArray array = Json.parse("[{\"foo\": 23}, {\"foo\": 42}]", config).asArray();
+
+    assertEquals(Json.parse("[{\"foo\": 23}, {\"foo\": 42}]"), array);
+    assertSame(array.get(0).asObject().names().get(0), array.get(1).asObject().names().get(0));
+  }
+
+  @Test
+  public void parse_string_withLazyValues() {
+    String json = "{\"a\": [\"foo\", \"b\\\"r\", 23, -1.5e3, 12345678901234567890, true, null],"
+                  + " \"\\u0063\": \"\u2028\"}";
+
+    JsonValue value = Json.parse(json, ParserConfig.DEFAULT.withLazyValues(true));
+
+    assertEquals(Json.parse(json), value);
+    assertEquals(Json.parse(json).toString(), value.toString());
+    JsonArray array = value.asObject().get("a").asArray();
+    assertEquals("foo", array.get(0).asString());
+    assertEquals(-1500, array.get(3).asDouble(), 0);
+  }
+
+  @Test
+  public void parse_string_withValueCache() {
+    String json = "[{\"s\": \"EUR\", \"n\": 1}, {\"s\": \"EUR\", \"n\": 1}, \"\\u0045UR\"]";
+
+    JsonArray array = Json.parse(json, ParserConfig.DEFAULT.withValueCache(64)).asArray();
+
+    assertEquals(Json.parse(json), array);
+    JsonObject first = array.get(0).asObject();
+    JsonObject second = array.get(1).asObject();
+    assertSame(first.get("s"), second.get("s"));
+    assertSame(first.get("s"), array.get(2));
+    assertSame(first.get("n"), second.get("n"));
+  }
+
+  @Test
+  public void parse_string_withValueCacheAndLazyValues() {
+    String json = "[\"EUR\", \"EUR\", 23, 23, 1.5]";
+    ParserConfig config = ParserConfig.DEFAULT.withValueCache(64).withLazyValues(true);
+
+    JsonArray array = Json.parse(json, config).asArray();
+
+    assertEquals(Json.parse(json), array);
+    assertSame(array.get(0), array.get(1));
+    assertSame(array.get(2), array.get(3));
+  }
+
+  @Test
+  public void parse_reader_withLazyValues() throws IOException {
+    Reader reader = new StringReader("[\"foo\", 23]");
+
+    JsonValue value = Json.parse(reader, ParserConfig.DEFAULT.withLazyValues(true));
+
+    assertEquals(Json.array().add("foo").add(23), value);
+  }
+
+  @Test
+  public void parse_string_withConfig_failsWithNullConfig() {
+    TestUtil.assertException(NullPointerException.class, "config is null", new Runnable() {
+      public void run() {
+        Json.parse("23", (ParserConfig)null);
+      }
+    });
+  }
+
+  @Test
+  public void parse_string_withProjection() {
+    Projection projection = Projection.of("/a", "/b/c");
+
+    JsonValue value = Json.parse("{\"a\": [1], \"b\": {\"c\": 2, \"d\": 3}, \"e\": 4}", projection);
+
+    assertEquals(Json.parse("{\"a\": [1], \"b\": {\"c\": 2}}"), value);
+  }
+
+  @Test
+  public void parse_string_withProjection_failsWithNullProjection() {
+    TestUtil.assertException(NullPointerException.class, "projection is null", new Runnable() {
+      public void run() {
+        Json.parse("23", (Projection)null);
+      }
+    });
+  }
+
+  @Test
+  public void parse_charSequence() {
+    assertEquals(Json.value(23), Json.parse(new StringBuilder("23")));
+  }
+
+  @Test
+  public void parse_charSequence_failsWithNull() {
+    TestUtil.assertException(NullPointerException.class, "chars is null", new Runnable() {
+      public void run() {
+        Json.parse((CharSequence)null);
+      }
+    });
+  }
+
   @Test
   public void parse_reader() throws IOException {
     Reader reader = new StringReader("23");
@@ -276,4 +380,139 @@ public class Json_Test {
     });
   }
 
+  @Test
+  public void parse_reader_withConfig() throws IOException {
+    Reader reader = new StringReader("{\"foo\": 23}");
+
+    assertEquals(Json.object().add("foo", 23),
+                 Json.parse(reader, ParserConfig.DEFAULT.withKeyCache(16)));
+  }
+
+  @Test
+  public void parse_reader_withProjection() throws IOException {
+    Reader reader = new StringReader("[{\"a\": 1, \"b\": 2}, {\"a\": 3, \"b\": 4}]");
+
+    JsonValue value = Json.parse(reader, Projection.of("/b"));
+
+    assertEquals(Json.parse("[{\"b\": 2}, {\"b\": 4}]"), value);
+  }
+
+  @Test
+  public void parse_bytes() throws IOException {
+    byte[] bytes = "[23, \"\u00e4\u20ac\"]".getBytes("UTF-8");
+
+    assertEquals(Json.array().add(23).add("\u00e4\u20ac"), Json.parse(bytes));
+  }
+
+  @Test
+  public void parse_bytes_failsWithNull() {
+    TestUtil.assertException(NullPointerException.class, "bytes is null", new Runnable() {
+      public void run() {
+        Json.parse((byte[])null);
+      }
+    });
+  }
+
+  @Test
+  public void parse_inputStream() throws IOException {
+    InputStream input = new ByteArrayInputStream("[23, \"\u00e4\u20ac\"]".getBytes("UTF-8"));
+
+    assertEquals(Json.array().add(23).add("\u00e4\u20ac"), Json.parse(input));
+  }
+
+  @Test
+  public void parse_inputStream_failsWithNull() {
+    TestUtil.assertException(NullPointerException.class, "input is null", new RunnableEx() {
+      public void run() throws IOException {
+        Json.parse((InputStream)null);
+      }
+    });
+  }
+
+  @Test
+  public void parse_file() throws IOException {
+    File file = File.createTempFile("test", ".json");
+    try {
+      FileOutputStream output = new FileOutputStream(file);
+      output.write("[23, \"\u00e4\u20ac\"]".getBytes("UTF-8"));
+      output.close();
+
+      assertEquals(Json.array().add(23).add("\u00e4\u20ac"), Json.parse(file));
+    } finally {
+      file.delete();
+    }
+  }
+
+  @Test
+  public void parse_file_failsWithNull() {
+    TestUtil.assertException(NullPointerException.class, "file is null", new RunnableEx() {
+      public void run() throws IOException {
+        Json.parse((File)null);
+      }
+    });
+  }
+
+  @Test
+  public void tryParse_string_valid() {
+    ParseResult result = Json.tryParse("[23, \"foo\"]");
+
+    assertTrue(result.isValid());
+    assertEquals(Json.array().add(23).add("foo"), result.getValue());
+    assertNull(result.getError());
+    assertNull(result.getLocation());
+  }
+
+  @Test
+  public void tryParse_string_invalid() {
+    ParseResult result = Json.tryParse("[23,\n 42 x]");
+
+    assertFalse(result.isValid());
+    assertNull(result.getValue());
+    assertEquals("Expected ',' or ']'", result.getError());
+    assertEquals(new Location(9, 2, 5), result.getLocation());
+  }
+
+  @Test
+  public void tryParse_bytes_invalid() throws IOException {
+    ParseResult result = Json.tryParse("{\"a\"".getBytes("UTF-8"));
+
+    assertFalse(result.isValid());
+    assertEquals("Unexpected end of input", result.getError());
+  }
+
+  @Test
+  public void tryParse_string_failsWithNull() {
+    TestUtil.assertException(NullPointerException.class, "string is null", new Runnable() {
+      public void run() {
+        Json.tryParse((String)null);
+      }
+    });
+  }
+
+  @Test
+  public void isValid_string() {
+    assertTrue(Json.isValid("{\"a\": [1, -2.5e3, true, null, \"\\u0041\"]}"));
+    assertTrue(Json.isValid(" 23 "));
+    assertFalse(Json.isValid("{\"a\": }"));
+    assertFalse(Json.isValid("\"\\x\""));
+    assertFalse(Json.isValid("01"));
+    assertFalse(Json.isValid("[1] 2"));
+    assertFalse(Json.isValid(""));
+  }
+
+  @Test
+  public void isValid_bytes() throws IOException {
+    assertTrue(Json.isValid("[\"\u00e4\"]".getBytes("UTF-8")));
+    assertFalse(Json.isValid("[\"\u00e4\"".getBytes("UTF-8")));
+  }
+
+  @Test
+  public void isValid_string_failsWithNull() {
+    TestUtil.assertException(NullPointerException.class, "string is null", new Runnable() {
+      public void run() {
+        Json.isValid((String)null);
+      }
+    });
+  }
+
 }
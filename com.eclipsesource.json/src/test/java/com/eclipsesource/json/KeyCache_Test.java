@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+
+public class KeyCache_Test {
+
+  @Test
+  public void get_returnsEqualString() {
+    KeyCache cache = new KeyCache(16);
+
+    assertEquals("bc", cache.get("abcd".toCharArray(), 1, 2));
+    assertEquals("", cache.get("abcd".toCharArray(), 1, 0));
+  }
+
+  @Test
+  public void get_returnsCachedInstance() {
+    KeyCache cache = new KeyCache(16);
+
+    String first = cache.get("foo".toCharArray(), 0, 3);
+    String second = cache.get("[foo]".toCharArray(), 1, 3);
+
+    assertSame(first, second);
+  }
+
+  @Test
+  public void get_replacesCollidingEntries() {
+    KeyCache cache = new KeyCache(1);
+
+    String first = cache.get("foo".toCharArray(), 0, 3);
+    assertEquals("bar", cache.get("bar".toCharArray(), 0, 3));
+    String second = cache.get("foo".toCharArray(), 0, 3);
+
+    assertEquals("foo", second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void get_distinguishesStringsWithEqualHash() {
+    KeyCache cache = new KeyCache(16);
+
+    assertEquals("Aa", cache.get("Aa".toCharArray(), 0, 2));
+    assertEquals("BB", cache.get("BB".toCharArray(), 0, 2));
+  }
+
+}
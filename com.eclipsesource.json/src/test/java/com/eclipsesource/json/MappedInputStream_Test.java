@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class MappedInputStream_Test {
+
+  private File file;
+  private RandomAccessFile randomAccessFile;
+
+  @Before
+  public void setUp() throws IOException {
+    file = File.createTempFile("mapped", ".json");
+    FileOutputStream output = new FileOutputStream(file);
+    output.write("0123456789abcdef".getBytes("US-ASCII"));
+    output.close();
+    randomAccessFile = new RandomAccessFile(file, "r");
+  }
+
+  @After
+  public void tearDown() throws IOException {
+    randomAccessFile.close();
+    file.delete();
+  }
+
+  @Test
+  public void read_singleWindow() throws IOException {
+    InputStream input = new MappedInputStream(randomAccessFile.getChannel(), 1024);
+
+    assertEquals("0123456789abcdef", readAll(input, 64));
+  }
+
+  @Test
+  public void read_acrossWindows() throws IOException {
+    InputStream input = new MappedInputStream(randomAccessFile.getChannel(), 3);
+
+    assertEquals("0123456789abcdef", readAll(input, 5));
+  }
+
+  @Test
+  public void read_singleBytes() throws IOException {
+    InputStream input = new MappedInputStream(randomAccessFile.getChannel(), 3);
+
+    assertEquals('0', input.read());
+    assertEquals('1', input.read());
+    assertEquals('2', input.read());
+    assertEquals('3', input.read());
+  }
+
+  @Test
+  public void read_startsAtChannelPosition() throws IOException {
+    randomAccessFile.getChannel().position(10);
+
+    InputStream input = new MappedInputStream(randomAccessFile.getChannel(), 4);
+
+    assertEquals("abcdef", readAll(input, 64));
+    assertEquals(10, randomAccessFile.getChannel().position());
+  }
+
+  @Test
+  public void read_endOfInput() throws IOException {
+    randomAccessFile.getChannel().position(16);
+
+    InputStream input = new MappedInputStream(randomAccessFile.getChannel(), 4);
+
+    assertEquals(-1, input.read());
+    assertEquals(-1, input.read(new byte[4], 0, 4));
+  }
+
+  private static String readAll(InputStream input, int bufferSize) throws IOException {
+    ByteArrayOutputStream output = new ByteArrayOutputStream();
+    byte[] buffer = new byte[bufferSize];
+    int count;
+    while ((count = input.read(buffer, 0, buffer.length)) != -1) {
+      assertTrue(count > 0);
+      output.write(buffer, 0, count);
+    }
+    return output.toString("US-ASCII");
+  }
+
+}
@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static com.eclipsesource.json.TestUtil.assertException;
+import static org.junit.Assert.*;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ParallelParser_Test {
+
+  private ExecutorService executor;
+  private ParallelParser parser;
+
+  @Before
+  public void setUp() {
+    executor = Executors.newFixedThreadPool(4);
+    parser = new ParallelParser(executor, 8);
+  }
+
+  @After
+  public void tearDown() {
+    executor.shutdown();
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void constructor_rejectsNullExecutor() {
+    new ParallelParser(null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_string_rejectsNull() {
+    parser.parse((String)null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_bytes_rejectsNull() {
+    parser.parse((byte[])null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_buffer_rejectsNull() {
+    parser.parse((ByteBuffer)null);
+  }
+
+  @Test
+  public void parse_string() {
+    String json = createArray(1000);
+
+    assertEquals(Json.parse(json), parser.parse(json));
+  }
+
+  @Test
+  public void parse_string_withDefaultChunkSize() {
+    String json = createArray(10000);
+
+    assertEquals(Json.parse(json), new ParallelParser(executor).parse(json));
+  }
+
+  @Test
+  public void parse_bytes() throws Exception {
+    String json = createArray(1000);
+
+    assertEquals(Json.parse(json), parser.parse(json.getBytes("UTF-8")));
+  }
+
+  @Test
+  public void parse_heapBuffer() throws Exception {
+    String json = createArray(1000);
+    ByteBuffer buffer = ByteBuffer.wrap(("xx" + json).getBytes("UTF-8"));
+    buffer.position(2);
+
+    assertEquals(Json.parse(json), parser.parse(buffer));
+    assertEquals(2, buffer.position());
+  }
+
+  @Test
+  public void parse_directBuffer() throws Exception {
+    String json = createArray(1000);
+    byte[] bytes = json.getBytes("UTF-8");
+    ByteBuffer buffer = ByteBuffer.allocateDirect(bytes.length);
+    buffer.put(bytes).flip();
+
+    assertEquals(Json.parse(json), parser.parse(buffer));
+  }
+
+  @Test
+  public void parse_handlesStructuralCharactersInStrings() {
+    String json = " [ \"a,b\", \"[{\", \"\\\"]\", {\"x\": [1, \"}]\\\\\"]}, [], {} , \"\\\\\" ] ";
+
+    assertEquals(Json.parse(json), parser.parse(json));
+  }
+
+  @Test
+  public void parse_handlesNonArrays() {
+    String json = "{\"a\": [1, 2, 3, 4, 5, 6, 7, 8, 9, 10]}";
+
+    assertEquals(Json.parse(json), parser.parse(json));
+  }
+
+  @Test
+  public void parse_handlesEmptyArray() {
+    assertEquals(new JsonArray(), parser.parse("[                    ]"));
+  }
+
+  @Test
+  public void parse_reportsSameErrorsAsJson() {
+    String[] inputs = {"[1, 2, 3, 4, 5, 6, 7, 8, , 10]", "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10,]",
+                       "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10] x", "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10",
+                       "[\"aaaaaaaaaaaa\", {\"b\": x}, 23]", "[1, 2, 3, 4, 5, 6, 7, 8, 9, {]}",
+                       "[1, 2, 3, 4, 5, 6, 7, 8, 9, 10}"};
+    for (final String input : inputs) {
+      ParseException expected = assertException(ParseException.class, new Runnable() {
+        public void run() {
+          Json.parse(input);
+        }
+      });
+      ParseException actual = assertException(ParseException.class, new Runnable() {
+        public void run() {
+          parser.parse(input);
+        }
+      });
+      assertEquals(input, expected.getMessage(), actual.getMessage());
+    }
+  }
+
+  @Test
+  public void parse_keepsNumbersInPrimitiveStorage() {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < 1000; i++) {
+      builder.append(i == 0 ? "" : ", ").append(i + 0.5);
+    }
+    String json = builder.append(']').toString();
+
+    JsonArray array = parser.parse(json).asArray();
+
+    JsonArray expected = Json.parse(json).asArray();
+    assertEquals(expected, array);
+    // values in primitive storage are created on access
+    assertNotSame(expected.get(1), expected.get(1));
+    assertNotSame(array.get(1), array.get(1));
+  }
+
+  private static String createArray(int size) {
+    StringBuilder builder = new StringBuilder("[");
+    for (int i = 0; i < size; i++) {
+      builder.append(i == 0 ? "" : ",\n ").append("{\"id\": ").append(i)
+          .append(", \"name\": \"\u00e4\u20ac\ud834\udd1e ").append(i)
+          .append("\", \"tags\": [\"a\", \"b,c\"], \"value\": ").append(i * 0.5).append('}');
+    }
+    return builder.append(']').toString();
+  }
+
+}
@@ -23,6 +23,7 @@ package com.eclipsesource.json;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
 import org.junit.Before;
 import org.junit.Test;
@@ -61,4 +62,26 @@ public class ParseException_Test {
     assertEquals("Foo at 23:42", exception.getMessage());
   }
 
+  @Test
+  public void stackTrace_byDefault() {
+    ParseException exception = new ParseException("Foo", location);
+
+    assertTrue(exception.getStackTrace().length > 0);
+  }
+
+  @Test
+  public void stackTrace_disabled() {
+    ParseException exception = new ParseException("Foo", location, false);
+
+    assertEquals(0, exception.getStackTrace().length);
+    assertEquals("Foo at 23:42", exception.getMessage());
+  }
+
+  @Test
+  public void getReason() {
+    ParseException exception = new ParseException("Expected ':' at end", location);
+
+    assertEquals("Expected ':' at end", exception.getReason());
+  }
+
 }
@@ -0,0 +1,98 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+
+public class ParserConfig_Test {
+
+  @Test
+  public void default_hasNoKeyCache() {
+    assertEquals(0, ParserConfig.DEFAULT.getKeyCacheSize());
+  }
+
+  @Test
+  public void withKeyCache() {
+    ParserConfig config = ParserConfig.DEFAULT.withKeyCache(64);
+
+    assertEquals(64, config.getKeyCacheSize());
+    assertEquals(0, ParserConfig.DEFAULT.getKeyCacheSize());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void withKeyCache_failsWithNegativeSize() {
+    ParserConfig.DEFAULT.withKeyCache(-1);
+  }
+
+  @Test
+  public void default_hasStackTraces() {
+    assertTrue(ParserConfig.DEFAULT.getStackTraces());
+  }
+
+  @Test
+  public void withStackTraces() {
+    ParserConfig config = ParserConfig.DEFAULT.withKeyCache(64).withStackTraces(false);
+
+    assertFalse(config.getStackTraces());
+    assertEquals(64, config.getKeyCacheSize());
+    assertTrue(config.withStackTraces(true).getStackTraces());
+  }
+
+  @Test
+  public void withLazyValues() {
+    ParserConfig config = ParserConfig.DEFAULT.withLazyValues(true).withKeyCache(16);
+
+    assertTrue(config.getLazyValues());
+    assertFalse(ParserConfig.DEFAULT.getLazyValues());
+    assertFalse(config.withLazyValues(false).getLazyValues());
+  }
+
+  @Test
+  public void withValueCache() {
+    ParserConfig config = ParserConfig.DEFAULT.withValueCache(64).withKeyCache(16);
+
+    assertEquals(64, config.getValueCacheSize());
+    assertEquals(0, ParserConfig.DEFAULT.getValueCacheSize());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void withValueCache_failsWithNegativeSize() {
+    ParserConfig.DEFAULT.withValueCache(-1);
+  }
+
+  @Test
+  public void withStringChunks() {
+    ParserConfig config = ParserConfig.DEFAULT.withStringChunks(1024).withKeyCache(16);
+
+    assertEquals(1024, config.getStringChunkSize());
+    assertEquals(0, ParserConfig.DEFAULT.getStringChunkSize());
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void withStringChunks_failsWithNegativeSize() {
+    ParserConfig.DEFAULT.withStringChunks(-1);
+  }
+
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static com.eclipsesource.json.TestUtil.assertException;
+import static org.junit.Assert.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+
+public class ParserPool_Test {
+
+  private ParserPool pool;
+
+  @Before
+  public void setUp() {
+    pool = new ParserPool();
+  }
+
+  @Test
+  public void constructor_rejectsNullConfig() {
+    assertException(NullPointerException.class, "config is null", new Runnable() {
+      public void run() {
+        new ParserPool(null);
+      }
+    });
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_string_rejectsNull() {
+    pool.parse((String)null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void parse_bytes_rejectsNull() {
+    pool.parse((byte[])null);
+  }
+
+  @Test
+  public void parse_string() {
+    assertEquals(Json.array(23, 42), pool.parse("[23, 42]"));
+  }
+
+  @Test
+  public void parse_charSequence() {
+    assertEquals(Json.value("foo"), pool.parse(new StringBuilder("\"foo\"")));
+  }
+
+  @Test
+  public void parse_bytes() throws IOException {
+    assertEquals(Json.value("f\u00f6\u00f6"), pool.parse("\"f\u00f6\u00f6\"".getBytes("UTF-8")));
+  }
+
+  @Test
+  public void parse_reader() throws IOException {
+    assertEquals(Json.value(true), pool.parse(new StringReader("true")));
+  }
+
+  @Test
+  public void parse_inputStream() throws IOException {
+    byte[] bytes = "null".getBytes("UTF-8");
+
+    assertEquals(Json.NULL, pool.parse(new ByteArrayInputStream(bytes)));
+  }
+
+  @Test
+  public void parse_subsequentInputs() {
+    pool.parse("{\"a\": \"" + createString(5000) + "\"}");
+
+    assertEquals(Json.object().add("a", "b"), pool.parse("{\"a\": \"b\"}"));
+  }
+
+  @Test
+  public void parse_afterError() {
+    assertException(ParseException.class, new Runnable() {
+      public void run() {
+        pool.parse("[\"foo");
+      }
+    });
+
+    assertEquals(Json.value("bar"), pool.parse("\"bar\""));
+  }
+
+  @Test
+  public void parse_nestedOnSameThread() throws IOException {
+    final List<JsonValue> nested = new ArrayList<JsonValue>();
+    StringReader reader = new StringReader("[\"outer\", 1]") {
+      @Override
+      public int read(char[] buffer, int offset, int length) throws IOException {
+        if (nested.isEmpty()) {
+          nested.add(pool.parse("{\"inner\": true}"));
+        }
+        return super.read(buffer, offset, length);
+      }
+    };
+
+    JsonValue result = pool.parse(reader);
+
+    assertEquals(Json.array().add("outer").add(1), result);
+    assertEquals(Json.object().add("inner", true), nested.get(0));
+  }
+
+  @Test
+  public void parse_withKeyCache() {
+    pool = new ParserPool(ParserConfig.DEFAULT.withKeyCache(16));
+
+    JsonValue first = pool.parse("{\"name\": 1}");
+    JsonValue second = pool.parse("{\"name\": 2}");
+
+    assertSame(first.asObject().names().get(0), second.asObject().names().get(0));
+  }
+
+  @Test
+  public void parse_concurrently() throws Exception {
+    ExecutorService executor = Executors.newFixedThreadPool(4);
+    try {
+      List<Future<JsonValue>> futures = new ArrayList<Future<JsonValue>>();
+      for (int i = 0; i < 100; i++) {
+        final int n = i;
+        futures.add(executor.submit(new Callable<JsonValue>() {
+          public JsonValue call() {
+            return pool.parse("{\"n\": " + n + ", \"s\": \"" + createString(n * 10) + "\"}");
+          }
+        }));
+      }
+      for (int i = 0; i < 100; i++) {
+        JsonObject object = futures.get(i).get().asObject();
+        assertEquals(i, object.getInt("n", -1));
+        assertEquals(createString(i * 10), object.getString("s", null));
+      }
+    } finally {
+      executor.shutdown();
+    }
+  }
+
+  private static String createString(int length) {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < length; i++) {
+      builder.append((char)('a' + i % 26));
+    }
+    return builder.toString();
+  }
+
+}
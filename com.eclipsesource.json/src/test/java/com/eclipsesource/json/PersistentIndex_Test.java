@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static org.junit.Assert.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+
+public class PersistentIndex_Test {
+
+  @Test
+  public void empty_containsNothing() {
+    assertEquals(-1, PersistentIndex.EMPTY.get("a"));
+  }
+
+  @Test
+  public void with_addsName() {
+    PersistentIndex index = PersistentIndex.EMPTY.with("a", 0).with("b", 1);
+
+    assertEquals(0, index.get("a"));
+    assertEquals(1, index.get("b"));
+    assertEquals(-1, index.get("c"));
+  }
+
+  @Test
+  public void with_replacesIndex() {
+    PersistentIndex index = PersistentIndex.EMPTY.with("a", 0).with("a", 5);
+
+    assertEquals(5, index.get("a"));
+  }
+
+  @Test
+  public void with_doesNotModifyOriginal() {
+    PersistentIndex original = PersistentIndex.EMPTY.with("a", 0);
+
+    original.with("a", 1);
+    original.with("b", 2);
+
+    assertEquals(0, original.get("a"));
+    assertEquals(-1, original.get("b"));
+  }
+
+  @Test
+  public void without_removesName() {
+    PersistentIndex index = PersistentIndex.EMPTY.with("a", 0).with("b", 1);
+
+    PersistentIndex result = index.without("a");
+
+    assertEquals(-1, result.get("a"));
+    assertEquals(1, result.get("b"));
+    assertEquals(0, index.get("a"));
+  }
+
+  @Test
+  public void without_returnsSameIndexIfNotContained() {
+    PersistentIndex index = PersistentIndex.EMPTY.with("a", 0);
+
+    assertSame(index, index.without("b"));
+  }
+
+  @Test
+  public void collidingNames() {
+    // "Aa" and "BB" have the same hash code
+    PersistentIndex index = PersistentIndex.EMPTY.with("Aa", 0).with("BB", 1).with("AaAa", 2);
+
+    assertEquals(0, index.get("Aa"));
+    assertEquals(1, index.get("BB"));
+    assertEquals(2, index.get("AaAa"));
+    assertEquals(-1, index.without("Aa").get("Aa"));
+    assertEquals(1, index.without("Aa").get("BB"));
+    assertEquals(-1, index.without("Aa").without("BB").get("BB"));
+    assertEquals(2, index.without("Aa").without("BB").get("AaAa"));
+  }
+
+  @Test
+  public void manyNames_matchMap() {
+    Map<String, Integer> map = new HashMap<String, Integer>();
+    PersistentIndex index = PersistentIndex.EMPTY;
+    for (int i = 0; i < 20000; i++) {
+      map.put("name-" + i, i);
+      index = index.with("name-" + i, i);
+    }
+    for (int i = 0; i < 20000; i += 3) {
+      map.remove("name-" + i);
+      index = index.without("name-" + i);
+    }
+
+    for (int i = 0; i < 20000; i++) {
+      Integer expected = map.get("name-" + i);
+      assertEquals(expected == null ? -1 : expected.intValue(), index.get("name-" + i));
+    }
+  }
+
+}
@@ -0,0 +1,168 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static com.eclipsesource.json.TestUtil.assertException;
+import static com.eclipsesource.json.TestUtil.serializeAndDeserialize;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+
+
+public class PersistentJsonArray_Test {
+
+  @Test
+  public void empty_isEmpty() {
+    assertTrue(PersistentJsonArray.EMPTY.isEmpty());
+    assertEquals(0, PersistentJsonArray.EMPTY.size());
+    assertEquals("[]", PersistentJsonArray.EMPTY.toString());
+  }
+
+  @Test
+  public void of_failsWithNull() {
+    assertException(NullPointerException.class, "array is null", new Runnable() {
+      public void run() {
+        PersistentJsonArray.of(null);
+      }
+    });
+  }
+
+  @Test
+  public void of_copiesElements() {
+    PersistentJsonArray array = PersistentJsonArray.of(Json.array(1, 2, 3));
+
+    assertEquals("[1,2,3]", array.toString());
+  }
+
+  @Test
+  public void append_primitives() {
+    PersistentJsonArray array = PersistentJsonArray.EMPTY
+        .append(23)
+        .append(42L)
+        .append(3.5f)
+        .append(1.5d)
+        .append(true)
+        .append("foo");
+
+    assertEquals("[23,42,3.5,1.5,true,\"foo\"]", array.toString());
+  }
+
+  @Test
+  public void append_doesNotModifyOriginal() {
+    PersistentJsonArray original = PersistentJsonArray.EMPTY.append(1);
+
+    original.append(2);
+
+    assertEquals("[1]", original.toString());
+  }
+
+  @Test
+  public void append_failsWithNull() {
+    assertException(NullPointerException.class, "value is null", new Runnable() {
+      public void run() {
+        PersistentJsonArray.EMPTY.append((JsonValue)null);
+      }
+    });
+  }
+
+  @Test
+  public void with_replacesElement() {
+    PersistentJsonArray array = PersistentJsonArray.EMPTY.append(1).append(2);
+
+    PersistentJsonArray result = array.with(0, Json.value(3));
+
+    assertEquals("[3,2]", result.toString());
+    assertEquals("[1,2]", array.toString());
+  }
+
+  @Test
+  public void with_failsWithInvalidIndex() {
+    assertException(IndexOutOfBoundsException.class, new Runnable() {
+      public void run() {
+        PersistentJsonArray.EMPTY.with(0, Json.TRUE);
+      }
+    });
+  }
+
+  @Test
+  public void with_failsWithNull() {
+    assertException(NullPointerException.class, "value is null", new Runnable() {
+      public void run() {
+        PersistentJsonArray.EMPTY.append(1).with(0, null);
+      }
+    });
+  }
+
+  @Test
+  public void values_containsElements() {
+    PersistentJsonArray array = PersistentJsonArray.EMPTY.append(1).append(2);
+
+    assertEquals(Arrays.asList(Json.value(1), Json.value(2)), array.values());
+  }
+
+  @Test
+  public void values_cannotBeModified() {
+    assertException(UnsupportedOperationException.class, new Runnable() {
+      public void run() {
+        PersistentJsonArray.EMPTY.values().add(Json.TRUE);
+      }
+    });
+  }
+
+  @Test
+  public void toJsonArray_returnsEqualArray() {
+    JsonArray array = new JsonArray().add(1).add("foo").add(new JsonObject());
+
+    assertEquals(array, PersistentJsonArray.of(array).toJsonArray());
+  }
+
+  @Test
+  public void isNotAnArray() {
+    assertFalse(PersistentJsonArray.EMPTY.isArray());
+  }
+
+  @Test
+  public void equals_comparesElements() {
+    PersistentJsonArray array = PersistentJsonArray.EMPTY.append(1).append(2);
+
+    assertEquals(array, PersistentJsonArray.EMPTY.append(1).append(2));
+    assertFalse(array.equals(PersistentJsonArray.EMPTY.append(2).append(1)));
+    assertFalse(array.equals(array.toJsonArray()));
+  }
+
+  @Test
+  public void hashCode_equalsJsonArray() {
+    PersistentJsonArray array = PersistentJsonArray.EMPTY.append(1).append("a");
+
+    assertEquals(array.toJsonArray().hashCode(), array.hashCode());
+  }
+
+  @Test
+  public void canBeSerializedAndDeserialized() throws Exception {
+    PersistentJsonArray array = PersistentJsonArray.EMPTY.append(1).append("a");
+
+    assertEquals(array, serializeAndDeserialize(array));
+  }
+
+}
@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static com.eclipsesource.json.TestUtil.assertException;
+import static com.eclipsesource.json.TestUtil.serializeAndDeserialize;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+
+import org.junit.Test;
+
+import com.eclipsesource.json.JsonObject.Member;
+
+
+public class PersistentJsonObject_Test {
+
+  @Test
+  public void empty_isEmpty() {
+    assertTrue(PersistentJsonObject.EMPTY.isEmpty());
+    assertEquals(0, PersistentJsonObject.EMPTY.size());
+    assertEquals("{}", PersistentJsonObject.EMPTY.toString());
+  }
+
+  @Test
+  public void of_failsWithNull() {
+    assertException(NullPointerException.class, "object is null", new Runnable() {
+      public void run() {
+        PersistentJsonObject.of(null);
+      }
+    });
+  }
+
+  @Test
+  public void of_copiesMembers() {
+    JsonObject object = new JsonObject().add("a", 1).add("b", true);
+
+    PersistentJsonObject result = PersistentJsonObject.of(object);
+
+    assertEquals("{\"a\":1,\"b\":true}", result.toString());
+  }
+
+  @Test
+  public void of_mergesDuplicateNames() {
+    JsonObject object = new JsonObject().add("a", 1).add("b", 2).add("a", 3);
+
+    PersistentJsonObject result = PersistentJsonObject.of(object);
+
+    assertEquals("{\"a\":3,\"b\":2}", result.toString());
+  }
+
+  @Test
+  public void with_addsMember() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("a", 1).with("b", "foo");
+
+    assertEquals(2, object.size());
+    assertEquals(Json.value(1), object.get("a"));
+    assertEquals(Json.value("foo"), object.get("b"));
+  }
+
+  @Test
+  public void with_primitives() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY
+        .with("int", 23)
+        .with("long", 42L)
+        .with("float", 3.5f)
+        .with("double", 1.5d)
+        .with("boolean", true)
+        .with("string", "foo");
+
+    String expected = "{\"int\":23,\"long\":42,\"float\":3.5,\"double\":1.5,"
+                      + "\"boolean\":true,\"string\":\"foo\"}";
+    assertEquals(expected, object.toString());
+  }
+
+  @Test
+  public void with_replacesValueInPlace() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("a", 1).with("b", 2);
+
+    PersistentJsonObject result = object.with("a", 3);
+
+    assertEquals("{\"a\":3,\"b\":2}", result.toString());
+    assertEquals(2, result.size());
+  }
+
+  @Test
+  public void with_doesNotModifyOriginal() {
+    PersistentJsonObject original = PersistentJsonObject.EMPTY.with("a", 1);
+
+    original.with("a", 2);
+    original.with("b", 3);
+
+    assertEquals("{\"a\":1}", original.toString());
+  }
+
+  @Test
+  public void with_failsWithNullName() {
+    assertException(NullPointerException.class, "name is null", new Runnable() {
+      public void run() {
+        PersistentJsonObject.EMPTY.with(null, Json.TRUE);
+      }
+    });
+  }
+
+  @Test
+  public void with_failsWithNullValue() {
+    assertException(NullPointerException.class, "value is null", new Runnable() {
+      public void run() {
+        PersistentJsonObject.EMPTY.with("a", (JsonValue)null);
+      }
+    });
+  }
+
+  @Test
+  public void without_removesMember() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("a", 1).with("b", 2);
+
+    PersistentJsonObject result = object.without("a");
+
+    assertEquals("{\"b\":2}", result.toString());
+    assertNull(result.get("a"));
+    assertFalse(result.contains("a"));
+    assertEquals(1, result.size());
+    assertEquals("{\"a\":1,\"b\":2}", object.toString());
+  }
+
+  @Test
+  public void without_returnsSameObjectIfNotContained() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("a", 1);
+
+    assertSame(object, object.without("b"));
+  }
+
+  @Test
+  public void without_thenWith_addsMemberAtEnd() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("a", 1).with("b", 2);
+
+    PersistentJsonObject result = object.without("a").with("a", 3);
+
+    assertEquals("{\"b\":2,\"a\":3}", result.toString());
+  }
+
+  @Test
+  public void without_manyMembers() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY;
+    JsonObject expected = new JsonObject();
+    for (int i = 0; i < 1000; i++) {
+      object = object.with("m" + i, i);
+      expected.add("m" + i, i);
+    }
+    for (int i = 0; i < 1000; i++) {
+      if (i % 5 != 0) {
+        object = object.without("m" + i);
+        expected.remove("m" + i);
+      }
+    }
+
+    assertEquals(200, object.size());
+    assertEquals(expected.names(), object.names());
+    assertEquals(expected, object.toJsonObject());
+    assertEquals(995, object.get("m995").asInt());
+  }
+
+  @Test
+  public void names_areInDocumentOrder() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("b", 1).with("a", 2);
+
+    assertEquals(Arrays.asList("b", "a"), object.names());
+  }
+
+  @Test
+  public void names_cannotBeModified() {
+    assertException(UnsupportedOperationException.class, new Runnable() {
+      public void run() {
+        PersistentJsonObject.EMPTY.with("a", 1).names().add("b");
+      }
+    });
+  }
+
+  @Test
+  public void iterator_skipsRemovedMembers() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("a", 1).with("b", 2).with("c", 3);
+
+    Iterator<Member> iterator = object.without("b").iterator();
+
+    assertEquals(new Member("a", Json.value(1)), iterator.next());
+    assertEquals(new Member("c", Json.value(3)), iterator.next());
+    assertFalse(iterator.hasNext());
+  }
+
+  @Test
+  public void toJsonObject_returnsIndependentObject() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("a", 1);
+
+    JsonObject result = object.toJsonObject();
+    result.add("b", 2);
+
+    assertEquals(Collections.singletonList("a"), object.names());
+  }
+
+  @Test
+  public void isNotAnObject() {
+    assertFalse(PersistentJsonObject.EMPTY.isObject());
+  }
+
+  @Test
+  public void equals_comparesMembersInOrder() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("a", 1).with("b", 2);
+
+    assertEquals(object, PersistentJsonObject.EMPTY.with("a", 1).with("b", 2));
+    assertEquals(object, object.with("c", 3).without("c"));
+    assertFalse(object.equals(PersistentJsonObject.EMPTY.with("b", 2).with("a", 1)));
+    assertFalse(object.equals(object.toJsonObject()));
+  }
+
+  @Test
+  public void hashCode_equalsJsonObject() {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("a", 1).with("b", 2);
+
+    assertEquals(object.toJsonObject().hashCode(), object.hashCode());
+  }
+
+  @Test
+  public void canBeSerializedAndDeserialized() throws Exception {
+    PersistentJsonObject object = PersistentJsonObject.EMPTY.with("a", 1).with("b", 2).without("a");
+
+    PersistentJsonObject result = serializeAndDeserialize(object);
+
+    assertEquals(object, result);
+    assertEquals(2, result.get("b").asInt());
+  }
+
+}
@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static com.eclipsesource.json.TestUtil.assertException;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+
+public class PersistentVector_Test {
+
+  @Test
+  public void empty_hasNoElements() {
+    PersistentVector<String> vector = PersistentVector.empty();
+
+    assertEquals(0, vector.size());
+    assertFalse(vector.iterator().hasNext());
+  }
+
+  @Test
+  public void append_addsElement() {
+    PersistentVector<String> vector = PersistentVector.<String>empty().append("a").append("b");
+
+    assertEquals(2, vector.size());
+    assertEquals("a", vector.get(0));
+    assertEquals("b", vector.get(1));
+  }
+
+  @Test
+  public void append_doesNotModifyOriginal() {
+    PersistentVector<String> original = PersistentVector.<String>empty().append("a");
+
+    original.append("b");
+    original.append("c");
+
+    assertEquals(1, original.size());
+  }
+
+  @Test
+  public void append_sharedVersionsAreIndependent() {
+    PersistentVector<Integer> original = fill(100);
+
+    PersistentVector<Integer> first = original.append(-1);
+    PersistentVector<Integer> second = original.append(-2);
+
+    assertEquals(-1, first.get(100).intValue());
+    assertEquals(-2, second.get(100).intValue());
+    assertEquals(100, original.size());
+  }
+
+  @Test
+  public void get_failsWithInvalidIndex() {
+    final PersistentVector<Integer> vector = fill(3);
+
+    assertException(IndexOutOfBoundsException.class, "Index: 3, Size: 3", new Runnable() {
+      public void run() {
+        vector.get(3);
+      }
+    });
+    assertException(IndexOutOfBoundsException.class, "Index: -1, Size: 3", new Runnable() {
+      public void run() {
+        vector.get(-1);
+      }
+    });
+  }
+
+  @Test
+  public void set_replacesElement() {
+    PersistentVector<Integer> vector = fill(100);
+
+    PersistentVector<Integer> result = vector.set(5, -5).set(99, -99);
+
+    assertEquals(-5, result.get(5).intValue());
+    assertEquals(-99, result.get(99).intValue());
+    assertEquals(5, vector.get(5).intValue());
+    assertEquals(99, vector.get(99).intValue());
+  }
+
+  @Test
+  public void set_failsWithInvalidIndex() {
+    final PersistentVector<Integer> vector = fill(3);
+
+    assertException(IndexOutOfBoundsException.class, "Index: 3, Size: 3", new Runnable() {
+      public void run() {
+        vector.set(3, 0);
+      }
+    });
+  }
+
+  @Test
+  public void iterator_failsAtEnd() {
+    final Iterator<Integer> iterator = fill(1).iterator();
+    iterator.next();
+
+    assertException(NoSuchElementException.class, new Runnable() {
+      public void run() {
+        iterator.next();
+      }
+    });
+  }
+
+  @Test
+  public void largeVectors_matchList() {
+    // enough elements for a trie of three levels
+    List<Integer> list = new ArrayList<Integer>();
+    PersistentVector<Integer> vector = PersistentVector.empty();
+    for (int i = 0; i < 40000; i++) {
+      list.add(i);
+      vector = vector.append(i);
+    }
+    for (int i = 0; i < list.size(); i += 7) {
+      list.set(i, -i);
+      vector = vector.set(i, -i);
+    }
+
+    assertEquals(list.size(), vector.size());
+    for (int i = 0; i < list.size(); i++) {
+      assertEquals(list.get(i), vector.get(i));
+    }
+    assertEquals(list, toList(vector));
+  }
+
+  private static PersistentVector<Integer> fill(int size) {
+    PersistentVector<Integer> vector = PersistentVector.empty();
+    for (int i = 0; i < size; i++) {
+      vector = vector.append(i);
+    }
+    return vector;
+  }
+
+  private static <E> List<E> toList(PersistentVector<E> vector) {
+    List<E> list = new ArrayList<E>();
+    Iterator<E> iterator = vector.iterator();
+    while (iterator.hasNext()) {
+      list.add(iterator.next());
+    }
+    return list;
+  }
+
+}
@@ -0,0 +1,95 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+
+public class Projection_Test {
+
+  private static final String JSON = "{\"order\": 4711, \"items\": [{\"name\": \"a\", \"id\": 1},"
+                                     + " {\"name\": \"b\", \"tags\": [\"x\"]}], \"notes\": \"n\"}";
+
+  @Test(expected = NullPointerException.class)
+  public void of_rejectsNullPaths() {
+    Projection.of((String[])null);
+  }
+
+  @Test(expected = NullPointerException.class)
+  public void of_rejectsNullPath() {
+    Projection.of("/a", null);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void of_rejectsRelativePath() {
+    Projection.of("a");
+  }
+
+  @Test
+  public void selectsNothingWithoutPaths() {
+    assertEquals(Json.object(), Json.parse(JSON, Projection.of()));
+  }
+
+  @Test
+  public void emptyPath_selectsEverything() {
+    assertEquals(Json.parse(JSON), Json.parse(JSON, Projection.of("")));
+  }
+
+  @Test
+  public void selectsTopLevelMembers() {
+    JsonValue value = Json.parse(JSON, Projection.of("/order", "/notes"));
+
+    assertEquals(Json.parse("{\"order\": 4711, \"notes\": \"n\"}"), value);
+  }
+
+  @Test
+  public void appliesPathsToArrayElements() {
+    JsonValue value = Json.parse(JSON, Projection.of("/items/name"));
+
+    assertEquals(Json.parse("{\"items\": [{\"name\": \"a\"}, {\"name\": \"b\"}]}"), value);
+  }
+
+  @Test
+  public void selectsEntireSubtree() {
+    JsonValue value = Json.parse(JSON, Projection.of("/items/tags", "/items"));
+
+    assertEquals(Json.parse(JSON).asObject().get("items"), value.asObject().get("items"));
+  }
+
+  @Test
+  public void unescapesNames() {
+    JsonValue value = Json.parse("{\"a/b\": 1, \"c~d\": 2, \"e\": 3}", Projection.of("/a~1b",
+                                                                                   "/c~0d"));
+
+    assertEquals(Json.parse("{\"a/b\": 1, \"c~d\": 2}"), value);
+  }
+
+  @Test
+  public void keepsScalarsOnPath() {
+    JsonValue value = Json.parse("{\"a\": 1, \"b\": 2}", Projection.of("/a/x"));
+
+    assertEquals(Json.parse("{\"a\": 1}"), value);
+  }
+
+}
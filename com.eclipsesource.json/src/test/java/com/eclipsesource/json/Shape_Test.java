@@ -0,0 +1,140 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+
+public class Shape_Test {
+
+  @Test
+  public void root_isEmpty() {
+    Shape root = new Shape();
+
+    assertEquals(Collections.emptyList(), root.getNames());
+    assertEquals(-1, root.getTable().get("a"));
+  }
+
+  @Test
+  public void extend_appendsName() {
+    Shape shape = new Shape().extend("a").extend("b");
+
+    assertEquals(Arrays.asList("a", "b"), shape.getNames());
+    assertEquals(0, shape.getTable().get("a"));
+    assertEquals(1, shape.getTable().get("b"));
+  }
+
+  @Test
+  public void extend_returnsSameShapeForSameName() {
+    Shape root = new Shape();
+
+    assertSame(root.extend("a").extend("b"), root.extend("a").extend("b"));
+  }
+
+  @Test
+  public void extend_returnsDifferentShapesForDifferentOrder() {
+    Shape root = new Shape();
+
+    assertNotSame(root.extend("a").extend("b"), root.extend("b").extend("a"));
+  }
+
+  @Test
+  public void extend_withDuplicateName_findsLastOccurrence() {
+    Shape shape = new Shape().extend("a").extend("b").extend("a");
+
+    assertEquals(2, shape.getTable().get("a"));
+  }
+
+  @Test
+  public void extend_failsBeyondMaxSize() {
+    Shape shape = new Shape();
+    for (int i = 0; i < Shape.MAX_SIZE; i++) {
+      shape = shape.extend("a" + i);
+    }
+
+    assertNull(shape.extend("b"));
+  }
+
+  @Test
+  public void extend_failsBeyondMaxTransitions() {
+    Shape root = new Shape();
+    for (int i = 0; i < Shape.MAX_TRANSITIONS; i++) {
+      assertNotNull(root.extend("a" + i));
+    }
+
+    assertNull(root.extend("b"));
+    assertNotNull(root.extend("a0"));
+  }
+
+  @Test
+  public void extend_createsNamesOnlyOnRequest() {
+    Shape root = new Shape();
+    Shape first = root.extend("a");
+    Shape second = first.extend("b");
+
+    assertEquals(Arrays.asList("a", "b"), second.getNames());
+    assertSame(second.getNames(), second.getNames());
+    assertSame(second.getTable(), second.getTable());
+  }
+
+  @Test
+  public void isExhausted_afterMaxShapes() {
+    Shape root = new Shape();
+    for (int i = 0; i < Shape.MAX_TRANSITIONS; i++) {
+      Shape shape = root.extend("a" + i);
+      for (int j = 0; j < Shape.MAX_SIZE - 1 && shape != null; j++) {
+        shape = shape.extend("b" + j);
+      }
+    }
+
+    assertTrue(root.isExhausted());
+    assertNull(root.extend("a0").extend("c"));
+  }
+
+  @Test
+  public void isExhausted_afterManyMisses() {
+    Shape root = new Shape();
+    for (int i = 0; i < Shape.MAX_SHAPES; i++) {
+      assertFalse(root.isExhausted());
+      root.extend("a" + i);
+    }
+
+    assertTrue(root.isExhausted());
+    assertFalse(root.isUseful());
+  }
+
+  @Test
+  public void isUseful_withRepeatedNames() {
+    Shape root = new Shape();
+    for (int i = 0; i < 10; i++) {
+      root.extend("a").extend("b");
+    }
+
+    assertTrue(root.isUseful());
+  }
+
+}
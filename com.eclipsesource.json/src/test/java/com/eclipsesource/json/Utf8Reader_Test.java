@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+
+import org.junit.Test;
+
+
+public class Utf8Reader_Test {
+
+  @Test
+  public void read_empty() throws IOException {
+    Reader reader = new Utf8Reader(new byte[0], 0, 0);
+
+    assertEquals(-1, reader.read(new char[8], 0, 8));
+  }
+
+  @Test
+  public void read_ascii() throws IOException {
+    assertEquals("foo bar", readAll(bytes("foo bar"), 16));
+  }
+
+  @Test
+  public void read_byteArrayRange() throws IOException {
+    Reader reader = new Utf8Reader(bytes("[foo]"), 1, 3);
+
+    assertEquals("foo", readAll(reader, 16));
+  }
+
+  @Test
+  public void read_multiByteCharacters() throws IOException {
+    String string = "ä € 𝄞 \u007f\u0080߿ࠀ￿";
+
+    assertEquals(string, readAll(bytes(string), 64));
+  }
+
+  @Test
+  public void read_multiByteCharacters_withSmallBuffers() throws IOException {
+    String string = "aäb€c𝄞dööö";
+    InputStream input = new ByteArrayInputStream(bytes(string));
+
+    assertEquals(string, readAll(new Utf8Reader(input, 1), 1));
+  }
+
+  @Test
+  public void read_surrogatePair_exceedingTargetBuffer() throws IOException {
+    Reader reader = new Utf8Reader(bytes("𝄞"), 0, 4);
+    char[] buffer = new char[1];
+
+    assertEquals(1, reader.read(buffer, 0, 1));
+    assertEquals('\ud834', buffer[0]);
+    assertEquals(1, reader.read(buffer, 0, 1));
+    assertEquals('\udd1e', buffer[0]);
+    assertEquals(-1, reader.read(buffer, 0, 1));
+  }
+
+  @Test
+  public void read_replacesMalformedInput() throws IOException {
+    byte[] bytes = {'a', (byte)0xff, 'b', (byte)0xc3, 'c', (byte)0xe2, (byte)0x82, 'd', (byte)0xc0,
+                    (byte)0x80, (byte)0xed, (byte)0xa0, (byte)0x80};
+
+    String result = readAll(bytes, 16);
+
+    assertEquals("a�b�c��d�����", result);
+  }
+
+  @Test
+  public void read_replacesIncompleteSequenceAtEnd() throws IOException {
+    byte[] bytes = {'a', (byte)0xe2, (byte)0x82};
+
+    assertEquals("a��", readAll(bytes, 16));
+  }
+
+  @Test
+  public void read_sameAsStringDecoding() throws IOException {
+    StringBuilder builder = new StringBuilder();
+    for (int i = 0; i < 0x3000; i += 7) {
+      builder.append((char)i);
+    }
+    builder.append("𐀀􏿿");
+    String string = builder.toString();
+    InputStream input = new ByteArrayInputStream(bytes(string));
+
+    assertEquals(string, readAll(new Utf8Reader(input, 7), 5));
+  }
+
+  private static String readAll(byte[] bytes, int bufferSize) throws IOException {
+    return readAll(new Utf8Reader(bytes, 0, bytes.length), bufferSize);
+  }
+
+  private static String readAll(Reader reader, int bufferSize) throws IOException {
+    StringBuilder builder = new StringBuilder();
+    char[] buffer = new char[bufferSize];
+    int count;
+    while ((count = reader.read(buffer, 0, buffer.length)) != -1) {
+      builder.append(buffer, 0, count);
+    }
+    return builder.toString();
+  }
+
+  private static byte[] bytes(String string) throws IOException {
+    return string.getBytes("UTF-8");
+  }
+
+}
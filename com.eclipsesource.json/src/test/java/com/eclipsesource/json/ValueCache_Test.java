@@ -0,0 +1,94 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+
+
+public class ValueCache_Test {
+
+  @Test
+  public void getString_returnsEqualValue() {
+    ValueCache cache = new ValueCache(16);
+
+    assertEquals(new JsonString("bc"), cache.getString("abcd".toCharArray(), 1, 2));
+    assertEquals(new JsonString(""), cache.getString("abcd".toCharArray(), 1, 0));
+  }
+
+  @Test
+  public void getString_returnsCachedInstance() {
+    ValueCache cache = new ValueCache(16);
+
+    JsonValue first = cache.getString("foo".toCharArray(), 0, 3);
+    JsonValue second = cache.getString("[foo]".toCharArray(), 1, 3);
+
+    assertSame(first, second);
+  }
+
+  @Test
+  public void getString_replacesCollidingEntries() {
+    ValueCache cache = new ValueCache(1);
+
+    JsonValue first = cache.getString("foo".toCharArray(), 0, 3);
+    assertEquals(new JsonString("bar"), cache.getString("bar".toCharArray(), 0, 3));
+    JsonValue second = cache.getString("foo".toCharArray(), 0, 3);
+
+    assertEquals(new JsonString("foo"), second);
+    assertNotSame(first, second);
+  }
+
+  @Test
+  public void getString_distinguishesStringsWithEqualHash() {
+    ValueCache cache = new ValueCache(16);
+
+    assertEquals(new JsonString("Aa"), cache.getString("Aa".toCharArray(), 0, 2));
+    assertEquals(new JsonString("BB"), cache.getString("BB".toCharArray(), 0, 2));
+  }
+
+  @Test
+  public void getNumber_returnsEqualValue() {
+    ValueCache cache = new ValueCache(16);
+
+    assertEquals(new JsonNumber("23"), cache.getNumber(23));
+    assertEquals(new JsonNumber("-9223372036854775808"), cache.getNumber(Long.MIN_VALUE));
+  }
+
+  @Test
+  public void getNumber_returnsCachedInstance() {
+    ValueCache cache = new ValueCache(16);
+
+    assertSame(cache.getNumber(23), cache.getNumber(23));
+  }
+
+  @Test
+  public void getNumber_replacesCollidingEntries() {
+    ValueCache cache = new ValueCache(1);
+
+    cache.getNumber(23);
+
+    assertEquals(new JsonNumber("42"), cache.getNumber(42));
+    assertEquals(new JsonNumber("23"), cache.getNumber(23));
+  }
+
+}
@@ -0,0 +1,272 @@
+/*******************************************************************************
+ * Copyright (c) 2016 EclipseSource.
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ ******************************************************************************/
+package com.eclipsesource.json;
+
+import static org.junit.Assert.*;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+
+import org.junit.Test;
+
+
+public class ValueList_Test {
+
+  @Test
+  public void addInt() {
+    ValueList list = new ValueList();
+
+    list.addInt(23);
+    list.addInt(-42);
+
+    assertEquals(2, list.size());
+    assertEquals(Json.value(23), list.get(0));
+    assertEquals(Json.value(-42), list.get(1));
+  }
+
+  @Test
+  public void addLong_widensInts() {
+    ValueList list = new ValueList();
+
+    list.addInt(23);
+    list.addLong(9999999999L);
+    list.addInt(42);
+
+    assertEquals(values(Json.value(23), Json.value(9999999999L), Json.value(42)), list);
+  }
+
+  @Test
+  public void addDouble_afterInts_switchesToGenericValues() {
+    ValueList list = new ValueList();
+
+    list.addInt(23);
+    list.addDouble(3.5);
+
+    assertEquals(values(Json.value(23), Json.value(3.5)), list);
+  }
+
+  @Test
+  public void addInt_afterDoubles_keepsDoubles() throws IOException {
+    ValueList list = new ValueList();
+
+    list.addDouble(1.5);
+    list.addInt(-9999999);
+
+    assertEquals("1.5,-9999999", write(list));
+  }
+
+  @Test
+  public void addDouble_afterInts_convertsSmallInts() throws IOException {
+    ValueList list = new ValueList();
+
+    list.addInts(new int[] {0, 9999999});
+    list.addDouble(1.5);
+
+    assertEquals("0,9999999,1.5", write(list));
+    assertArrayEquals(new double[] {0, 9999999, 1.5}, list.toDoubleArray(), 0);
+  }
+
+  @Test
+  public void addDouble_afterLargeInts_switchesToGenericValues() throws IOException {
+    ValueList list = new ValueList();
+
+    list.addInt(10000000);
+    list.addDouble(1.5);
+    list.addInt(10000000);
+
+    assertEquals("10000000,1.5,10000000", write(list));
+  }
+
+  @Test
+  public void add_afterNumbers_switchesToGenericValues() {
+    ValueList list = new ValueList();
+    list.addDouble(3.5);
+
+    list.add(Json.TRUE);
+    list.addDouble(1.5);
+
+    assertEquals(values(Json.value(3.5), Json.TRUE, Json.value(1.5)), list);
+  }
+
+  @Test
+  public void add_withIndex() {
+    ValueList list = new ValueList();
+    list.addInt(1);
+    list.addInt(3);
+
+    list.add(1, Json.value(2));
+
+    assertEquals(values(Json.value(1), Json.value(2), Json.value(3)), list);
+  }
+
+  @Test
+  public void addAll_sameAsAddingOneByOne() throws IOException {
+    ValueList ints = new ValueList();
+    ints.addInts(new int[] {1, 2});
+    ValueList doubles = new ValueList();
+    doubles.addDouble(1.5);
+    ValueList list = new ValueList();
+
+    list.addAll(ints);
+    list.addAll(doubles);
+    list.addAll(ints);
+
+    assertEquals("1,2,1.5,1,2", write(list));
+    assertArrayEquals(new double[] {1, 2, 1.5, 1, 2}, list.toDoubleArray(), 0);
+    assertNotSame(list.get(2), list.get(2));
+  }
+
+  @Test
+  public void addAll_withGenericValues() {
+    ValueList generic = new ValueList();
+    generic.add(Json.TRUE);
+    ValueList list = new ValueList();
+    list.addInt(23);
+
+    list.addAll(generic);
+
+    assertEquals(values(Json.value(23), Json.TRUE), list);
+  }
+
+  @Test
+  public void addInts_growsStorage() {
+    ValueList list = new ValueList();
+
+    for (int i = 0; i < 10; i++) {
+      list.addInts(new int[] {i, i});
+    }
+
+    assertEquals(20, list.size());
+    assertEquals(Json.value(9), list.get(19));
+  }
+
+  @Test
+  public void addLongs_keepsIntsInIntRange() {
+    ValueList list = new ValueList();
+
+    list.addLongs(new long[] {1, 2});
+    list.addLongs(new long[] {Long.MAX_VALUE});
+
+    assertArrayEquals(new long[] {1, 2, Long.MAX_VALUE}, list.toLongArray());
+  }
+
+  @Test
+  public void remove() {
+    ValueList list = new ValueList();
+    list.addInts(new int[] {1, 2, 3});
+
+    JsonValue removed = list.remove(1);
+
+    assertEquals(Json.value(2), removed);
+    assertEquals(values(Json.value(1), Json.value(3)), list);
+  }
+
+  @Test
+  public void remove_lastElement_allowsOtherKindOfNumbers() {
+    ValueList list = new ValueList();
+    list.addInt(1);
+    list.remove(0);
+
+    list.addDouble(1.5);
+
+    assertArrayEquals(new double[] {1.5}, list.toDoubleArray(), 0);
+  }
+
+  @Test
+  public void setInt_setLong_setDouble() {
+    ValueList list = new ValueList();
+    list.addInts(new int[] {1, 2, 3});
+
+    list.setInt(0, 23);
+    list.setLong(1, 9999999999L);
+    list.setDouble(2, 1.5);
+
+    assertEquals(values(Json.value(23), Json.value(9999999999L), Json.value(1.5)), list);
+  }
+
+  @Test(expected = IndexOutOfBoundsException.class)
+  public void get_failsWithInvalidIndex() {
+    ValueList list = new ValueList();
+    list.addInt(23);
+
+    list.get(1);
+  }
+
+  @Test
+  public void copyConstructor_copiesNumbers() {
+    ValueList original = new ValueList();
+    original.addInts(new int[] {1, 2});
+
+    ValueList copy = new ValueList(original);
+    original.addInt(3);
+
+    assertEquals(values(Json.value(1), Json.value(2)), copy);
+  }
+
+  @Test
+  public void copyConstructor_withGenericList() {
+    ValueList copy = new ValueList(values(Json.TRUE, Json.value(23)));
+
+    assertEquals(values(Json.TRUE, Json.value(23)), copy);
+  }
+
+  @Test
+  public void iterator_detectsConcurrentModification() {
+    ValueList list = new ValueList();
+    list.addInt(1);
+    Iterator<JsonValue> iterator = list.iterator();
+    list.addInt(2);
+
+    try {
+      iterator.next();
+      fail();
+    } catch (ConcurrentModificationException expected) {
+    }
+  }
+
+  @Test
+  public void write() throws IOException {
+    ValueList list = new ValueList();
+    list.addLongs(new long[] {1, -9999999999L});
+
+    assertEquals("1,-9999999999", write(list));
+  }
+
+  private static String write(ValueList list) throws IOException {
+    StringWriter output = new StringWriter();
+    list.write(new JsonWriter(output));
+    return output.toString();
+  }
+
+  private static List<JsonValue> values(JsonValue... values) {
+    List<JsonValue> list = new ArrayList<JsonValue>();
+    for (JsonValue value : values) {
+      list.add(value);
+    }
+    return list;
+  }
+
+}